@@ -2,6 +2,7 @@ plugins {
     application
     id("com.github.ben-manes.versions") version("0.47.0")
     id("org.openrewrite.rewrite") version("6.1.22")
+    id("me.champeau.jmh") version("0.7.2")
 }
 
 group = "de.cofinpro"
@@ -39,6 +40,18 @@ dependencies {
     testAnnotationProcessor("org.projectlombok:lombok:1.18.28")
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    benchmarkMode.addAll("thrpt", "sample")
+    timeUnit.set("ms")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    jvmArgsAppend.add("-Djava.awt.headless=true")
+}
+
 tasks.named<Test>("test") {
     useJUnitPlatform()
 }
\ No newline at end of file
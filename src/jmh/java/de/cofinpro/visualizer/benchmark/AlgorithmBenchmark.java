@@ -0,0 +1,53 @@
+package de.cofinpro.visualizer.benchmark;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.model.AlgorithmType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * JMH benchmark of the headless engine behind each AlgorithmType (its query producer) on every generated graph family
+ * and size. Modes, iterations and the gc profiler (allocation rate) are configured in the jmh block of
+ * build.gradle.kts, which also runs the forks headless - so no display is needed. Run with <code>./gradlew jmh</code>.
+ */
+@State(Scope.Benchmark)
+public class AlgorithmBenchmark {
+
+    private static final long SEED = 20221128L;
+
+    @Param({"DEPTH_FIRST", "BREADTH_FIRST", "DIJKSTRA_ALGORITHM", "DIJKSTRA_PAIRING_HEAP", "BELLMAN_FORD",
+            "ALL_PAIRS_DIJKSTRA", "DYNAMIC_DIJKSTRA", "PRIM_ALGORITHM", "KRUSKAL_ALGORITHM", "BORUVKA_ALGORITHM",
+            "COMPONENTS"})
+    private AlgorithmType algorithmType;
+
+    @Param({"GRID", "RANDOM_SPARSE", "DENSE", "SCALE_FREE"})
+    private GraphFamily graphFamily;
+
+    @Param({"1000", "10000", "100000"})
+    private int vertexCount;
+
+    private CsrGraph graph;
+
+    @Setup(Level.Trial)
+    public void generateGraph() {
+        graph = graphFamily.generate(vertexCount, new Random(SEED));
+    }
+
+    /**
+     * create the algorithm's headless engine (as the batch mode does) and run a single query from vertex 0 - for the
+     * all-pairs Dijkstra this includes the whole distance matrix, which is released again by closing the query.
+     */
+    @Benchmark
+    public int[] runAlgorithm() throws IOException {
+        try (var query = algorithmType.getQueryProducer().apply(graph)) {
+            return query.run(0);
+        }
+    }
+}
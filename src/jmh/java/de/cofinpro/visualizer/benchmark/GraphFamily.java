@@ -0,0 +1,97 @@
+package de.cofinpro.visualizer.benchmark;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+
+import java.util.Random;
+
+/**
+ * enum of the generated graph families the benchmarks run on. All graphs are undirected with random edge weights
+ * in [1, 99] (the range the edge dialog accepts) and are built from a seeded Random, so runs are reproducible.
+ */
+public enum GraphFamily {
+
+    /**
+     * square grid with edges to the right and lower neighbor - a road-network-like, high-diameter graph.
+     */
+    GRID {
+        @Override
+        CsrGraph generate(int vertexCount, Random random) {
+            int side = (int) Math.ceil(Math.sqrt(vertexCount));
+            var builder = CsrGraph.builder(side * side);
+            int edgeId = 0;
+            for (int row = 0; row < side; row++) {
+                for (int column = 0; column < side; column++) {
+                    int vertex = row * side + column;
+                    if (column + 1 < side) {
+                        builder.addEdge(vertex, vertex + 1, weight(random), edgeId++);
+                    }
+                    if (row + 1 < side) {
+                        builder.addEdge(vertex, vertex + side, weight(random), edgeId++);
+                    }
+                }
+            }
+            return builder.build();
+        }
+    },
+
+    /**
+     * uniform random graph with an average degree of 8.
+     */
+    RANDOM_SPARSE {
+        @Override
+        CsrGraph generate(int vertexCount, Random random) {
+            return uniformRandom(vertexCount, 4L * vertexCount, random);
+        }
+    },
+
+    /**
+     * uniform random graph with an average degree of 128 (or complete for small vertex counts).
+     */
+    DENSE {
+        @Override
+        CsrGraph generate(int vertexCount, Random random) {
+            return uniformRandom(vertexCount, Math.min(64L * vertexCount, (long) vertexCount * (vertexCount - 1) / 2),
+                    random);
+        }
+    },
+
+    /**
+     * Barabasi-Albert preferential attachment graph, where each new vertex links to 4 existing vertices chosen
+     * with probability proportional to their degree - yielding a power-law degree distribution.
+     */
+    SCALE_FREE {
+        private static final int LINKS_PER_VERTEX = 4;
+
+        @Override
+        CsrGraph generate(int vertexCount, Random random) {
+            var builder = CsrGraph.builder(vertexCount);
+            var endpoints = new int[2 * LINKS_PER_VERTEX * vertexCount];
+            int endpointCount = 0;
+            int edgeId = 0;
+            for (int vertex = 1; vertex < vertexCount; vertex++) {
+                int links = Math.min(vertex, LINKS_PER_VERTEX);
+                for (int link = 0; link < links; link++) {
+                    int target = endpointCount == 0 ? 0 : endpoints[random.nextInt(endpointCount)];
+                    builder.addEdge(vertex, target, weight(random), edgeId++);
+                    endpoints[endpointCount++] = vertex;
+                    endpoints[endpointCount++] = target;
+                }
+            }
+            return builder.build();
+        }
+    };
+
+    abstract CsrGraph generate(int vertexCount, Random random);
+
+    private static int weight(Random random) {
+        return 1 + random.nextInt(99);
+    }
+
+    private static CsrGraph uniformRandom(int vertexCount, long edgeCount, Random random) {
+        var builder = CsrGraph.builder(vertexCount);
+        for (int edgeId = 0; edgeId < edgeCount; edgeId++) {
+            builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount), weight(random), edgeId);
+        }
+        return builder.build();
+    }
+}
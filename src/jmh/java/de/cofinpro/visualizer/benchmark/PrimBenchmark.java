@@ -0,0 +1,47 @@
+package de.cofinpro.visualizer.benchmark;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.PrimSpanningTree;
+import de.cofinpro.visualizer.graph.heap.HeapType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * JMH benchmark of the PrimSpanningTree variants (eager with decrease-key, lazy with queued arcs) on both heap types -
+ * the Prim's Algorithm AlgorithmType always runs the eager variant on the indexed d-ary heap.
+ */
+@State(Scope.Benchmark)
+public class PrimBenchmark {
+
+    private static final long SEED = 20221128L;
+
+    @Param({"EAGER", "LAZY"})
+    private PrimSpanningTree.Variant variant;
+
+    @Param({"DARY_HEAP", "PAIRING_HEAP"})
+    private HeapType heapType;
+
+    @Param({"GRID", "RANDOM_SPARSE", "DENSE", "SCALE_FREE"})
+    private GraphFamily graphFamily;
+
+    @Param({"1000", "10000", "100000"})
+    private int vertexCount;
+
+    private CsrGraph graph;
+
+    @Setup(Level.Trial)
+    public void generateGraph() {
+        graph = graphFamily.generate(vertexCount, new Random(SEED));
+    }
+
+    @Benchmark
+    public int[] runPrim() {
+        return new PrimSpanningTree(graph, variant, heapType).spanningTree(0);
+    }
+}
@@ -5,10 +5,15 @@ import de.cofinpro.visualizer.view.GraphVisualizer;
 import javax.swing.SwingUtilities;
 
 /**
- * application runner that starts the GraphVisualizer in the EDT-thread
+ * application runner that starts the GraphVisualizer in the EDT-thread - or with the --batch option the headless
+ * BatchRunner, which never touches AWT.
  */
 public class ApplicationRunner {
     public static void main(String[] args) {
+        if (args.length > 0 && BatchRunner.BATCH_OPTION.equals(args[0])) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(BatchRunner.run(args));
+        }
         SwingUtilities.invokeLater(GraphVisualizer::new);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,200 @@
+package de.cofinpro.visualizer;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.DijkstraShortestPaths;
+import de.cofinpro.visualizer.graph.io.GraphFile;
+import de.cofinpro.visualizer.graph.io.GraphFormat;
+import de.cofinpro.visualizer.model.AlgorithmType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * headless batch mode of the application: loads a graph file once and runs the headless engine of an AlgorithmType
+ * from one or many start vertices - without any AWT initialisation. Each query writes one result line (in the format
+ * of the GraphVisualizer's result label, vertices named by their file labels) to stdout or a file. A summary of load
+ * and query times is printed to stderr, query times exclude formatting and output. With --directed, the arcs of a
+ * DIMACS file (or the lines of an edge list) are read as directed arcs, e.g. for the strongly connected components -
+ * it is rejected for the algorithms, that need an undirected graph (spanning trees and the dynamic Dijkstra).
+ * <p>
+ * Usage: <code>--batch &lt;graph file&gt; --algorithm &lt;AlgorithmType&gt; [--start &lt;id&gt;[,&lt;id&gt;...] | all]
+ * [--repeat &lt;n&gt;] [--output &lt;file&gt;] [--summary] [--directed]</code>
+ */
+public class BatchRunner {
+
+    public static final String BATCH_OPTION = "--batch";
+    static final String USAGE = "usage: --batch <graph file> --algorithm <%s> [--start <id>[,<id>...] | all] "
+            + "[--repeat <n>] [--output <file>] [--summary] [--directed]";
+
+    private Path graphPath;
+    private AlgorithmType algorithmType;
+    private String startSpec = "0";
+    private int repeat = 1;
+    private Path outputPath;
+    private boolean summaryOnly = false;
+    private boolean directed = false;
+
+    private BatchRunner(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case BATCH_OPTION -> graphPath = Path.of(value(args, ++i));
+                case "--algorithm" -> algorithmType = parseAlgorithmType(value(args, ++i));
+                case "--start" -> startSpec = value(args, ++i);
+                case "--repeat" -> repeat = Integer.parseInt(value(args, ++i));
+                case "--output" -> outputPath = Path.of(value(args, ++i));
+                case "--summary" -> summaryOnly = true;
+                case "--directed" -> directed = true;
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        if (graphPath == null || algorithmType == null) {
+            throw new IllegalArgumentException("graph file and algorithm are required");
+        }
+        if (directed && algorithmType.needsUndirectedGraph()) {
+            throw new IllegalArgumentException("algorithm %s needs an undirected graph, --directed is not supported"
+                    .formatted(algorithmType.name()));
+        }
+        if (repeat < 1) {
+            throw new IllegalArgumentException("repeat count must be positive");
+        }
+    }
+
+    /**
+     * run the batch mode with the given command line arguments.
+     * @return the process exit code: 0 on success, 1 on I/O errors and 2 on invalid arguments
+     */
+    public static int run(String[] args) {
+        try {
+            new BatchRunner(args).run();
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE.formatted(String.join("|", queryableTypeNames())));
+            return 2;
+        } catch (IOException e) {
+            System.err.println("batch failed: " + e);
+            return 1;
+        }
+    }
+
+    private void run() throws IOException {
+        long loadStart = System.nanoTime();
+        var fileFormat = GraphFormat.of(graphPath).getFileFormat();
+        GraphFile graphFile = directed ? fileFormat.readDirected(graphPath) : fileFormat.read(graphPath);
+        long loadNanos = System.nanoTime() - loadStart;
+        var graph = graphFile.graph();
+        int[] starts = parseStarts(graph.getVertexCount());
+        long queryNanos = 0;
+        try (var query = algorithmType.getQueryProducer().apply(graph); var writer = createWriter()) {
+            for (int round = 0; round < repeat; round++) {
+                for (int start : starts) {
+                    long queryStart = System.nanoTime();
+                    int[] result = query.run(start);
+                    queryNanos += System.nanoTime() - queryStart;
+                    if (!summaryOnly && round == 0) {
+                        writer.write(format(graphFile, start, result));
+                        writer.write(System.lineSeparator());
+                    }
+                }
+            }
+        }
+        printSummary(System.err, graph, loadNanos, (long) starts.length * repeat, queryNanos);
+    }
+
+    private Writer createWriter() throws IOException {
+        if (summaryOnly) {
+            return Writer.nullWriter();
+        }
+        return outputPath == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8);
+    }
+
+    private String format(GraphFile graphFile, int start, int[] result) {
+        var graph = graphFile.graph();
+        var line = new StringBuilder(graphFile.label(start)).append(": ");
+        switch (algorithmType.getResultKind()) {
+            case TRAVERSAL, PATH -> {
+                line.append(graphFile.label(start));
+                for (int arc : result) {
+                    line.append(" -> ").append(graphFile.label(graph.getTargets()[arc]));
+                }
+            }
+            case SPANNING_TREE -> {
+                String separator = "";
+                for (int arc : result) {
+                    line.append(separator).append(graphFile.label(graph.getTargets()[arc]))
+                            .append('=').append(graphFile.label(graph.arcSource(arc)));
+                    separator = ", ";
+                }
+            }
+            case ROUTE_LENGTHS -> {
+                String separator = "";
+                for (int vertex = 0; vertex < result.length; vertex++) {
+                    if (vertex != start && result[vertex] != DijkstraShortestPaths.UNREACHABLE) {
+                        line.append(separator).append(graphFile.label(vertex)).append('=').append(result[vertex]);
+                        separator = ", ";
+                    }
+                }
+            }
+            case COMPONENTS -> {
+                String separator = "";
+                for (int vertex = 0; vertex < result.length; vertex++) {
+                    line.append(separator).append(graphFile.label(vertex)).append('=').append(result[vertex]);
+                    separator = ", ";
+                }
+            }
+        }
+        return line.toString();
+    }
+
+    private void printSummary(PrintStream out, CsrGraph graph, long loadNanos, long queryCount, long queryNanos) {
+        double queryMillis = queryNanos / 1e6;
+        out.printf(Locale.ROOT, "%s on %s: %d vertices, %d arcs loaded in %.1f ms%n", algorithmType.getAlgorithmName(),
+                graphPath.getFileName(), graph.getVertexCount(), graph.getArcCount(), loadNanos / 1e6);
+        out.printf(Locale.ROOT, "%d queries in %.1f ms: %.3f ms/query, %.1f queries/s%n", queryCount, queryMillis,
+                queryMillis / queryCount, queryCount / (queryMillis / 1e3));
+    }
+
+    private int[] parseStarts(int vertexCount) {
+        int[] starts = "all".equals(startSpec)
+                ? IntStream.range(0, vertexCount).toArray()
+                : Arrays.stream(startSpec.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        for (int start : starts) {
+            if (start < 0 || start >= vertexCount) {
+                throw new IllegalArgumentException("start vertex %d not in graph of %d vertices"
+                        .formatted(start, vertexCount));
+            }
+        }
+        return starts;
+    }
+
+    private static AlgorithmType parseAlgorithmType(String name) {
+        var type = AlgorithmType.valueOf(name.toUpperCase(Locale.ROOT));
+        if (type.getQueryProducer() == null) {
+            throw new IllegalArgumentException("algorithm %s cannot be run in batch mode".formatted(name));
+        }
+        return type;
+    }
+
+    private static String[] queryableTypeNames() {
+        return Arrays.stream(AlgorithmType.values()).filter(type -> type.getQueryProducer() != null)
+                .map(AlgorithmType::name).toArray(String[]::new);
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("missing value for option " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
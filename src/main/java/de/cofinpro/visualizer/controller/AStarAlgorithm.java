@@ -0,0 +1,72 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.AStarShortestPath;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+
+import java.util.Arrays;
+
+/**
+ * point-to-point implementation of the A* search: the first click chooses the start vertex, the second the target.
+ * The route is found by the headless AStarShortestPath engine on the graph model's CSR snapshot with the vertex centers
+ * as coordinates - it is played and shown with the number of vertices the search settled. The vertex centers and the
+ * engine (with its heuristic's scale) are kept for the snapshot they belong to, so repeated queries on the unchanged
+ * graph touch only the vertices they reach.
+ */
+public class AStarAlgorithm extends Algorithm {
+
+    private int target;
+    private Centers centers;
+    private volatile AStarShortestPath engine;
+
+    @Override
+    protected boolean needsTarget() {
+        return true;
+    }
+
+    /**
+     * the route is not worth caching, as a query touches only a small part of the graph.
+     */
+    @Override
+    protected boolean cachesResults() {
+        return false;
+    }
+
+    /**
+     * take the target and a copy of the vertex centers along with the snapshot - copied once per snapshot.
+     */
+    @Override
+    protected void prepareAlgorithm(int vertexId) {
+        var graphModel = getApplicationModel().getGraphModel();
+        graphModel.selectVertex(vertexId);
+        target = getTarget();
+        var graph = graphModel.getGraph();
+        if (centers == null || centers.graph() != graph) {
+            centers = new Centers(graph, Arrays.copyOf(graphModel.getCenterXs(), graphModel.getVertexIdBound()),
+                    Arrays.copyOf(graphModel.getCenterYs(), graphModel.getVertexIdBound()));
+        }
+    }
+
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var current = engine;
+        if (current == null || current.getGraph() != graph) {
+            var snapshotCenters = centers;
+            current = new AStarShortestPath(graph, snapshotCenters.xs(), snapshotCenters.ys());
+            engine = current;
+        }
+        synchronized (current) {
+            current.setProgress(progress);
+            var route = current.route(vertexId, target);
+            current.setProgress(Progress.NONE);
+            return new Result(AlgorithmResult.ofRoute("A*", getVertexLabels(), graph, route), route.arcs());
+        }
+    }
+
+    /**
+     * the vertex centers by vertex id as they were for the given graph snapshot.
+     */
+    private record Centers(CsrGraph graph, int[] xs, int[] ys) {
+    }
+}
@@ -1,38 +1,57 @@
 package de.cofinpro.visualizer.controller;
 
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.Progress;
 import de.cofinpro.visualizer.model.AlgorithmModel;
+import de.cofinpro.visualizer.model.AlgorithmResult;
 import de.cofinpro.visualizer.model.ApplicationModel;
-import de.cofinpro.visualizer.model.ModelEdge;
+import de.cofinpro.visualizer.model.Mode;
 import de.cofinpro.visualizer.view.GraphPanel;
-import de.cofinpro.visualizer.view.Vertex;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import javax.swing.Timer;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import javax.swing.SwingWorker;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.Queue;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * base class for algorithm implementations who listen to the choice of a start vertex by mouse click.
  * The algorithm works on the GraphModel as part of the ApplicationModel, with the latter it communicates by callbacks.
+ * The actual algorithm runs in a SwingWorker's background thread on a CSR snapshot of the graph, so the window stays
+ * responsive: its progress is handed to the ApplicationModel at a throttled rate, its result is played by the Player
+ * in the EDT when it is ready. Stopping the algorithm (state STOPPED) cancels a computation cooperatively via the
+ * engine's Progress. Results are cached by the ApplicationModel by start vertex and graph revision, so a repeated query
+ * on an unchanged graph is played without recomputation.
  */
 @Slf4j
 public abstract class Algorithm extends MouseAdapter {
 
+    private static final long PROGRESS_INTERVAL_NANOS = 100_000_000L;
+
     @Getter
     private ApplicationModel applicationModel;
     private GraphPanel graphPanel;
-    private String algorithmResult;
+    private AlgorithmResult algorithmResult;
     @Getter
-    private final Player player = new Player();
+    private final Player player = new Player(this::propagateResult);
+    private String[] vertexLabels;
+    private Run run;
+    private int pendingStart = AlgorithmResult.NO_VERTEX;
+    private int target = AlgorithmResult.NO_VERTEX;
 
     public void setGraphPanel(GraphPanel graphPanel) {
         this.graphPanel = graphPanel;
     }
 
+    protected GraphPanel getGraphPanel() {
+        return graphPanel;
+    }
+
     public Algorithm setApplicationModel(ApplicationModel applicationModel) {
         this.applicationModel = applicationModel;
         return this;
@@ -40,58 +59,216 @@ public abstract class Algorithm extends MouseAdapter {
 
     @Override
     public void mouseClicked(MouseEvent event) {
+        if (graphPanel.getMode() != Mode.NONE) {
+            return;
+        }
         log.debug("Mouse clicked {}", event.getPoint());
-        graphPanel.getVertexAt(event.getPoint()).ifPresent(vertex -> {
-            log.debug("Vertex clicked {}", vertex.getVertexLabel());
+        graphPanel.getVertexAt(event.getPoint()).ifPresent(clickedId -> {
+            log.debug("Vertex clicked {}", applicationModel.getGraphModel().getVertexLabel(clickedId));
+            stopPlaying();
             applicationModel.getGraphModel().unselect();
+            if (needsTarget() && pendingStart == AlgorithmResult.NO_VERTEX) {
+                pendingStart = clickedId;
+                applicationModel.getGraphModel().selectVertex(clickedId);
+                applicationModel.requestTargetVertex();
+                return;
+            }
+            int vertexId = needsTarget() ? pendingStart : clickedId;
+            target = needsTarget() ? clickedId : AlgorithmResult.NO_VERTEX;
+            pendingStart = AlgorithmResult.NO_VERTEX;
             applicationModel.switchAlgorithmState(AlgorithmModel.State.RUNNING);
-            performAlgorithm(vertex);
+            prepareAlgorithm(vertexId);
+            var graphModel = applicationModel.getGraphModel();
+            long revision = graphModel.getRevision();
+            Optional<Result> cachedResult = cachesResults()
+                    ? applicationModel.getCachedResult(vertexId, revision) : Optional.empty();
+            if (cachedResult.isPresent()) {
+                play(cachedResult.get());
+                return;
+            }
+            vertexLabels = Arrays.copyOf(graphModel.getVertexLabels(), graphModel.getVertexIdBound());
+            run = new Run(vertexId, revision, graphModel.getGraph());
+            run.execute();
         });
     }
 
     /**
-     * abstract hook method that implements the actual algorithm.
-     * @param vertex the start vertex chosen.
+     * whether the results of this algorithm are cached by the ApplicationModel (by start vertex and graph revision) -
+     * true by default, false for algorithms, that keep state beyond their result.
      */
-    protected abstract void performAlgorithm(Vertex vertex);
+    protected boolean cachesResults() {
+        return true;
+    }
+
+    /**
+     * whether the algorithm is a point-to-point query: the first click chooses the start vertex, the second one the
+     * target (by getTarget) and runs the algorithm - false by default.
+     */
+    protected boolean needsTarget() {
+        return false;
+    }
+
+    /**
+     * the id of the target vertex chosen for a point-to-point query (NO_VERTEX for other algorithms).
+     */
+    protected int getTarget() {
+        return target;
+    }
+
+    /**
+     * hook method, that is called in the EDT before the algorithm runs - e.g. to select the start vertex.
+     * @param vertexId the id of the start vertex chosen.
+     */
+    protected void prepareAlgorithm(int vertexId) {
+        // no preparation by default
+    }
+
+    /**
+     * abstract hook method that implements the actual algorithm. It is called in a background thread and must only
+     * use the given graph snapshot and the vertex labels (by getVertexLabels) - not the GraphModel.
+     * @param vertexId the id of the start vertex chosen.
+     * @param graph the CSR snapshot of the graph.
+     * @param progress the progress to hand to the engine - it throws a CancellationException, when stopped.
+     * @return the structured result and the arcs to play
+     */
+    protected abstract Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress);
+
+    /**
+     * hook method, that is called in the EDT, when a run completed (before its result is played) - e.g. to hand state
+     * built in the background over to the GraphModel, tagged with the revision of the run's snapshot.
+     * @param revision the graph revision, on which the run was started.
+     * @param graph the CSR snapshot of the graph, on which the run worked.
+     */
+    protected void runCompleted(long revision, CsrGraph graph) {
+        // nothing to hand over by default
+    }
+
+    /**
+     * the vertex labels (by vertex id) as they were, when the algorithm was started.
+     */
+    protected String[] getVertexLabels() {
+        return vertexLabels;
+    }
+
+    /**
+     * play the result computed (or found in the cache) - the propagation of the result follows the playback.
+     */
+    private void play(Result result) {
+        algorithmResult = result.result();
+        var graphModel = applicationModel.getGraphModel();
+        player.play(graphModel, graphModel.toModelEdges(result.playArcs()));
+    }
 
     protected void propagateResult() {
         applicationModel.propagateAlgorithmResult(algorithmResult);
     }
 
-    protected void setResult(String result) {
+    /**
+     * replace the result of the terminated algorithm (e.g. after a repair on a graph edit) and propagate it.
+     */
+    protected void updateResult(AlgorithmResult result) {
         algorithmResult = result;
+        propagateResult();
+    }
+
+    protected AlgorithmResult getAlgorithmResult() {
+        return algorithmResult;
+    }
+
+    /**
+     * whether a terminated run keeps its result up to date on graph edits - then switching to an edit mode does not
+     * stop the algorithm. False by default.
+     */
+    public boolean followsGraphEdits() {
+        return false;
     }
 
+    /**
+     * stop the playback and cancel a computation, that is still running.
+     */
     public void stopPlaying() {
-        if (player.playTimer != null) {
-            player.playTimer.stop();
+        if (run != null) {
+            run.cancel(false);
+            run = null;
         }
+        player.stop();
+    }
+
+    /**
+     * release the resources kept beyond a run (e.g. a memory-mapped distance matrix) - called by the ApplicationModel,
+     * when the algorithm is stopped or replaced, possibly more than once. Nothing is kept by default.
+     */
+    public void release() {
+        // nothing to release by default
+    }
+
+    /**
+     * result of an algorithm: the structured result and the CSR arcs (of the snapshot) to play in slow motion.
+     */
+    public record Result(AlgorithmResult result, int[] playArcs) {
     }
 
     /**
-     * inner class that does the graphical playing of the traversal in slow motion using a swing timer
+     * the background run of the algorithm. It implements the engine's Progress: a cancelled run is aborted by a
+     * CancellationException, the progress is published at most every PROGRESS_INTERVAL_NANOS.
      */
-    protected class Player implements ActionListener {
+    private class Run extends SwingWorker<Result, int[]> implements Progress {
+
+        private final int vertexId;
+        private final long revision;
+        private final CsrGraph graph;
+        private long lastPublished = System.nanoTime();
+
+        Run(int vertexId, long revision, CsrGraph graph) {
+            this.vertexId = vertexId;
+            this.revision = revision;
+            this.graph = graph;
+        }
+
+        @Override
+        protected Result doInBackground() {
+            return performAlgorithm(vertexId, graph, this);
+        }
 
-        private static final int ALGORITHM_PLAY_DELAY = 700; //millisecs
-        private Timer playTimer;
-        private Queue<ModelEdge> playList;
+        @Override
+        public void report(int done, int total) {
+            if (isCancelled()) {
+                throw new CancellationException("algorithm stopped");
+            }
+            long now = System.nanoTime();
+            if (now - lastPublished >= PROGRESS_INTERVAL_NANOS) {
+                lastPublished = now;
+                publish(new int[]{done, total});
+            }
+        }
 
-        protected void play(Queue<ModelEdge> traverseQueue) {
-            playList = traverseQueue;
-            playTimer = new Timer(ALGORITHM_PLAY_DELAY, this);
-            playTimer.start();
+        @Override
+        protected void process(List<int[]> progressUpdates) {
+            if (!isCancelled()) {
+                var latest = progressUpdates.get(progressUpdates.size() - 1);
+                applicationModel.propagateAlgorithmProgress(latest[0], latest[1]);
+            }
         }
 
         @Override
-        public void actionPerformed(ActionEvent e) {
-            if (playList.isEmpty()) {
-                playTimer.stop();
-                propagateResult();
-            } else {
-                applicationModel.getGraphModel().selectEdgeAndNeighborVertex(playList.remove());
+        protected void done() {
+            if (isCancelled()) {
+                log.debug("algorithm run cancelled.");
+                return;
+            }
+            try {
+                var result = get();
+                if (cachesResults()) {
+                    applicationModel.cacheResult(vertexId, revision, result);
+                }
+                runCompleted(revision, graph);
+                play(result);
+            } catch (ExecutionException e) {
+                log.error("algorithm failed", e.getCause());
+                applicationModel.propagateAlgorithmResult("Algorithm failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.AllPairsShortestPaths;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.DijkstraShortestPaths;
+import de.cofinpro.visualizer.graph.DistanceMatrix;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import de.cofinpro.visualizer.model.Mode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * all-pairs variant of the Dijkstra Algorithm: the first click calculates the route lengths between all pairs of
+ * vertices in parallel (AllPairsShortestPaths, Johnson reweighted for negative weights) and shows those from the vertex
+ * clicked. The DistanceMatrix is kept for the graph snapshot it was calculated on, so clicking another start vertex on
+ * the unchanged graph only reads its row, and hovering a vertex shows its distance from the start vertex as tool tip -
+ * a single matrix lookup. The matrix is closed (a memory-mapped one deletes its file), when it is replaced or the
+ * algorithm is released.
+ */
+@Slf4j
+public class AllPairsAlgorithm extends Algorithm {
+
+    private static final String NAME = "All-Pairs Dijkstra";
+    private static final int NO_VERTEX = -1;
+
+    /**
+     * the distances of the latest calculation - replaced in the background run, read in the EDT.
+     */
+    private volatile Distances distances;
+    /**
+     * set, when the algorithm is stopped or replaced - distances calculated afterwards are closed at once.
+     */
+    private boolean released = false;
+    private long requestedRevision;
+    private int start = NO_VERTEX;
+
+    /**
+     * the matrix keeps all results of the graph snapshot, so the result cache is not needed.
+     */
+    @Override
+    protected boolean cachesResults() {
+        return false;
+    }
+
+    @Override
+    protected void prepareAlgorithm(int vertexId) {
+        start = vertexId;
+        requestedRevision = getApplicationModel().getGraphModel().getRevision();
+        getGraphPanel().setToolTipText(null);
+    }
+
+    /**
+     * callback of abstract algorithm class, that calculates the distance matrix (if not yet done for the graph
+     * snapshot) and returns the route lengths of the start vertex's row (nothing to play).
+     */
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var current = distances;
+        if (current == null || current.graph() != graph) {
+            current = calculate(graph, progress);
+        }
+        var routeLengths = rowOf(current, vertexId);
+        return new Result(AlgorithmResult.ofRouteLengths(NAME, getVertexLabels(), vertexId, routeLengths), new int[0]);
+    }
+
+    private Distances calculate(CsrGraph graph, Progress progress) {
+        try (var engine = new AllPairsShortestPaths(graph)) {
+            engine.setProgress(progress);
+            long startTime = System.nanoTime();
+            var matrix = engine.distances();
+            log.debug("all-pairs distances of {} vertices in {} ms ({}).", graph.getVertexCount(),
+                    (System.nanoTime() - startTime) / 1_000_000, matrix.getClass().getSimpleName());
+            return new Distances(graph, requestedRevision, matrix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * keep the given distances (closing those replaced) and read the row of the vertex - unless the algorithm was
+     * released meanwhile: then its run is cancelled and the distances are closed.
+     */
+    private synchronized int[] rowOf(Distances current, int vertexId) {
+        if (released) {
+            close(current);
+            throw new CancellationException("algorithm released");
+        }
+        if (current != distances) {
+            var previous = distances;
+            distances = current;
+            close(previous);
+        }
+        return current.matrix().getRow(vertexId);
+    }
+
+    @Override
+    public synchronized void release() {
+        released = true;
+        var current = distances;
+        distances = null;
+        close(current);
+    }
+
+    private static void close(Distances replaced) {
+        if (replaced != null) {
+            try {
+                replaced.matrix().close();
+            } catch (IOException e) {
+                log.warn("could not release distance matrix: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * show the distance from the start vertex to the vertex hovered as tool tip - as long as the graph is unchanged.
+     */
+    @Override
+    public void mouseMoved(MouseEvent event) {
+        var current = distances;
+        var graphPanel = getGraphPanel();
+        var graphModel = getApplicationModel().getGraphModel();
+        if (current == null || start == NO_VERTEX || graphPanel.getMode() != Mode.NONE
+                || current.revision() != graphModel.getRevision()) {
+            graphPanel.setToolTipText(null);
+            return;
+        }
+        graphPanel.getVertexAt(event.getPoint()).ifPresentOrElse(target -> {
+            int distance = current.matrix().get(start, target);
+            graphPanel.setToolTipText("%s -> %s: %s".formatted(graphModel.getVertexLabel(start),
+                    graphModel.getVertexLabel(target),
+                    distance == DijkstraShortestPaths.UNREACHABLE ? "not connected" : distance));
+        }, () -> graphPanel.setToolTipText(null));
+    }
+
+    /**
+     * the distance matrix with the graph snapshot and the revision of the graph model it was calculated on.
+     */
+    private record Distances(CsrGraph graph, long revision, DistanceMatrix matrix) {
+    }
+}
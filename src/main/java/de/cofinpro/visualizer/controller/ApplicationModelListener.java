@@ -1,7 +1,9 @@
 package de.cofinpro.visualizer.controller;
 
+import de.cofinpro.visualizer.graph.io.GraphFile;
 import de.cofinpro.visualizer.model.AlgorithmModel;
 import de.cofinpro.visualizer.model.Mode;
+import de.cofinpro.visualizer.model.RenderMode;
 
 /**
  * callback interface for listeners to changes in the ApplicationModel. Listeners only need to implement (override)
@@ -12,4 +14,6 @@ public interface ApplicationModelListener {
     default void updateMode(Mode changedMode) {}
     default void updateAlgorithm(Algorithm algorithm) {}
     default void updateAlgorithmState(AlgorithmModel algorithmModel) {}
+    default void updateGraph(GraphFile graphFile) {}
+    default void updateRenderMode(RenderMode renderMode) {}
 }
\ No newline at end of file
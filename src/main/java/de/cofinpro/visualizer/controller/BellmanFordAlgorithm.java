@@ -0,0 +1,49 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.BellmanFordShortestPaths;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.NegativeCycleException;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * implementation of the Bellman-Ford Algorithm (SPFA) for shortest route tracking with negative weights - delegating
+ * to the headless BellmanFordShortestPaths engine on the graph model's CSR snapshot. A negative cycle reachable from
+ * the start vertex (in the undirected graph any negative edge) fails the run with the cycle's vertices named.
+ */
+@Slf4j
+public class BellmanFordAlgorithm extends Algorithm {
+
+    private static final String NAME = "Bellman-Ford";
+
+    /**
+     * callback of abstract algorithm class, that runs the Bellman-Ford and returns the route lengths (nothing to play).
+     */
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var engine = new BellmanFordShortestPaths(graph);
+        engine.setProgress(progress);
+        try {
+            int[] routeLengths = engine.routeLengthsFrom(vertexId);
+            log.debug("bellman-ford finished after {} rounds.", engine.getRoundCount());
+            return new Result(AlgorithmResult.ofRouteLengths(NAME, getVertexLabels(), vertexId, routeLengths),
+                    new int[0]);
+        } catch (NegativeCycleException e) {
+            throw new IllegalStateException("negative cycle " + describe(e.getCycleArcs(), graph), e);
+        }
+    }
+
+    /**
+     * name the vertices of the cycle in route order, e.g. "A -> B -> A".
+     */
+    private String describe(int[] cycleArcs, CsrGraph graph) {
+        var labels = getVertexLabels();
+        return Arrays.stream(cycleArcs)
+                .mapToObj(arc -> labels[graph.arcSource(arc)])
+                .collect(Collectors.joining(" -> ", "", " -> " + labels[graph.arcSource(cycleArcs[0])]));
+    }
+}
@@ -0,0 +1,53 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.BidirectionalDijkstra;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+
+/**
+ * point-to-point implementation of the bidirectional Dijkstra: the first click chooses the start vertex, the second the
+ * target. The route is found by the headless BidirectionalDijkstra engine on the graph model's CSR snapshot - it is
+ * played and shown with the number of vertices both searches settled. The engine (with the transposed graph) is kept
+ * for the snapshot it was created on, so repeated queries on the unchanged graph touch only the vertices they reach.
+ */
+public class BidirectionalDijkstraAlgorithm extends Algorithm {
+
+    private int target;
+    private volatile BidirectionalDijkstra engine;
+
+    @Override
+    protected boolean needsTarget() {
+        return true;
+    }
+
+    /**
+     * the route is not worth caching, as a query touches only a small part of the graph.
+     */
+    @Override
+    protected boolean cachesResults() {
+        return false;
+    }
+
+    @Override
+    protected void prepareAlgorithm(int vertexId) {
+        getApplicationModel().getGraphModel().selectVertex(vertexId);
+        target = getTarget();
+    }
+
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var current = engine;
+        if (current == null || current.getGraph() != graph) {
+            current = new BidirectionalDijkstra(graph);
+            engine = current;
+        }
+        synchronized (current) {
+            current.setProgress(progress);
+            var route = current.route(vertexId, target);
+            current.setProgress(Progress.NONE);
+            return new Result(AlgorithmResult.ofRoute("Bidirectional Dijkstra", getVertexLabels(), graph, route),
+                    route.arcs());
+        }
+    }
+}
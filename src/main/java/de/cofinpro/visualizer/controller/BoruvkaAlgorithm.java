@@ -0,0 +1,14 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.BoruvkaSpanningTree;
+
+/**
+ * actual implementation of Boruvka's Algorithm to find a minimum spanning tree - delegating to the headless
+ * BoruvkaSpanningTree engine.
+ */
+public class BoruvkaAlgorithm extends SpanningForestAlgorithm {
+
+    public BoruvkaAlgorithm() {
+        super("Boruvka", BoruvkaSpanningTree::new);
+    }
+}
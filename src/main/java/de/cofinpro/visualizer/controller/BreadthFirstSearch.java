@@ -1,25 +1,43 @@
 package de.cofinpro.visualizer.controller;
 
-import de.cofinpro.visualizer.model.ModelEdge;
-import de.cofinpro.visualizer.model.ModelVertex;
-import de.cofinpro.visualizer.view.Vertex;
-
-import java.util.stream.Collectors;
+import de.cofinpro.visualizer.graph.BreadthFirstTraversal;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.ParallelBreadthFirstTraversal;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import de.cofinpro.visualizer.model.ResultKind;
 
 /**
- * actual implementation of the BFS search. The traverseList is received by delegating to the graph model.
+ * actual implementation of the BFS search. The traverseList is received by running the headless BreadthFirstTraversal
+ * on the graph model's CSR snapshot - or for large graphs the deterministic ParallelBreadthFirstTraversal, which
+ * yields the same traverse order.
  */
 public class BreadthFirstSearch extends Algorithm {
 
+    private static final int PARALLEL_VERTEX_THRESHOLD = 100_000;
+
+    @Override
+    protected void prepareAlgorithm(int vertexId) {
+        getApplicationModel().getGraphModel().selectVertex(vertexId);
+    }
+
     @Override
-    protected void performAlgorithm(Vertex vertex) {
-        var traverseQueue = getApplicationModel().getGraphModel().breadthFirstSearch(vertex);
-        String result = "BFS : " + vertex.getVertexLabel();
-        if (!traverseQueue.isEmpty()) {
-            result += " -> " + traverseQueue.stream().map(ModelEdge::end)
-                    .map(ModelVertex::getVertex).map(Vertex::getVertexLabel).collect(Collectors.joining(" -> "));
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var traverseArcs = traverse(graph, vertexId, progress);
+        return new Result(AlgorithmResult.ofTree("BFS", ResultKind.TRAVERSAL, getVertexLabels(), graph, vertexId,
+                traverseArcs), traverseArcs);
+    }
+
+    private static int[] traverse(CsrGraph graph, int start, Progress progress) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (processors == 1 || graph.getVertexCount() < PARALLEL_VERTEX_THRESHOLD) {
+            var traversal = new BreadthFirstTraversal(graph);
+            traversal.setProgress(progress);
+            return traversal.traverse(start);
+        }
+        try (var parallelTraversal = new ParallelBreadthFirstTraversal(graph, processors, true)) {
+            parallelTraversal.setProgress(progress);
+            return parallelTraversal.traverse(start);
         }
-        setResult(result);
-        getPlayer().play(traverseQueue);
     }
 }
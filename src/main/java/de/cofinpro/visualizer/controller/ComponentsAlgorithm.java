@@ -0,0 +1,29 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.Components;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+
+/**
+ * labels all components of the graph in one pass - a click on any vertex starts it: the connected components of the
+ * (undirected) graph model's CSR snapshot by the parallel union-find, the strongly connected components of directed
+ * graphs by the iterative Pearce search (see Components.of). There is nothing to play, the GraphPanel colours the
+ * vertices by component on termination.
+ */
+public class ComponentsAlgorithm extends Algorithm {
+
+    private static final String NAME = "Components";
+
+    @Override
+    protected void prepareAlgorithm(int vertexId) {
+        getApplicationModel().getGraphModel().selectVertex(vertexId);
+    }
+
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var components = Components.of(graph, progress);
+        return new Result(AlgorithmResult.ofComponents(NAME, getVertexLabels(), vertexId, components.labels()),
+                new int[0]);
+    }
+}
@@ -0,0 +1,91 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.ContractionHierarchy;
+import de.cofinpro.visualizer.graph.ContractionHierarchyBuilder;
+import de.cofinpro.visualizer.graph.ContractionHierarchyQuery;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * point-to-point queries on a contraction hierarchy: the first click chooses the start vertex, the second the target.
+ * The hierarchy is built in the background by the first query on a graph revision (unless it was read next to the
+ * graph file opened) and kept by the GraphModel until the next mutation - so repeated queries only run the upward
+ * searches of the ContractionHierarchyQuery, which is kept as long as its hierarchy is current. A hierarchy built is
+ * handed to the GraphModel as soon as its run completes - also if its playback is interrupted by the next click.
+ */
+@Slf4j
+public class ContractionHierarchyAlgorithm extends Algorithm {
+
+    private static final String NAME = "CH";
+
+    private int target;
+    private ContractionHierarchy hierarchy;
+    private volatile ContractionHierarchyQuery query;
+
+    @Override
+    protected boolean needsTarget() {
+        return true;
+    }
+
+    /**
+     * the route is not worth caching, as a query on the hierarchy is faster than the lookup of its playback.
+     */
+    @Override
+    protected boolean cachesResults() {
+        return false;
+    }
+
+    /**
+     * take the target and the hierarchy of the current revision (if there is one) along with the snapshot.
+     */
+    @Override
+    protected void prepareAlgorithm(int vertexId) {
+        var graphModel = getApplicationModel().getGraphModel();
+        graphModel.selectVertex(vertexId);
+        target = getTarget();
+        hierarchy = graphModel.getContractionHierarchy().orElse(null);
+    }
+
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var usedHierarchy = hierarchy;
+        if (usedHierarchy == null) {
+            long start = System.nanoTime();
+            var builder = new ContractionHierarchyBuilder(graph);
+            builder.setProgress(progress);
+            usedHierarchy = builder.build();
+            log.debug("contraction hierarchy built in {} ms: {} edges, {} shortcuts.",
+                    (System.nanoTime() - start) / 1_000_000, usedHierarchy.getEdgeCount(),
+                    usedHierarchy.getShortcutCount());
+        }
+        var engine = query;
+        if (engine == null || engine.getHierarchy() != usedHierarchy) {
+            engine = new ContractionHierarchyQuery(usedHierarchy, graph);
+            query = engine;
+        }
+        AlgorithmResult result;
+        int[] routeArcs;
+        synchronized (engine) {
+            engine.setProgress(progress);
+            var route = engine.route(vertexId, target);
+            engine.setProgress(Progress.NONE);
+            result = AlgorithmResult.ofRoute(NAME, getVertexLabels(), graph, route);
+            routeArcs = route.arcs();
+        }
+        return new Result(result, routeArcs);
+    }
+
+    /**
+     * hand the hierarchy of the query engine to the GraphModel, if the engine belongs to the run's snapshot - the
+     * GraphModel keeps it only, if the graph is still at the run's revision.
+     */
+    @Override
+    protected void runCompleted(long revision, CsrGraph graph) {
+        var engine = query;
+        if (engine != null && engine.getGraph() == graph) {
+            getApplicationModel().getGraphModel().setContractionHierarchy(engine.getHierarchy(), revision);
+        }
+    }
+}
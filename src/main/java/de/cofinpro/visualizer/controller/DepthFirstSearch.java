@@ -1,25 +1,28 @@
 package de.cofinpro.visualizer.controller;
 
-import de.cofinpro.visualizer.model.ModelEdge;
-import de.cofinpro.visualizer.model.ModelVertex;
-import de.cofinpro.visualizer.view.Vertex;
-
-import java.util.stream.Collectors;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.DepthFirstTraversal;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import de.cofinpro.visualizer.model.ResultKind;
 
 /**
- * actual implementation of the DFS search. The traverseList is received by delegating to the graph model.
+ * actual implementation of the DFS search. The traverseList is received by running the headless DepthFirstTraversal
+ * on the graph model's CSR snapshot.
  */
 public class DepthFirstSearch extends Algorithm {
 
     @Override
-    protected void performAlgorithm(Vertex vertex) {
-        var traverseQueue = getApplicationModel().getGraphModel().depthFirstSearch(vertex);
-        String result = "DFS : " + vertex.getVertexLabel();
-        if (!traverseQueue.isEmpty()) {
-            result += " -> " + traverseQueue.stream().map(ModelEdge::end)
-                    .map(ModelVertex::getVertex).map(Vertex::getVertexLabel).collect(Collectors.joining(" -> "));
-        }
-        setResult(result);
-        getPlayer().play(traverseQueue);
+    protected void prepareAlgorithm(int vertexId) {
+        getApplicationModel().getGraphModel().selectVertex(vertexId);
+    }
+
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var traversal = new DepthFirstTraversal(graph);
+        traversal.setProgress(progress);
+        var traverseArcs = traversal.traverse(vertexId);
+        return new Result(AlgorithmResult.ofTree("DFS", ResultKind.TRAVERSAL, getVertexLabels(), graph, vertexId,
+                traverseArcs), traverseArcs);
     }
-}
\ No newline at end of file
+}
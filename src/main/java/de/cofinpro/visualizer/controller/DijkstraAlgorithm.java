@@ -1,95 +1,55 @@
 package de.cofinpro.visualizer.controller;
 
-import de.cofinpro.visualizer.model.ModelEdge;
-import de.cofinpro.visualizer.model.ModelVertex;
-import de.cofinpro.visualizer.view.Vertex;
-
-import java.util.ArrayDeque;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Optional;
-import java.util.PriorityQueue;
-import java.util.Set;
-import java.util.stream.Collectors;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.DijkstraShortestPaths;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.graph.heap.HeapType;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import lombok.extern.slf4j.Slf4j;
 
 /**
- * actual implementation of the Dijkstra Algorithm for shortest route tracking using a priority queue.
+ * actual implementation of the Dijkstra Algorithm for shortest route tracking - delegating to the headless
+ * DijkstraShortestPaths engine on the graph model's CSR snapshot. The heap type of the engine's vertex queue is chosen
+ * by the AlgorithmType run, the result shows the heap operations counted.
  */
+@Slf4j
 public class DijkstraAlgorithm extends Algorithm {
 
-    private final PriorityQueue<VertexWithRouteLength> vertexQueue
-            = new PriorityQueue<>(Comparator.comparingInt(VertexWithRouteLength::routeLength));
-    private final Set<ModelVertex> processed = new HashSet<>();
-    private final Map<ModelVertex, Integer> routeLengths = new HashMap<>();
-
-    /**
-     * clear the collections - needed if the algorithm has already run (on another start vertex).
-     */
-    private void resetCollections() {
-        vertexQueue.clear();
-        processed.clear();
-        routeLengths.clear();
-    }
+    private final HeapType heapType;
 
-    /**
-     * callback of abstract algorithm class, that runs the Dijkstra, sets result string and plays it to status label.
-     * @param vertex the start vertex chosen.
-     */
-    @Override
-    protected void performAlgorithm(Vertex vertex) {
-        resetCollections();
-        setResult(dijkstra(vertex));
-        getPlayer().play(new ArrayDeque<>());
+    public DijkstraAlgorithm() {
+        this(HeapType.DARY_HEAP);
     }
 
-    /**
-     * implementation of dijkstra algorithm, that calculates shortest routes to all vertixes from start vertex given
-     * @param vertex start vertex
-     * @return result string consisting of comma-separated "vertex=routeLength" pairs.
-     */
-    private String dijkstra(Vertex vertex) {
-        var startVertex = getApplicationModel().getGraphModel().getModelVertex(vertex);
-        vertexQueue.offer(new VertexWithRouteLength(startVertex, 0));
-        routeLengths.put(startVertex, 0);
-        while (!vertexQueue.isEmpty()) {
-            var currentVertex = vertexQueue.poll().vertex();
-            processUnprocessedNeighbors(currentVertex);
-            processed.add(currentVertex);
-        }
-        return routeLengths.entrySet().stream().filter(entry -> entry.getValue() > 0)
-                .map(entry -> "%s=%d".formatted(entry.getKey().getVertex().getVertexLabel(), entry.getValue()))
-                .sorted()
-                .collect(Collectors.joining(", "));
+    public DijkstraAlgorithm(HeapType heapType) {
+        this.heapType = heapType;
     }
 
     /**
-     * calculate routeLengths on all unprocessed neighbors of this vertex by adding the edge weights to them.
+     * callback of abstract algorithm class, that runs the Dijkstra and returns the route lengths (nothing to play).
+     * @param vertexId the id of the start vertex chosen.
      */
-    private void processUnprocessedNeighbors(ModelVertex vertex) {
-        vertex.getEdges().stream()
-                .filter(edge -> !processed.contains(edge.end()))
-                .forEach(edge -> dijkstraUpdateNeighbor(vertex, edge, Integer.parseInt(edge.weightLabel().getText())));
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        return new Result(dijkstra(vertexId, graph, progress), new int[0]);
     }
 
     /**
-     * update a neighbor iff the newly calculated route length is the smallest so far. In this case, the routeLength
-     * is stored in the results hashmap routeLengths as well as offered to the priority queue to be used from now on.
+     * run dijkstra algorithm, that calculates shortest routes to all vertixes from start vertex given
+     * @param vertexId id of the start vertex
+     * @return result with the route length of every vertex reachable.
      */
-    private void dijkstraUpdateNeighbor(ModelVertex vertex, ModelEdge edgeToNeighbor, int edgeWeight) {
-        int lengthOnThisRoute = routeLengths.get(vertex) + edgeWeight;
-        var neighbor = edgeToNeighbor.end();
-        int lengthSoFar = Optional.ofNullable(routeLengths.get(neighbor)).orElse(Integer.MAX_VALUE);
-        if (lengthOnThisRoute < lengthSoFar) {
-            vertexQueue.offer(new VertexWithRouteLength(neighbor, lengthOnThisRoute));
-            routeLengths.put(neighbor, lengthOnThisRoute);
+    private AlgorithmResult dijkstra(int vertexId, CsrGraph graph, Progress progress) {
+        if (graph.hasNegativeWeight()) {
+            throw new IllegalArgumentException("Dijkstra needs non-negative weights - use Bellman-Ford (SPFA)");
         }
+        var engine = new DijkstraShortestPaths(graph, heapType);
+        engine.setProgress(progress);
+        int[] routeLengths = engine.routeLengthsFrom(vertexId);
+        var counters = engine.getHeapCounters();
+        log.debug("dijkstra with {}: {}", heapType.getHeapName(), counters);
+        return AlgorithmResult.ofRouteLengths("Dijkstra", getVertexLabels(), vertexId, routeLengths,
+                "%s: %,d pushes, %,d pops, %,d decrease-keys".formatted(heapType.getHeapName(), counters.getPushes(),
+                        counters.getPops(), counters.getDecreaseKeys()));
     }
-
-    /**
-     * immutable union of a vertex and its currently minimal routeLength from start vertex for use in the priority queue
-     */
-    private record VertexWithRouteLength(ModelVertex vertex, int routeLength) {
-    }
-}
\ No newline at end of file
+}
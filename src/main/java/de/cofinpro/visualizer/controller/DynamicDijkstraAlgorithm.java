@@ -0,0 +1,144 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.DynamicShortestPaths;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.SwingUtilities;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * dynamic variant of the Dijkstra Algorithm: the route lengths are calculated once by the headless DynamicShortestPaths
+ * engine, which is kept after the algorithm terminated. The algorithm listens to the graph model's edits (it is not
+ * stopped by switching to an edit mode) and lets the engine repair its shortest path tree on every edge added or
+ * removed - the result shown is updated without rerunning Dijkstra on the whole graph. All repairs of one edit (e.g.
+ * the removal of a vertex with its edges) are shown by a single result update.
+ */
+@Slf4j
+public class DynamicDijkstraAlgorithm extends Algorithm implements GraphModelListener {
+
+    private static final String NAME = "Dynamic Dijkstra";
+
+    /**
+     * the engines built in the background by the result they belong to - only the one of the run played is kept.
+     */
+    private final Map<AlgorithmResult, DynamicShortestPaths> builtEngines = new ConcurrentHashMap<>();
+    private DynamicShortestPaths engine;
+    private boolean updatePending = false;
+
+    @Override
+    public boolean followsGraphEdits() {
+        return true;
+    }
+
+    /**
+     * the engine is built by every run, so its result is not cached.
+     */
+    @Override
+    protected boolean cachesResults() {
+        return false;
+    }
+
+    @Override
+    protected void prepareAlgorithm(int vertexId) {
+        getApplicationModel().getGraphModel().addListener(this);
+    }
+
+    /**
+     * callback of abstract algorithm class, that builds the dynamic engine and returns its route lengths (nothing to
+     * play).
+     */
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var dynamicEngine = new DynamicShortestPaths(graph);
+        dynamicEngine.setProgress(progress);
+        int[] routeLengths = dynamicEngine.routeLengthsFrom(vertexId);
+        dynamicEngine.setProgress(Progress.NONE);
+        var result = AlgorithmResult.ofRouteLengths(NAME, getVertexLabels(), vertexId, routeLengths);
+        builtEngines.put(result, dynamicEngine);
+        return new Result(result, new int[0]);
+    }
+
+    /**
+     * on termination the engine of the result is taken over to follow the edits from now on.
+     */
+    @Override
+    protected void propagateResult() {
+        var builtEngine = builtEngines.remove(getAlgorithmResult());
+        if (builtEngine != null) {
+            engine = builtEngine;
+            builtEngines.clear();
+        }
+        super.propagateResult();
+    }
+
+    @Override
+    public void stopPlaying() {
+        super.stopPlaying();
+        getApplicationModel().getGraphModel().removeListener(this);
+        builtEngines.clear();
+        engine = null;
+    }
+
+    @Override
+    public void edgeAdded(int edgeId) {
+        if (engine == null) {
+            return;
+        }
+        var graphModel = getApplicationModel().getGraphModel();
+        int weight = graphModel.getEdgeWeights()[edgeId];
+        if (weight < 0) {
+            engine = null;
+            getApplicationModel().propagateAlgorithmResult("%s stopped following: negative weight %d added"
+                    .formatted(NAME, weight));
+            return;
+        }
+        int changed = engine.insertEdge(edgeId, graphModel.getEdgeStarts()[edgeId],
+                graphModel.getEdgeEnds()[edgeId], weight);
+        log.debug("edge {} added: {} routes changed.", edgeId, changed);
+        scheduleUpdate();
+    }
+
+    @Override
+    public void edgeRemoved(int edgeId) {
+        if (engine == null) {
+            return;
+        }
+        int recalculated = engine.deleteEdge(edgeId);
+        log.debug("edge {} removed: {} routes recalculated.", edgeId, recalculated);
+        scheduleUpdate();
+    }
+
+    @Override
+    public void vertexRemoved(int vertexId) {
+        if (engine != null && vertexId == engine.getSource()) {
+            engine = null;
+            getApplicationModel().propagateAlgorithmResult("%s stopped following: start vertex removed"
+                    .formatted(NAME));
+        }
+    }
+
+    /**
+     * update the result once after the current edit is completed.
+     */
+    private void scheduleUpdate() {
+        if (!updatePending) {
+            updatePending = true;
+            SwingUtilities.invokeLater(() -> {
+                updatePending = false;
+                if (engine != null) {
+                    updateRouteLengths();
+                }
+            });
+        }
+    }
+
+    private void updateRouteLengths() {
+        var graphModel = getApplicationModel().getGraphModel();
+        updateResult(AlgorithmResult.ofRouteLengths(NAME, graphModel.getVertexLabels(), engine.getSource(),
+                engine.getRouteLengths(graphModel.getVertexIdBound())));
+    }
+}
@@ -0,0 +1,166 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.ContractionHierarchy;
+import de.cofinpro.visualizer.graph.io.GraphFile;
+import de.cofinpro.visualizer.graph.io.GraphFormat;
+import de.cofinpro.visualizer.model.ApplicationModel;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Listener for the Open and Save menu items of the file menu. The file is chosen with a JFileChooser (format by file
+ * extension), read or written in a SwingWorker's background thread and the result is handed to the ApplicationModel
+ * in the EDT. The contraction hierarchy of the graph is persisted next to the graph file: it is saved with the graph,
+ * if it matches the graph file's content, and read with it, if it matches the graph loaded.
+ */
+@Slf4j
+public class FileMenuItemListener implements ActionListener {
+
+    public enum Action {
+        OPEN,
+        SAVE
+    }
+
+    private final Action action;
+    private final ApplicationModel applicationModel;
+    private final Component parent;
+
+    public FileMenuItemListener(Action action, ApplicationModel applicationModel, Component parent) {
+        this.action = action;
+        this.applicationModel = applicationModel;
+        this.parent = parent;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        var chooser = createFileChooser();
+        int choice = action == Action.OPEN ? chooser.showOpenDialog(parent) : chooser.showSaveDialog(parent);
+        if (choice != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        var path = chooser.getSelectedFile().toPath();
+        if (action == Action.SAVE && chooser.getFileFilter() instanceof FileNameExtensionFilter filter
+                && !hasKnownExtension(path)) {
+            path = path.resolveSibling(path.getFileName() + "." + filter.getExtensions()[0]);
+        }
+        if (action == Action.OPEN) {
+            open(path);
+        } else {
+            var graphModel = applicationModel.getGraphModel();
+            save(path, graphModel.toGraphFile(), graphModel.getContractionHierarchy().orElse(null));
+        }
+    }
+
+    private JFileChooser createFileChooser() {
+        var chooser = new JFileChooser();
+        Arrays.stream(GraphFormat.values()).forEach(format -> chooser.addChoosableFileFilter(
+                new FileNameExtensionFilter(format.getFormatName(), format.getExtension())));
+        chooser.setFileFilter(chooser.getChoosableFileFilters()[1]);
+        return chooser;
+    }
+
+    private static boolean hasKnownExtension(Path path) {
+        try {
+            GraphFormat.of(path);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void open(Path path) {
+        log.debug("opening graph file {}.", path);
+        new SwingWorker<OpenedGraph, Void>() {
+            @Override
+            protected OpenedGraph doInBackground() throws Exception {
+                return new OpenedGraph(GraphFormat.of(path).getFileFormat().read(path), readHierarchy(path));
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    var openedGraph = get();
+                    applicationModel.loadGraph(openedGraph.graphFile());
+                    var graphModel = applicationModel.getGraphModel();
+                    var hierarchy = openedGraph.hierarchy();
+                    if (hierarchy != null && hierarchy.matches(graphModel.getGraph())) {
+                        graphModel.setContractionHierarchy(hierarchy, graphModel.getRevision());
+                    }
+                } catch (ExecutionException e) {
+                    showError("Could not open %s".formatted(path), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * read the contraction hierarchy persisted next to the graph file - null, if there is none (or it is unreadable).
+     */
+    private static ContractionHierarchy readHierarchy(Path path) {
+        var hierarchyPath = ContractionHierarchy.pathNextTo(path);
+        if (!Files.exists(hierarchyPath)) {
+            return null;
+        }
+        try {
+            return ContractionHierarchy.read(hierarchyPath);
+        } catch (IOException e) {
+            log.warn("ignoring contraction hierarchy {}: {}", hierarchyPath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * save the graph file - and the hierarchy next to it, if it matches the file's graph (which has compact vertex
+     * ids). Otherwise an older hierarchy file is deleted.
+     */
+    private void save(Path path, GraphFile graphFile, ContractionHierarchy hierarchy) {
+        log.debug("saving graph file {}.", path);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                GraphFormat.of(path).getFileFormat().write(graphFile, path);
+                var hierarchyPath = ContractionHierarchy.pathNextTo(path);
+                if (hierarchy != null && hierarchy.matches(graphFile.graph())) {
+                    hierarchy.write(hierarchyPath);
+                } else {
+                    Files.deleteIfExists(hierarchyPath);
+                }
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (ExecutionException e) {
+                    showError("Could not save %s".formatted(path), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }.execute();
+    }
+
+    private record OpenedGraph(GraphFile graphFile, ContractionHierarchy hierarchy) {
+    }
+
+    private void showError(String message, Throwable cause) {
+        log.error("{}: {}", message, cause.getMessage());
+        JOptionPane.showMessageDialog(parent, "%s:%n%s".formatted(message, cause.getMessage()), "File",
+                JOptionPane.ERROR_MESSAGE);
+    }
+}
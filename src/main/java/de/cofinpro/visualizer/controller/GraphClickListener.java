@@ -1,9 +1,7 @@
 package de.cofinpro.visualizer.controller;
 
 import de.cofinpro.visualizer.model.Mode;
-import de.cofinpro.visualizer.view.Edge;
 import de.cofinpro.visualizer.view.GraphPanel;
-import de.cofinpro.visualizer.view.Vertex;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.swing.JOptionPane;
@@ -45,23 +43,22 @@ public class GraphClickListener extends MouseAdapter {
     }
 
     /**
-     * check, if an edge was clicked and if so delegate the removal to the GraphPanel.
+     * check, if an edge line was clicked and if so delegate the removal to the GraphPanel.
      */
     private void handleRemoveEdge(MouseEvent event) {
-        if (graphPanel.getComponentAt(event.getPoint()) instanceof Edge edge) {
-            log.debug("Edge '{}' clicked ", edge.getName());
-            log.debug("removing edge {}.", edge.getName());
-            graphPanel.removeEdge(edge);
-        }
+        graphPanel.getEdgeAt(event.getPoint()).ifPresent(edgeId -> {
+            log.debug("removing edge {}.", edgeId);
+            graphPanel.removeEdge(edgeId);
+        });
     }
 
     /**
      * check, if a vertex was clicked and if so delegate the removal with connected edges to the GraphPanel.
      */
     private void handleRemoveVertex(MouseEvent event) {
-        graphPanel.getVertexAt(event.getPoint()).ifPresent(vertex -> {
-            log.debug("removing vertex {}.", vertex.getVertexLabel());
-            graphPanel.removeVertexWithAssociateEdges(vertex);
+        graphPanel.getVertexAt(event.getPoint()).ifPresent(vertexId -> {
+            log.debug("removing vertex {}.", vertexId);
+            graphPanel.removeVertexWithAssociateEdges(vertexId);
         });
     }
 
@@ -70,24 +67,23 @@ public class GraphClickListener extends MouseAdapter {
      * an edge is created and added, if another vertex was already selected, or the clicked vertex is selected, if none was before.
      */
     private void handlePlaceEdge(MouseEvent event) {
-        graphPanel.getVertexAt(event.getPoint()).ifPresent(vertex -> {
-            log.debug(VERTEX_CLICKED, vertex.getVertexLabel());
+        graphPanel.getVertexAt(event.getPoint()).ifPresent(vertexId -> {
+            log.debug(VERTEX_CLICKED, vertexId);
             graphPanel.getSelected()
-                    .ifPresentOrElse(selected -> addEdge(selected, vertex), () -> graphPanel.setSelected(vertex));
+                    .ifPresentOrElse(selected -> addEdge(selected, vertexId), () -> graphPanel.setSelected(vertexId));
         });
     }
 
     /**
      * if the given vertices are different, ask the user for a weight with a modal dialog and create edges with this weight.
      */
-    private void addEdge(Vertex first, Vertex second) {
+    private void addEdge(int first, int second) {
         if (first == second) {
             return;
         }
-        log.debug("adding an edge from vertex {} to vertex {}.", first.getVertexLabel(), second.getVertexLabel());
+        log.debug("adding an edge from vertex {} to vertex {}.", first, second);
         new Dialog().getLabelFromDialog().ifPresent(weight -> graphPanel.addEdge(weight, first, second));
-        first.unselect();
-        graphPanel.setSelected(null);
+        graphPanel.clearSelected();
     }
 
     /**
@@ -95,7 +91,7 @@ public class GraphClickListener extends MouseAdapter {
      * mouse click position, if there is room (i.e. no other vertex or edge).
      */
     private void handlePlaceVertex(MouseEvent event) {
-        if (graphPanel.getComponentAt(event.getPoint()) instanceof GraphPanel) {
+        if (graphPanel.isFreeAt(event.getPoint())) {
             new Dialog().getLabelFromDialog().ifPresent(label -> {
                 graphPanel.addVertex(label, new Point(event.getX() - CLICK_OFFSET, event.getY() - CLICK_OFFSET));
                 log.debug("adding vertex {} at {}.", label, event.getPoint());
@@ -0,0 +1,15 @@
+package de.cofinpro.visualizer.controller;
+
+/**
+ * callback interface for listeners to selection changes of single vertices and edges in the GraphModel (e.g. to
+ * repaint only the region of the changed element) and to structural edits (e.g. to repair an algorithm result).
+ * Listeners only need to implement the methods they are interested in.
+ */
+public interface GraphModelListener {
+
+    default void vertexChanged(int vertexId) {}
+    default void edgeChanged(int edgeId) {}
+    default void edgeAdded(int edgeId) {}
+    default void edgeRemoved(int edgeId) {}
+    default void vertexRemoved(int vertexId) {}
+}
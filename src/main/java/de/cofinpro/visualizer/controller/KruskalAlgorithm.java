@@ -0,0 +1,14 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.KruskalSpanningTree;
+
+/**
+ * actual implementation of Kruskal's Algorithm to find a minimum spanning tree - delegating to the headless
+ * KruskalSpanningTree engine.
+ */
+public class KruskalAlgorithm extends SpanningForestAlgorithm {
+
+    public KruskalAlgorithm() {
+        super("Kruskal", KruskalSpanningTree::new);
+    }
+}
@@ -0,0 +1,66 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.model.ApplicationModel;
+import de.cofinpro.visualizer.model.PlaybackAction;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.JOptionPane;
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.OptionalInt;
+
+/**
+ * Listener for the menu items of the playback menu, that controls the Player of the running algorithm (if any).
+ */
+@Slf4j
+public class PlaybackMenuItemListener implements ActionListener {
+
+    private final PlaybackAction action;
+    private final ApplicationModel applicationModel;
+    private final Component parent;
+
+    public PlaybackMenuItemListener(PlaybackAction action, ApplicationModel applicationModel, Component parent) {
+        this.action = action;
+        this.applicationModel = applicationModel;
+        this.parent = parent;
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        applicationModel.getPlayer().ifPresent(player -> {
+            switch (action) {
+                case PAUSE_RESUME -> {
+                    if (player.isPlaying()) {
+                        player.pause();
+                    } else {
+                        player.resume();
+                    }
+                }
+                case STEP_FORWARD -> player.stepForward();
+                case STEP_BACK -> player.stepBack();
+                case RESTART -> {
+                    player.seek(0);
+                    player.resume();
+                }
+                case SEEK -> askForStep(player.getPosition(), player.getStepCount()).ifPresent(player::seek);
+                case SKIP_TO_END -> player.skipToEnd();
+                case FASTER -> player.faster();
+                case SLOWER -> player.slower();
+            }
+        });
+    }
+
+    /**
+     * ask the user for the step to seek to in an input dialog.
+     */
+    private OptionalInt askForStep(int position, int stepCount) {
+        var input = JOptionPane.showInputDialog(parent, "Seek to step (0 - %d):".formatted(stepCount), position);
+        try {
+            return input == null ? OptionalInt.empty() : OptionalInt.of(Integer.parseInt(input.trim()));
+        } catch (NumberFormatException exception) {
+            log.debug("no step number: {}", input);
+            return OptionalInt.empty();
+        }
+    }
+}
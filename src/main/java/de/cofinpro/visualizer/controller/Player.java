@@ -0,0 +1,220 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.model.GraphModel;
+import de.cofinpro.visualizer.model.ModelEdge;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.Timer;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.IntConsumer;
+
+/**
+ * playback engine, that plays an algorithm result in slow motion on the GraphModel using a swing timer: each step
+ * selects an edge and its end vertex (e.g. a tree arc of a traversal). The speed is adjustable from the frame delay
+ * of DEFAULT_DELAY down to MIN_DELAY and beyond that by playing up to MAX_STEPS_PER_FRAME steps per frame - all
+ * selection changes of a frame are coalesced into one repaint by the GraphPanel.
+ * The playback can be paused, stepped in both directions and seeked. The selection state is mirrored in bitsets and
+ * checkpointed every checkpointInterval steps (at most MAX_CHECKPOINTS), so a backward seek restores the nearest
+ * checkpoint before the target by applying only the differing selections and replays at most one interval.
+ */
+@Slf4j
+public class Player implements ActionListener {
+
+    public static final int DEFAULT_DELAY = 700; //millisecs
+    private static final int MIN_DELAY = 16;
+    private static final int MAX_DELAY = 2800;
+    private static final int MAX_STEPS_PER_FRAME = 1 << 16;
+    private static final int MIN_CHECKPOINT_INTERVAL = 256;
+    private static final int MAX_CHECKPOINTS = 32;
+
+    private final Runnable finishCallback;
+    private final Timer playTimer = new Timer(DEFAULT_DELAY, this);
+    @Getter
+    private int delay = DEFAULT_DELAY;
+    @Getter
+    private int stepsPerFrame = 1;
+    private GraphModel graphModel;
+    private ModelEdge[] steps = new ModelEdge[0];
+    @Getter
+    private int position = 0;
+    private BitSet selectedVertices = new BitSet();
+    private BitSet selectedEdges = new BitSet();
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private int checkpointInterval = MIN_CHECKPOINT_INTERVAL;
+
+    /**
+     * @param finishCallback called, whenever the playback reaches its end (e.g. to propagate the algorithm result).
+     */
+    public Player(Runnable finishCallback) {
+        this.finishCallback = finishCallback;
+    }
+
+    /**
+     * start playing the given steps from the current selection state of the graph model.
+     */
+    public void play(GraphModel graphModel, Queue<ModelEdge> playList) {
+        playTimer.stop();
+        this.graphModel = graphModel;
+        steps = playList.toArray(ModelEdge[]::new);
+        position = 0;
+        selectedVertices = graphModel.getSelectedVertices();
+        selectedEdges = graphModel.getSelectedEdges();
+        checkpointInterval = Math.max(MIN_CHECKPOINT_INTERVAL, (steps.length + MAX_CHECKPOINTS - 1) / MAX_CHECKPOINTS);
+        checkpoints.clear();
+        addCheckpoint();
+        playTimer.setDelay(delay);
+        playTimer.start();
+    }
+
+    public int getStepCount() {
+        return steps.length;
+    }
+
+    public boolean isPlaying() {
+        return playTimer.isRunning();
+    }
+
+    public void pause() {
+        playTimer.stop();
+    }
+
+    public void resume() {
+        if (graphModel != null) {
+            playTimer.start();
+        }
+    }
+
+    public void stop() {
+        playTimer.stop();
+    }
+
+    /**
+     * pause and play the next step.
+     */
+    public void stepForward() {
+        pause();
+        seek(position + 1);
+    }
+
+    /**
+     * pause and undo the last step.
+     */
+    public void stepBack() {
+        pause();
+        seek(position - 1);
+    }
+
+    /**
+     * pause and jump to the end of the playback, which is finished then.
+     */
+    public void skipToEnd() {
+        pause();
+        seek(steps.length);
+        finishCallback.run();
+    }
+
+    /**
+     * double the speed: halve the delay down to MIN_DELAY - then double the steps per frame.
+     */
+    public void faster() {
+        if (delay > MIN_DELAY) {
+            delay = Math.max(MIN_DELAY, delay / 2);
+        } else {
+            stepsPerFrame = Math.min(MAX_STEPS_PER_FRAME, stepsPerFrame * 2);
+        }
+        playTimer.setDelay(delay);
+        log.debug("playback speed {} steps per {} ms.", stepsPerFrame, delay);
+    }
+
+    /**
+     * halve the speed: halve the steps per frame down to one - then double the delay up to MAX_DELAY.
+     */
+    public void slower() {
+        if (stepsPerFrame > 1) {
+            stepsPerFrame /= 2;
+        } else {
+            delay = Math.min(MAX_DELAY, delay * 2);
+        }
+        playTimer.setDelay(delay);
+        log.debug("playback speed {} steps per {} ms.", stepsPerFrame, delay);
+    }
+
+    /**
+     * bring the graph model's selection to the state after the given number of steps. Backwards the nearest
+     * checkpoint is restored first.
+     */
+    public void seek(int target) {
+        if (graphModel == null) {
+            return;
+        }
+        int clampedTarget = Math.max(0, Math.min(steps.length, target));
+        if (clampedTarget < position) {
+            restore(Math.min(clampedTarget / checkpointInterval, checkpoints.size() - 1));
+        }
+        advance(clampedTarget);
+    }
+
+    /**
+     * timer callback: play the next frame of steps - or finish, when all steps are played.
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (position == steps.length) {
+            playTimer.stop();
+            finishCallback.run();
+        } else {
+            advance(Math.min(steps.length, position + stepsPerFrame));
+        }
+    }
+
+    private void advance(int target) {
+        while (position < target) {
+            var step = steps[position++];
+            graphModel.selectEdgeAndNeighborVertex(step);
+            selectedVertices.set(step.end().getId());
+            selectedEdges.set(step.id() / 2);
+            if (position % checkpointInterval == 0 && position / checkpointInterval == checkpoints.size()) {
+                addCheckpoint();
+            }
+        }
+    }
+
+    private void addCheckpoint() {
+        checkpoints.add(new Checkpoint((BitSet) selectedVertices.clone(), (BitSet) selectedEdges.clone()));
+    }
+
+    private void restore(int checkpointIndex) {
+        var checkpoint = checkpoints.get(checkpointIndex);
+        restore(selectedVertices, checkpoint.vertices(), graphModel::selectVertex, graphModel::unselectVertex);
+        restore(selectedEdges, checkpoint.edges(), graphModel::selectEdge, graphModel::unselectEdge);
+        position = checkpointIndex * checkpointInterval;
+    }
+
+    /**
+     * change only the ids, whose selection differs between current and checkpoint state.
+     */
+    private static void restore(BitSet current, BitSet checkpoint, IntConsumer select, IntConsumer unselect) {
+        var changed = (BitSet) current.clone();
+        changed.xor(checkpoint);
+        changed.stream().forEach(id -> {
+            if (checkpoint.get(id)) {
+                select.accept(id);
+            } else {
+                unselect.accept(id);
+            }
+        });
+        current.xor(changed);
+    }
+
+    /**
+     * the selected vertices and edges after a multiple of checkpointInterval steps.
+     */
+    private record Checkpoint(BitSet vertices, BitSet edges) {
+    }
+}
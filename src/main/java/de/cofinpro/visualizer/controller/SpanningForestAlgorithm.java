@@ -0,0 +1,55 @@
+package de.cofinpro.visualizer.controller;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.graph.SpanningForest;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import de.cofinpro.visualizer.model.ResultKind;
+
+import java.util.function.Function;
+
+/**
+ * base class of the minimum spanning tree algorithms, that delegate to a headless SpanningForest engine (Kruskal,
+ * Boruvka) on the graph model's CSR snapshot. The engine finds the spanning forest of the whole graph once per
+ * snapshot, a click only orients the tree of the start vertex' component.
+ */
+public abstract class SpanningForestAlgorithm extends Algorithm {
+
+    private final String name;
+    private final Function<CsrGraph, SpanningForest> engineProducer;
+    private volatile SpanningForest engine;
+
+    /**
+     * @param name the algorithm name shown in the result
+     * @param engineProducer creates the forest engine on a snapshot
+     */
+    protected SpanningForestAlgorithm(String name, Function<CsrGraph, SpanningForest> engineProducer) {
+        this.name = name;
+        this.engineProducer = engineProducer;
+    }
+
+    @Override
+    protected void prepareAlgorithm(int vertexId) {
+        getApplicationModel().getGraphModel().selectVertex(vertexId);
+    }
+
+    /**
+     * callback of abstract algorithm class, that finds the spanning forest (if not yet done for the graph snapshot)
+     * and returns the spanning tree of the start vertex as result (child and parent per row) and to play.
+     * @param vertexId the id of the start vertex chosen.
+     */
+    @Override
+    protected Result performAlgorithm(int vertexId, CsrGraph graph, Progress progress) {
+        var forestEngine = engine;
+        if (forestEngine == null || forestEngine.getGraph() != graph) {
+            forestEngine = engineProducer.apply(graph);
+            forestEngine.setProgress(progress);
+            forestEngine.spanningForest();
+            forestEngine.setProgress(Progress.NONE);
+            engine = forestEngine;
+        }
+        int[] treeArcs = forestEngine.spanningTree(vertexId);
+        return new Result(AlgorithmResult.ofTree(name, ResultKind.SPANNING_TREE, getVertexLabels(), graph,
+                vertexId, treeArcs), treeArcs);
+    }
+}
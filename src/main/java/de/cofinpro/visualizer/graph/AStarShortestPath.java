@@ -0,0 +1,127 @@
+package de.cofinpro.visualizer.graph;
+
+import de.cofinpro.visualizer.graph.heap.IndexedDaryHeap;
+import de.cofinpro.visualizer.graph.heap.IntPriorityQueue;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * headless A* engine for point-to-point shortest routes on a CsrGraph with vertex coordinates: vertices are settled by
+ * route length plus the Euclidean distance to the target scaled to weights. The scale is the minimum weight per
+ * coordinate length over all arcs, so the heuristic never overestimates and is consistent (also when rounded down to
+ * int) - every vertex is settled at most once, and the search stops as soon as the target is settled. Per-vertex state
+ * is valid by EpochMarks only, so a query touches only the vertices it reaches.
+ */
+public class AStarShortestPath {
+
+    @Getter
+    private final CsrGraph graph;
+    private final int[] xs;
+    private final int[] ys;
+    @Getter
+    private final double scale;
+    private final IntPriorityQueue vertexQueue;
+    private final int[] routeLengths;
+    private final int[] parentArcs;
+    private final EpochMarks reached;
+    private final EpochMarks settled;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    /**
+     * @param xs the x coordinate by vertex id
+     * @param ys the y coordinate by vertex id
+     */
+    public AStarShortestPath(CsrGraph graph, int[] xs, int[] ys) {
+        if (graph.hasNegativeWeight()) {
+            throw new IllegalArgumentException("A* needs non-negative weights");
+        }
+        int vertexCount = graph.getVertexCount();
+        this.graph = graph;
+        this.xs = xs;
+        this.ys = ys;
+        this.scale = scale(graph, xs, ys);
+        vertexQueue = new IndexedDaryHeap(vertexCount);
+        routeLengths = new int[vertexCount];
+        parentArcs = new int[vertexCount];
+        reached = new EpochMarks(vertexCount);
+        settled = new EpochMarks(vertexCount);
+    }
+
+    /**
+     * the minimum weight per coordinate length of all arcs (arcs of coincident vertices aside).
+     */
+    private static double scale(CsrGraph graph, int[] xs, int[] ys) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        double scale = Double.MAX_VALUE;
+        for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                double length = Math.hypot(xs[vertex] - xs[targets[arc]], ys[vertex] - ys[targets[arc]]);
+                if (length > 0) {
+                    scale = Math.min(scale, weights[arc] / length);
+                }
+            }
+        }
+        return scale == Double.MAX_VALUE ? 0 : scale;
+    }
+
+    /**
+     * find a shortest route from source to target.
+     */
+    public Route route(int source, int target) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        reached.clear();
+        settled.clear();
+        vertexQueue.clear();
+        routeLengths[source] = 0;
+        parentArcs[source] = -1;
+        reached.mark(source);
+        vertexQueue.offer(source, estimate(source, target));
+        int settledCount = 0;
+        while (!vertexQueue.isEmpty()) {
+            int vertex = vertexQueue.poll();
+            settled.mark(vertex);
+            progress.step(++settledCount, graph.getVertexCount());
+            if (vertex == target) {
+                return new Route(source, target, routeLengths[target], pathArcs(target), settledCount);
+            }
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int neighbor = targets[arc];
+                int lengthOnThisRoute = routeLengths[vertex] + weights[arc];
+                if (!settled.isMarked(neighbor)
+                        && (!reached.isMarked(neighbor) || lengthOnThisRoute < routeLengths[neighbor])) {
+                    reached.mark(neighbor);
+                    routeLengths[neighbor] = lengthOnThisRoute;
+                    parentArcs[neighbor] = arc;
+                    vertexQueue.offer(neighbor, lengthOnThisRoute + estimate(neighbor, target));
+                }
+            }
+        }
+        return new Route(source, target, DijkstraShortestPaths.UNREACHABLE, new int[0], settledCount);
+    }
+
+    private int estimate(int vertex, int target) {
+        return (int) (scale * Math.hypot(xs[vertex] - xs[target], ys[vertex] - ys[target]));
+    }
+
+    private int[] pathArcs(int target) {
+        var arcs = new IntBag();
+        for (int arc = parentArcs[target]; arc >= 0; arc = parentArcs[graph.arcSource(arc)]) {
+            arcs.add(arc);
+        }
+        return reversed(arcs.toArray());
+    }
+
+    static int[] reversed(int[] values) {
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,116 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Setter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * headless all-pairs shortest paths engine on a CsrGraph: Dijkstra is run from every source vertex in parallel by the
+ * workers of an own ForkJoinPool. Each worker allocates its workspace once - a Dijkstra engine (queue and settled marks)
+ * and a route length row - and takes the next source from a shared counter until all are done, so the load is balanced
+ * without any per-source allocation. Negative weights are handled by the Johnson reweighting (one Bellman-Ford pass
+ * shared by all workers). The rows are stored in a DistanceMatrix (on the heap or memory-mapped, depending on its
+ * size).
+ */
+public class AllPairsShortestPaths implements AutoCloseable {
+
+    private final CsrGraph graph;
+    private final ForkJoinPool pool;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public AllPairsShortestPaths(CsrGraph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    public AllPairsShortestPaths(CsrGraph graph, int parallelism) {
+        this.graph = graph;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * calculate the route lengths between all pairs of vertices into a new DistanceMatrix of the size needed.
+     * @throws NegativeCycleException if the graph has a negative cycle
+     */
+    public DistanceMatrix distances() throws IOException {
+        var matrix = DistanceMatrix.create(graph.getVertexCount());
+        try {
+            return distances(matrix);
+        } catch (RuntimeException e) {
+            matrix.close();
+            throw e;
+        }
+    }
+
+    /**
+     * calculate the route lengths between all pairs of vertices into the given matrix.
+     * @return the given matrix
+     * @throws NegativeCycleException if the graph has a negative cycle
+     */
+    public DistanceMatrix distances(DistanceMatrix matrix) {
+        int vertexCount = graph.getVertexCount();
+        var johnson = new JohnsonShortestPaths(graph);
+        var nextSource = new AtomicInteger();
+        var doneCount = new AtomicInteger();
+        var workers = IntStream.range(0, Math.min(pool.getParallelism(), Math.max(1, vertexCount)))
+                .mapToObj(worker -> pool.submit(() -> {
+                    var engine = johnson.copy();
+                    var routeLengths = new int[vertexCount];
+                    for (int source = nextSource.getAndIncrement(); source < vertexCount;
+                         source = nextSource.getAndIncrement()) {
+                        matrix.setRow(source, engine.routeLengthsFrom(source, routeLengths));
+                        progress.report(doneCount.incrementAndGet(), vertexCount);
+                    }
+                }))
+                .toList();
+        RuntimeException failure = null;
+        for (Future<?> worker : workers) {
+            var workerFailure = join(worker, nextSource);
+            if (failure == null) {
+                failure = workerFailure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return matrix;
+    }
+
+    /**
+     * wait for the worker - a failing (e.g. cancelled) worker stops the others by exhausting the source counter. All
+     * workers are waited for, before the first failure is rethrown, so none writes to the matrix after it is closed.
+     * @return the failure of the worker - or null, if it completed
+     */
+    private RuntimeException join(Future<?> worker, AtomicInteger nextSource) {
+        RuntimeException interruption = null;
+        try {
+            while (true) {
+                try {
+                    worker.get();
+                    return interruption;
+                } catch (ExecutionException e) {
+                    nextSource.set(graph.getVertexCount());
+                    return e.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException : new IllegalStateException(e.getCause());
+                } catch (InterruptedException e) {
+                    nextSource.set(graph.getVertexCount());
+                    interruption = new IllegalStateException("all-pairs calculation interrupted", e);
+                }
+            }
+        } finally {
+            if (interruption != null) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,64 @@
+package de.cofinpro.visualizer.graph;
+
+/**
+ * headless placement of vertex centers for graphs without coordinates inside a rectangle, keeping a margin to the
+ * borders. Small graphs are placed on a circle. Larger graphs are placed row by row in serpentine order on a grid,
+ * in BFS order of their components - so neighbors mostly end up close to each other - in linear time. Only the levels
+ * matter here, so the BFS runs direction-optimizing.
+ */
+public final class AutoLayout {
+
+    private AutoLayout() {
+    }
+
+    /**
+     * calculate vertex centers for all vertices of the graph.
+     * @return array of the two coordinate arrays {x, y} indexed by vertex id
+     */
+    public static int[][] place(CsrGraph graph, int width, int height, int margin) {
+        int vertexCount = graph.getVertexCount();
+        var x = new int[vertexCount];
+        var y = new int[vertexCount];
+        int usableWidth = Math.max(1, width - 2 * margin);
+        int usableHeight = Math.max(1, height - 2 * margin);
+        double radius = Math.min(usableWidth, usableHeight) / 2.0;
+        if (vertexCount <= 2 * Math.PI * radius / (3 * margin)) {
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                double angle = 2 * Math.PI * vertex / vertexCount;
+                x[vertex] = margin + (int) Math.round(usableWidth / 2.0 + radius * Math.sin(angle));
+                y[vertex] = margin + (int) Math.round(usableHeight / 2.0 - radius * Math.cos(angle));
+            }
+        } else {
+            int columns = Math.max(1, (int) Math.ceil(Math.sqrt((double) vertexCount * usableWidth / usableHeight)));
+            int rows = (vertexCount + columns - 1) / columns;
+            double cellWidth = (double) usableWidth / columns;
+            double cellHeight = (double) usableHeight / Math.max(1, rows);
+            int cell = 0;
+            for (int vertex : bfsOrderOfAllComponents(graph)) {
+                int row = cell / columns;
+                int column = row % 2 == 0 ? cell % columns : columns - 1 - cell % columns;
+                x[vertex] = margin + (int) ((column + 0.5) * cellWidth);
+                y[vertex] = margin + (int) ((row + 0.5) * cellHeight);
+                cell++;
+            }
+        }
+        return new int[][] {x, y};
+    }
+
+    private static int[] bfsOrderOfAllComponents(CsrGraph graph) {
+        var order = new int[graph.getVertexCount()];
+        var placed = new boolean[graph.getVertexCount()];
+        var traversal = new BreadthFirstTraversal(graph);
+        int count = 0;
+        for (int start = 0; start < graph.getVertexCount(); start++) {
+            if (!placed[start]) {
+                traversal.search(start, BreadthFirstTraversal.Mode.DIRECTION_OPTIMIZING);
+                for (int vertex : traversal.getVisitOrder()) {
+                    placed[vertex] = true;
+                    order[count++] = vertex;
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,222 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * headless shortest path engine on a CsrGraph, that allows negative weights: a queue-based Bellman-Ford (SPFA) in
+ * synchronous rounds. Each round relaxes the arcs of the vertices improved in the round before (the frontier) - small
+ * frontiers in the calling thread, big ones split into chunks, that are relaxed in parallel by the common pool. The
+ * route length and parent arc of a vertex are packed into one long, which is lowered by CAS, so both always belong
+ * together. A vertex is queued at most once per round (claimed by stamping the round).
+ * <p>
+ * A negative cycle is detected by a cycle in the parent arcs: the parent graph is checked in the rounds, that are a
+ * power of two (so the checks cost at most as much as the rounds), and in every round after the vertex count rounds,
+ * after which no route can improve without a negative cycle. The cycle found is reported by a NegativeCycleException.
+ * Without it the engine also calculates the potentials for the Johnson reweighting (routes from a virtual source).
+ */
+public class BellmanFordShortestPaths {
+
+    public static final int UNREACHABLE = DijkstraShortestPaths.UNREACHABLE;
+    public static final int NO_ARC = -1;
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 12;
+    private static final int CHUNK_LENGTH = 1 << 10;
+    private static final int NO_VERTEX = -1;
+    private static final int NOT_WALKED = -1;
+
+    private final CsrGraph graph;
+    /**
+     * route length (high int) and parent arc (low int) per vertex.
+     */
+    private final AtomicLongArray labels;
+    /**
+     * the round, in which a vertex was queued for the next round, per vertex.
+     */
+    private final AtomicIntegerArray queuedRounds;
+    @Setter
+    private int sequentialThreshold = DEFAULT_SEQUENTIAL_THRESHOLD;
+    @Setter
+    private Progress progress = Progress.NONE;
+    @Getter
+    private int roundCount = 0;
+
+    public BellmanFordShortestPaths(CsrGraph graph) {
+        this.graph = graph;
+        this.labels = new AtomicLongArray(graph.getVertexCount());
+        this.queuedRounds = new AtomicIntegerArray(graph.getVertexCount());
+    }
+
+    /**
+     * calculate the shortest route lengths from the given source to all vertices.
+     * @return array of route lengths indexed by vertex id - UNREACHABLE for vertices not connected to the source
+     * @throws NegativeCycleException if a negative cycle is reachable from the source
+     */
+    public int[] routeLengthsFrom(int source) {
+        reset(UNREACHABLE);
+        labels.set(source, label(0, NO_ARC));
+        search(new int[]{source}, 1);
+        return getRouteLengths();
+    }
+
+    /**
+     * calculate the potentials of the Johnson reweighting: the shortest route lengths from a virtual source, that is
+     * connected to every vertex by an arc of weight 0 (so they are 0 or negative).
+     * @throws NegativeCycleException if the graph has a negative cycle
+     */
+    public int[] potentials() {
+        reset(0);
+        search(IntStream.range(0, graph.getVertexCount()).toArray(), graph.getVertexCount());
+        return getRouteLengths();
+    }
+
+    /**
+     * @return the route lengths of the last search indexed by vertex id
+     */
+    public int[] getRouteLengths() {
+        var routeLengths = new int[labels.length()];
+        for (int vertex = 0; vertex < routeLengths.length; vertex++) {
+            routeLengths[vertex] = routeLength(labels.get(vertex));
+        }
+        return routeLengths;
+    }
+
+    /**
+     * @return the CSR arc, by which a vertex is reached on its shortest route, indexed by vertex id - NO_ARC for the
+     * source and unreachable vertices
+     */
+    public int[] getParentArcs() {
+        var parentArcs = new int[labels.length()];
+        for (int vertex = 0; vertex < parentArcs.length; vertex++) {
+            parentArcs[vertex] = parentArc(labels.get(vertex));
+        }
+        return parentArcs;
+    }
+
+    private void reset(int routeLength) {
+        for (int vertex = 0; vertex < labels.length(); vertex++) {
+            labels.set(vertex, label(routeLength, NO_ARC));
+            queuedRounds.set(vertex, 0);
+        }
+    }
+
+    private void search(int[] frontier, int frontierSize) {
+        int vertexCount = graph.getVertexCount();
+        for (roundCount = 1; frontierSize > 0; roundCount++) {
+            int round = roundCount;
+            var next = frontierSize < sequentialThreshold
+                    ? relax(frontier, 0, frontierSize, round)
+                    : relaxParallel(frontier, frontierSize, round);
+            frontier = next.toArray();
+            frontierSize = frontier.length;
+            progress.report(round, vertexCount);
+            if (frontierSize > 0 && (round >= vertexCount || Integer.bitCount(round) == 1)) {
+                var cycleArcs = findCycle(frontier);
+                if (cycleArcs.length > 0) {
+                    throw new NegativeCycleException(cycleArcs);
+                }
+            }
+        }
+    }
+
+    private IntBag relaxParallel(int[] frontier, int frontierSize, int round) {
+        int chunkCount = (frontierSize + CHUNK_LENGTH - 1) / CHUNK_LENGTH;
+        var chunkQueues = IntStream.range(0, chunkCount).parallel()
+                .mapToObj(chunk -> relax(frontier, chunk * CHUNK_LENGTH,
+                        Math.min(frontierSize, (chunk + 1) * CHUNK_LENGTH), round))
+                .toList();
+        var next = new IntBag();
+        chunkQueues.forEach(chunkQueue -> chunkQueue.forEach(next::add));
+        return next;
+    }
+
+    /**
+     * relax the arcs of the frontier vertices in the given range.
+     * @return the vertices improved and claimed for the next round
+     */
+    private IntBag relax(int[] frontier, int from, int to, int round) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        var next = new IntBag();
+        for (int i = from; i < to; i++) {
+            int vertex = frontier[i];
+            int routeLength = routeLength(labels.get(vertex));
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int target = targets[arc];
+                if (lower(target, routeLength + weights[arc], arc) && queuedRounds.getAndSet(target, round) != round) {
+                    next.add(target);
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * lower the route length of the vertex by CAS, if the given one is shorter.
+     */
+    private boolean lower(int vertex, int routeLength, int parentArc) {
+        long current = labels.get(vertex);
+        while (routeLength < routeLength(current)) {
+            if (labels.compareAndSet(vertex, current, label(routeLength, parentArc))) {
+                return true;
+            }
+            current = labels.get(vertex);
+        }
+        return false;
+    }
+
+    /**
+     * search a cycle in the parent arcs by walking up from the given vertices - each vertex is walked once.
+     * @return the arcs of the cycle in route order - empty, if there is none
+     */
+    private int[] findCycle(int[] starts) {
+        var walks = new int[labels.length()];
+        Arrays.fill(walks, NOT_WALKED);
+        for (int start : starts) {
+            int vertex = start;
+            while (vertex != NO_VERTEX && walks[vertex] == NOT_WALKED) {
+                walks[vertex] = start;
+                int arc = parentArc(labels.get(vertex));
+                vertex = arc == NO_ARC ? NO_VERTEX : graph.arcSource(arc);
+            }
+            if (vertex != NO_VERTEX && walks[vertex] == start) {
+                return cycleArcs(vertex);
+            }
+        }
+        return new int[0];
+    }
+
+    private int[] cycleArcs(int cycleVertex) {
+        var arcs = new IntBag();
+        int vertex = cycleVertex;
+        do {
+            int arc = parentArc(labels.get(vertex));
+            arcs.add(arc);
+            vertex = graph.arcSource(arc);
+        } while (vertex != cycleVertex);
+        var cycleArcs = arcs.toArray();
+        for (int i = 0, j = cycleArcs.length - 1; i < j; i++, j--) {
+            int arc = cycleArcs[i];
+            cycleArcs[i] = cycleArcs[j];
+            cycleArcs[j] = arc;
+        }
+        return cycleArcs;
+    }
+
+    private static long label(int routeLength, int parentArc) {
+        return (long) routeLength << 32 | parentArc & 0xffffffffL;
+    }
+
+    private static int routeLength(long label) {
+        return (int) (label >> 32);
+    }
+
+    private static int parentArc(long label) {
+        return (int) label;
+    }
+}
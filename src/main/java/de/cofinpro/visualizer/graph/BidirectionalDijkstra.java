@@ -0,0 +1,154 @@
+package de.cofinpro.visualizer.graph;
+
+import de.cofinpro.visualizer.graph.heap.IndexedDaryHeap;
+import de.cofinpro.visualizer.graph.heap.IntPriorityQueue;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * headless bidirectional Dijkstra engine for point-to-point shortest routes on a CsrGraph: a forward search from the
+ * source and a backward search from the target (on the transposed graph) settle vertices alternately - the side with
+ * the smaller queue first. Every arc relaxed into a vertex reached by the other side is a candidate route; the search
+ * stops, when the route lengths of the vertices settled last on both sides add up to the best candidate. Per-vertex
+ * state is valid by EpochMarks only, so a query touches only the vertices it reaches.
+ */
+public class BidirectionalDijkstra {
+
+    private static final int NO_ARC = -1;
+
+    @Getter
+    private final CsrGraph graph;
+    private final Side forward;
+    private final Side backward;
+    @Setter
+    private Progress progress = Progress.NONE;
+    private long bestLength;
+    private int bestArc;
+    private Side bestSide;
+
+    public BidirectionalDijkstra(CsrGraph graph) {
+        if (graph.hasNegativeWeight()) {
+            throw new IllegalArgumentException("Dijkstra needs non-negative weights");
+        }
+        this.graph = graph;
+        this.forward = new Side(graph);
+        this.backward = new Side(graph.transpose());
+    }
+
+    /**
+     * find a shortest route from source to target.
+     */
+    public Route route(int source, int target) {
+        forward.start(source);
+        backward.start(target);
+        bestLength = Long.MAX_VALUE;
+        bestArc = NO_ARC;
+        int settledCount = 0;
+        if (source == target) {
+            return new Route(source, target, 0, new int[0], 1);
+        }
+        while (!forward.queue.isEmpty() && !backward.queue.isEmpty()) {
+            var side = forward.queue.size() <= backward.queue.size() ? forward : backward;
+            var other = side == forward ? backward : forward;
+            int vertex = side.settleNext();
+            progress.step(++settledCount, graph.getVertexCount());
+            if ((long) forward.lastSettledLength + backward.lastSettledLength >= bestLength) {
+                break;
+            }
+            relax(side, other, vertex);
+        }
+        if (bestArc == NO_ARC) {
+            return new Route(source, target, DijkstraShortestPaths.UNREACHABLE, new int[0], settledCount);
+        }
+        return new Route(source, target, (int) bestLength, pathArcs(), settledCount);
+    }
+
+    private void relax(Side side, Side other, int vertex) {
+        int[] offsets = side.graph.getOffsets();
+        int[] targets = side.graph.getTargets();
+        int[] weights = side.graph.getWeights();
+        for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+            int neighbor = targets[arc];
+            int lengthOnThisRoute = side.routeLengths[vertex] + weights[arc];
+            if (!side.settled.isMarked(neighbor)
+                    && (!side.reached.isMarked(neighbor) || lengthOnThisRoute < side.routeLengths[neighbor])) {
+                side.reach(neighbor, lengthOnThisRoute, arc);
+            }
+            if (other.reached.isMarked(neighbor)
+                    && (long) lengthOnThisRoute + other.routeLengths[neighbor] < bestLength) {
+                bestLength = (long) lengthOnThisRoute + other.routeLengths[neighbor];
+                bestArc = arc;
+                bestSide = side;
+            }
+        }
+    }
+
+    /**
+     * the route via the best arc: the forward tree's route to the arc's (original) source, the arc, and the backward
+     * tree's route from its (original) target - backward arcs are mapped to the original arcs by their arc ids.
+     */
+    private int[] pathArcs() {
+        int arc = bestSide == forward ? bestArc : backward.graph.getArcIds()[bestArc];
+        var arcs = new IntBag();
+        for (int parentArc = forward.parentArcs[graph.arcSource(arc)]; parentArc != NO_ARC;
+             parentArc = forward.parentArcs[graph.arcSource(parentArc)]) {
+            arcs.add(parentArc);
+        }
+        var path = new IntBag();
+        for (int forwardArc : AStarShortestPath.reversed(arcs.toArray())) {
+            path.add(forwardArc);
+        }
+        path.add(arc);
+        for (int vertex = graph.getTargets()[arc]; backward.parentArcs[vertex] != NO_ARC;
+             vertex = graph.getTargets()[path.get(path.size() - 1)]) {
+            path.add(backward.graph.getArcIds()[backward.parentArcs[vertex]]);
+        }
+        return path.toArray();
+    }
+
+    /**
+     * the state of one search direction.
+     */
+    private static class Side {
+
+        private final CsrGraph graph;
+        private final IntPriorityQueue queue;
+        private final int[] routeLengths;
+        private final int[] parentArcs;
+        private final EpochMarks reached;
+        private final EpochMarks settled;
+        private int lastSettledLength;
+
+        Side(CsrGraph graph) {
+            int vertexCount = graph.getVertexCount();
+            this.graph = graph;
+            queue = new IndexedDaryHeap(vertexCount);
+            routeLengths = new int[vertexCount];
+            parentArcs = new int[vertexCount];
+            reached = new EpochMarks(vertexCount);
+            settled = new EpochMarks(vertexCount);
+        }
+
+        void start(int vertex) {
+            queue.clear();
+            reached.clear();
+            settled.clear();
+            lastSettledLength = 0;
+            reach(vertex, 0, NO_ARC);
+        }
+
+        void reach(int vertex, int routeLength, int parentArc) {
+            reached.mark(vertex);
+            routeLengths[vertex] = routeLength;
+            parentArcs[vertex] = parentArc;
+            queue.offer(vertex, routeLength);
+        }
+
+        int settleNext() {
+            int vertex = queue.poll();
+            settled.mark(vertex);
+            lastSettledLength = routeLengths[vertex];
+            return vertex;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package de.cofinpro.visualizer.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * headless engine for Boruvka's algorithm on a CsrGraph, parallelized by the common pool: in each round every
+ * component selects its cheapest outgoing edge in parallel (a CAS minimum of the packed keys (weight, arc) per
+ * component, so ties are broken consistently and no cycle can be selected), the selected edges are merged by
+ * DisjointSets, and the edges inside components are dropped by a parallel filter. As the number of components at least
+ * halves per round, there are at most log V rounds. The edges are sorted once by Arrays.parallelSort on their keys,
+ * so the edges of a round are added by weight.
+ */
+public class BoruvkaSpanningTree extends SpanningForest {
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    public BoruvkaSpanningTree(CsrGraph graph) {
+        super(graph);
+    }
+
+    @Override
+    protected int[] findForest() {
+        int vertexCount = graph.getVertexCount();
+        int[] arcSources = arcSources();
+        int[] targets = graph.getTargets();
+        long[] keys = edgeKeys();
+        Arrays.parallelSort(keys);
+        var components = new DisjointSets(vertexCount);
+        int[] componentOf = IntStream.range(0, vertexCount).toArray();
+        var cheapestKeys = new AtomicLongArray(vertexCount);
+        var forestArcs = new int[Math.max(0, vertexCount - 1)];
+        int forestArcCount = 0;
+        int round = 0;
+        while (keys.length > 0) {
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                if (componentOf[vertex] == vertex) {
+                    cheapestKeys.set(vertex, NONE);
+                }
+            }
+            long[] roundKeys = keys;
+            IntStream.range(0, roundKeys.length).parallel().forEach(i -> {
+                int arc = arc(roundKeys[i]);
+                lower(cheapestKeys, componentOf[arcSources[arc]], roundKeys[i]);
+                lower(cheapestKeys, componentOf[targets[arc]], roundKeys[i]);
+            });
+            long[] selectedKeys = selectedKeys(cheapestKeys, componentOf);
+            for (long key : selectedKeys) {
+                int arc = arc(key);
+                if (components.union(arcSources[arc], targets[arc])) {
+                    forestArcs[forestArcCount++] = arc;
+                }
+            }
+            Arrays.parallelSetAll(componentOf, components::findRoot);
+            keys = Arrays.stream(keys).parallel()
+                    .filter(key -> componentOf[arcSources[arc(key)]] != componentOf[targets[arc(key)]])
+                    .toArray();
+            progress.report(++round, forestArcs.length);
+        }
+        return Arrays.copyOf(forestArcs, forestArcCount);
+    }
+
+    /**
+     * the cheapest edge keys selected by the components (an edge may be selected by both its components) sorted.
+     */
+    private static long[] selectedKeys(AtomicLongArray cheapestKeys, int[] componentOf) {
+        var selectedKeys = new long[componentOf.length];
+        int selectedCount = 0;
+        for (int vertex = 0; vertex < componentOf.length; vertex++) {
+            if (componentOf[vertex] == vertex && cheapestKeys.get(vertex) != NONE) {
+                selectedKeys[selectedCount++] = cheapestKeys.get(vertex);
+            }
+        }
+        selectedKeys = Arrays.copyOf(selectedKeys, selectedCount);
+        Arrays.parallelSort(selectedKeys);
+        return selectedKeys;
+    }
+
+    private static void lower(AtomicLongArray cheapestKeys, int component, long key) {
+        long current = cheapestKeys.get(component);
+        while (key < current && !cheapestKeys.compareAndSet(component, current, key)) {
+            current = cheapestKeys.get(component);
+        }
+    }
+}
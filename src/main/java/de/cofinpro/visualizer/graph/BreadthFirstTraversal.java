@@ -0,0 +1,217 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+
+/**
+ * headless, queue-based breadth-first traversal on a CsrGraph. Visited marks are kept in a long[] bitset and all
+ * working arrays are allocated once per engine, so a search allocates nothing per level and runs in time linear to
+ * the part of the graph reached (also the reset of the previous run only touches the vertices it reached).
+ * The queue holds the discovered vertices level by level - the current frontier is a contiguous range of it.
+ * <p>
+ * In TOP_DOWN mode the frontier vertices expand their arcs in queue order, which yields the tree arcs in the exact
+ * level order of the visualizer's playback. The DIRECTION_OPTIMIZING mode switches to bottom-up steps for large
+ * frontiers (every unvisited vertex looks for any parent in the frontier and stops at the first one found), which
+ * saves most arc scans on low-diameter graphs. It computes the same levels, but possibly other parents and no tree
+ * arcs. A bottom-up step finds parents among the targets of a vertex' arcs, which are its in-neighbors only in a
+ * symmetric graph - on a directed graph (checked once per engine) the mode falls back to top-down steps.
+ */
+public class BreadthFirstTraversal {
+
+    public enum Mode {
+        TOP_DOWN,
+        DIRECTION_OPTIMIZING
+    }
+
+    public static final int UNREACHED = -1;
+    /**
+     * switch to bottom-up, when the frontier's arcs exceed 1/ALPHA of the arcs of the still unvisited vertices.
+     */
+    private static final int ALPHA = 14;
+    /**
+     * switch back to top-down, when the frontier shrinks below 1/BETA of all vertices.
+     */
+    private static final int BETA = 24;
+
+    private final CsrGraph graph;
+    private final long[] visited;
+    private final long[] frontier;
+    private final int[] queue;
+    @Getter
+    private final int[] levels;
+    @Getter
+    private final int[] parents;
+    private final int[] treeArcs;
+    private int treeArcCount = 0;
+    @Getter
+    private int reachedCount = 0;
+    private Boolean symmetric;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public BreadthFirstTraversal(CsrGraph graph) {
+        this.graph = graph;
+        int vertexCount = graph.getVertexCount();
+        visited = new long[(vertexCount + 63) >>> 6];
+        frontier = new long[visited.length];
+        queue = new int[vertexCount];
+        levels = new int[vertexCount];
+        parents = new int[vertexCount];
+        treeArcs = new int[Math.max(0, vertexCount - 1)];
+        Arrays.fill(levels, UNREACHED);
+        Arrays.fill(parents, UNREACHED);
+    }
+
+    /**
+     * perform a top-down BFS from the given start vertex.
+     * @return the CSR arc indices of the BFS tree in the order the vertices are discovered
+     */
+    public int[] traverse(int start) {
+        search(start, Mode.TOP_DOWN);
+        return Arrays.copyOf(treeArcs, treeArcCount);
+    }
+
+    /**
+     * perform a BFS from the given start vertex in the given mode, which fills levels and parents of all reached
+     * vertices (the start vertex has no parent).
+     * @return the number of reached vertices
+     */
+    public int search(int start, Mode mode) {
+        boolean directionOptimizing = mode == Mode.DIRECTION_OPTIMIZING && isSymmetric();
+        clearPreviousRun();
+        markVisited(start);
+        levels[start] = 0;
+        queue[0] = start;
+        int levelStart = 0;
+        int levelEnd = 1;
+        long unexploredArcs = graph.getArcCount() - (long) graph.degree(start);
+        boolean bottomUp = false;
+        for (int level = 1; levelStart < levelEnd; level++) {
+            if (directionOptimizing) {
+                bottomUp = bottomUp
+                        ? levelEnd - levelStart >= graph.getVertexCount() / BETA
+                        : frontierArcs(levelStart, levelEnd) > unexploredArcs / ALPHA;
+            }
+            int nextLevelEnd = bottomUp
+                    ? stepBottomUp(levelStart, levelEnd, level)
+                    : stepTopDown(levelStart, levelEnd, level, mode == Mode.TOP_DOWN);
+            for (int i = levelEnd; i < nextLevelEnd; i++) {
+                unexploredArcs -= graph.degree(queue[i]);
+            }
+            levelStart = levelEnd;
+            levelEnd = nextLevelEnd;
+            reachedCount = levelEnd;
+            progress.report(levelEnd, graph.getVertexCount());
+        }
+        reachedCount = levelEnd;
+        return reachedCount;
+    }
+
+    /**
+     * return the reached vertices of the last search in BFS order (grouped by level).
+     */
+    public int[] getVisitOrder() {
+        return Arrays.copyOf(queue, reachedCount);
+    }
+
+    private boolean isSymmetric() {
+        if (symmetric == null) {
+            symmetric = graph.isSymmetric();
+        }
+        return symmetric;
+    }
+
+    public boolean isVisited(int vertex) {
+        return (visited[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    private void markVisited(int vertex) {
+        visited[vertex >>> 6] |= 1L << vertex;
+    }
+
+    private void clearPreviousRun() {
+        for (int i = 0; i < reachedCount; i++) {
+            int vertex = queue[i];
+            visited[vertex >>> 6] = 0L;
+            levels[vertex] = UNREACHED;
+            parents[vertex] = UNREACHED;
+        }
+        reachedCount = 0;
+        treeArcCount = 0;
+    }
+
+    private long frontierArcs(int levelStart, int levelEnd) {
+        long arcs = 0;
+        for (int i = levelStart; i < levelEnd; i++) {
+            arcs += graph.degree(queue[i]);
+        }
+        return arcs;
+    }
+
+    /**
+     * expand all arcs of the frontier in queue order and append undiscovered targets to the queue.
+     * @return the end of the next level in the queue
+     */
+    private int stepTopDown(int levelStart, int levelEnd, int level, boolean recordTreeArcs) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int tail = levelEnd;
+        for (int i = levelStart; i < levelEnd; i++) {
+            int vertex = queue[i];
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int target = targets[arc];
+                if (!isVisited(target)) {
+                    markVisited(target);
+                    levels[target] = level;
+                    parents[target] = vertex;
+                    if (recordTreeArcs) {
+                        treeArcs[treeArcCount++] = arc;
+                    }
+                    queue[tail++] = target;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * let every unvisited vertex (found by scanning the inverted visited bitset word by word) search its arcs for a
+     * vertex in the frontier bitset - the first one found becomes its parent.
+     * @return the end of the next level in the queue
+     */
+    private int stepBottomUp(int levelStart, int levelEnd, int level) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        for (int i = levelStart; i < levelEnd; i++) {
+            frontier[queue[i] >>> 6] |= 1L << queue[i];
+        }
+        int tail = levelEnd;
+        int vertexCount = graph.getVertexCount();
+        for (int word = 0; word < visited.length; word++) {
+            long unvisited = ~visited[word];
+            while (unvisited != 0) {
+                int vertex = (word << 6) + Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                if (vertex >= vertexCount) {
+                    break;
+                }
+                for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                    int candidate = targets[arc];
+                    if ((frontier[candidate >>> 6] & (1L << candidate)) != 0) {
+                        markVisited(vertex);
+                        levels[vertex] = level;
+                        parents[vertex] = candidate;
+                        queue[tail++] = vertex;
+                        break;
+                    }
+                }
+            }
+        }
+        for (int i = levelStart; i < levelEnd; i++) {
+            frontier[queue[i] >>> 6] = 0L;
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,45 @@
+package de.cofinpro.visualizer.graph;
+
+import java.util.Arrays;
+
+/**
+ * component labels of a graph's vertices: the component number of every vertex id, where the components are numbered
+ * 0 .. count - 1 in the order of their smallest vertex id - so the labels do not depend on the engine or on thread
+ * scheduling.
+ */
+public record Components(int count, int[] labels) {
+
+    /**
+     * label the components of the graph: the connected components of a symmetric (undirected) graph by the parallel
+     * ConnectedComponents, the strongly connected components of a directed graph by the
+     * StronglyConnectedComponents.
+     */
+    public static Components of(CsrGraph graph, Progress progress) {
+        if (graph.isSymmetric()) {
+            var engine = new ConnectedComponents(graph);
+            engine.setProgress(progress);
+            return engine.components();
+        }
+        var engine = new StronglyConnectedComponents(graph);
+        engine.setProgress(progress);
+        return engine.components();
+    }
+
+    /**
+     * renumber the given labels (each in [0, number of vertices), e.g. a representative vertex per component) in the
+     * order of the components' smallest vertex.
+     */
+    static Components normalized(int[] rawLabels) {
+        var numbers = new int[rawLabels.length];
+        Arrays.fill(numbers, -1);
+        var labels = new int[rawLabels.length];
+        int count = 0;
+        for (int vertex = 0; vertex < rawLabels.length; vertex++) {
+            if (numbers[rawLabels[vertex]] < 0) {
+                numbers[rawLabels[vertex]] = count++;
+            }
+            labels[vertex] = numbers[rawLabels[vertex]];
+        }
+        return new Components(count, labels);
+    }
+}
@@ -0,0 +1,96 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Setter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * headless engine for the connected components of a symmetric (undirected) CsrGraph by a lock-free concurrent
+ * union-find: the edges are united in parallel by the common pool (each worker taking blocks of vertices from a shared
+ * counter), a root is linked below the smaller root by a CAS on its parent - which fails and is retried, if another
+ * thread changed it first. As a parent never has a larger id than its child, no cycles can arise. Finds halve the
+ * paths they walk by CAS, too. The labelling runs in near linear time: every edge is united once, every vertex found
+ * once.
+ */
+public class ConnectedComponents {
+
+    private static final int BLOCK_SIZE = 1 << 12;
+
+    private final CsrGraph graph;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public ConnectedComponents(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    public Components components() {
+        int vertexCount = graph.getVertexCount();
+        var parents = new AtomicIntegerArray(vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            parents.set(vertex, vertex);
+        }
+        var nextBlock = new AtomicInteger();
+        var united = new AtomicInteger();
+        int workers = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), vertexCount / BLOCK_SIZE));
+        IntStream.range(0, workers).parallel().forEach(worker -> {
+            int start;
+            while ((start = nextBlock.getAndAdd(BLOCK_SIZE)) < vertexCount) {
+                int end = Math.min(start + BLOCK_SIZE, vertexCount);
+                uniteEdges(parents, start, end);
+                progress.report(united.addAndGet(end - start), vertexCount);
+            }
+        });
+        var roots = new int[vertexCount];
+        IntStream.range(0, vertexCount).parallel().forEach(vertex -> roots[vertex] = find(parents, vertex));
+        return Components.normalized(roots);
+    }
+
+    /**
+     * unite the end vertices of the edges of the given vertex range (each edge on its arc from the smaller vertex).
+     */
+    private void uniteEdges(AtomicIntegerArray parents, int start, int end) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        for (int vertex = start; vertex < end; vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                if (vertex < targets[arc]) {
+                    unite(parents, vertex, targets[arc]);
+                }
+            }
+        }
+    }
+
+    private static void unite(AtomicIntegerArray parents, int first, int second) {
+        while (true) {
+            int firstRoot = find(parents, first);
+            int secondRoot = find(parents, second);
+            if (firstRoot == secondRoot) {
+                return;
+            }
+            int larger = Math.max(firstRoot, secondRoot);
+            if (parents.compareAndSet(larger, larger, Math.min(firstRoot, secondRoot))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * find the current root of the element and let each element on the path point to its grandparent.
+     */
+    private static int find(AtomicIntegerArray parents, int element) {
+        while (true) {
+            int parent = parents.get(element);
+            if (parent == element) {
+                return element;
+            }
+            int grandparent = parents.get(parent);
+            if (grandparent != parent) {
+                parents.compareAndSet(element, parent, grandparent);
+            }
+            element = grandparent;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * contraction hierarchy of an undirected CsrGraph, as built by the ContractionHierarchyBuilder and queried by the
+ * ContractionHierarchyQuery. It consists of the original edges and the shortcuts added by the contraction - each
+ * shortcut knows its two child edges (which may be shortcuts themselves), so a route can be unpacked to original edges.
+ * Every edge is stored in the upward adjacency of its endpoint contracted first, which is all a query searches.
+ * The hierarchy refers to vertex ids only (not to CSR arcs), and it carries an order independent fingerprint of the
+ * graph's edges: so it can be persisted next to a graph file and checked to match the graph read again.
+ */
+public class ContractionHierarchy {
+
+    public static final int NO_EDGE = -1;
+    public static final String FILE_EXTENSION = "ch";
+    private static final int MAGIC = 0x43480001;
+
+    @Getter
+    private final int vertexCount;
+    @Getter
+    private final long fingerprint;
+    final int[] edgeFirsts;
+    final int[] edgeSeconds;
+    final int[] edgeWeights;
+    /**
+     * the child edges of a shortcut: the first one connects the edge's first vertex with the contracted middle vertex,
+     * the second one the middle vertex with the edge's second vertex - NO_EDGE for original edges.
+     */
+    final int[] firstChildren;
+    final int[] secondChildren;
+    final int[] upOffsets;
+    final int[] upEdges;
+
+    ContractionHierarchy(int vertexCount, long fingerprint, int[] edgeFirsts, int[] edgeSeconds, int[] edgeWeights,
+                         int[] firstChildren, int[] secondChildren, int[] upOffsets, int[] upEdges) {
+        this.vertexCount = vertexCount;
+        this.fingerprint = fingerprint;
+        this.edgeFirsts = edgeFirsts;
+        this.edgeSeconds = edgeSeconds;
+        this.edgeWeights = edgeWeights;
+        this.firstChildren = firstChildren;
+        this.secondChildren = secondChildren;
+        this.upOffsets = upOffsets;
+        this.upEdges = upEdges;
+    }
+
+    public int getEdgeCount() {
+        return edgeFirsts.length;
+    }
+
+    public int getShortcutCount() {
+        int shortcuts = 0;
+        for (int child : firstChildren) {
+            if (child != NO_EDGE) {
+                shortcuts++;
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * whether the hierarchy was built on a graph with the same vertex count and the same edges as the given one.
+     */
+    public boolean matches(CsrGraph graph) {
+        return graph.getVertexCount() == vertexCount && fingerprint(graph) == fingerprint;
+    }
+
+    /**
+     * hash of the graph's edges (end vertices and weight), that does not depend on the order of edges or arcs.
+     */
+    public static long fingerprint(CsrGraph graph) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        long fingerprint = graph.getVertexCount();
+        for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                if (vertex < targets[arc]) {
+                    fingerprint += mix(((long) vertex << 32 | targets[arc]) * 0x9E3779B97F4A7C15L + weights[arc]);
+                }
+            }
+        }
+        return fingerprint;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * the path of the hierarchy file persisted next to the given graph file.
+     */
+    public static Path pathNextTo(Path graphPath) {
+        return graphPath.resolveSibling(graphPath.getFileName() + "." + FILE_EXTENSION);
+    }
+
+    public void write(Path path) throws IOException {
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(vertexCount);
+            output.writeLong(fingerprint);
+            output.writeInt(edgeFirsts.length);
+            for (int[] values : new int[][]{edgeFirsts, edgeSeconds, edgeWeights, firstChildren, secondChildren,
+                    upOffsets, upEdges}) {
+                for (int value : values) {
+                    output.writeInt(value);
+                }
+            }
+        }
+    }
+
+    public static ContractionHierarchy read(Path path) throws IOException {
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("no contraction hierarchy file: " + path);
+            }
+            int vertexCount = input.readInt();
+            long fingerprint = input.readLong();
+            int edgeCount = input.readInt();
+            if (vertexCount < 0 || edgeCount < 0) {
+                throw new IOException("corrupt contraction hierarchy file: " + path);
+            }
+            int[] edgeFirsts = readInts(input, edgeCount);
+            int[] edgeSeconds = readInts(input, edgeCount);
+            int[] edgeWeights = readInts(input, edgeCount);
+            int[] firstChildren = readInts(input, edgeCount);
+            int[] secondChildren = readInts(input, edgeCount);
+            int[] upOffsets = readInts(input, vertexCount + 1);
+            if (upOffsets[vertexCount] < 0 || upOffsets[vertexCount] > edgeCount) {
+                throw new IOException("corrupt contraction hierarchy file: " + path);
+            }
+            return new ContractionHierarchy(vertexCount, fingerprint, edgeFirsts, edgeSeconds, edgeWeights,
+                    firstChildren, secondChildren, upOffsets, readInts(input, upOffsets[vertexCount]));
+        }
+    }
+
+    private static int[] readInts(DataInputStream input, int count) throws IOException {
+        var values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = input.readInt();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,323 @@
+package de.cofinpro.visualizer.graph;
+
+import de.cofinpro.visualizer.graph.heap.IndexedDaryHeap;
+import de.cofinpro.visualizer.graph.heap.IntPriorityQueue;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * headless preprocessing of a ContractionHierarchy on an undirected CsrGraph with non-negative weights. The vertices
+ * are contracted one by one: contracting a vertex removes it from the remaining graph and adds a shortcut between two
+ * of its neighbors, unless a witness search (a Dijkstra from the one neighbor, that avoids the vertex and settles at
+ * most WITNESS_SETTLE_LIMIT vertices) finds a route between them, that is not longer than the one via the vertex.
+ * The order is given by the priority of a vertex: its edge difference (shortcuts needed minus edges removed) plus the
+ * number of its neighbors contracted before, so the contraction spreads evenly over the graph. The priorities of all
+ * vertices are first simulated in parallel - each worker with its own witness search workspace, taking blocks of
+ * vertices from a shared counter. Later on they are updated for the neighbors of each vertex contracted and lazily:
+ * a vertex polled with an outdated (too low) priority is queued again.
+ */
+public class ContractionHierarchyBuilder {
+
+    private static final int WITNESS_SETTLE_LIMIT = 64;
+    private static final int BLOCK_SIZE = 256;
+    private static final int NO_EDGE = ContractionHierarchy.NO_EDGE;
+
+    private final CsrGraph graph;
+    private final int vertexCount;
+    private final IntBag[] incidentEdges;
+    private final boolean[] contracted;
+    private final int[] contractedNeighbors;
+    private int[] edgeFirsts;
+    private int[] edgeSeconds;
+    private int[] edgeWeights;
+    private int[] firstChildren;
+    private int[] secondChildren;
+    private int edgeCount = 0;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public ContractionHierarchyBuilder(CsrGraph graph) {
+        if (graph.hasNegativeWeight()) {
+            throw new IllegalArgumentException("contraction hierarchies need non-negative weights");
+        }
+        this.graph = graph;
+        this.vertexCount = graph.getVertexCount();
+        incidentEdges = new IntBag[vertexCount];
+        Arrays.setAll(incidentEdges, vertex -> new IntBag());
+        contracted = new boolean[vertexCount];
+        contractedNeighbors = new int[vertexCount];
+        int capacity = Math.max(16, graph.getArcCount());
+        edgeFirsts = new int[capacity];
+        edgeSeconds = new int[capacity];
+        edgeWeights = new int[capacity];
+        firstChildren = new int[capacity];
+        secondChildren = new int[capacity];
+    }
+
+    /**
+     * contract all vertices and collect the edges and shortcuts in a ContractionHierarchy. The progress counts the
+     * simulated vertices first, then the contracted ones (of twice the vertex count).
+     */
+    public ContractionHierarchy build() {
+        addOriginalEdges();
+        int[] priorities = simulatePriorities();
+        var queue = new IndexedDaryHeap(vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            queue.offer(vertex, priorities[vertex]);
+        }
+        var workspace = new Workspace();
+        int[] ranks = new int[vertexCount];
+        int rank = 0;
+        while (!queue.isEmpty()) {
+            int vertex = queue.poll();
+            int priority = priority(vertex, workspace);
+            if (priority > priorities[vertex]) {
+                priorities[vertex] = priority;
+                queue.offer(vertex, priority);
+                continue;
+            }
+            contract(vertex, workspace);
+            ranks[vertex] = rank++;
+            progress.step(vertexCount + rank, 2 * vertexCount);
+            for (int i = 0; i < workspace.formerNeighbors.size(); i++) {
+                int neighbor = workspace.formerNeighbors.get(i);
+                int neighborPriority = priority(neighbor, workspace);
+                if (neighborPriority < priorities[neighbor]) {
+                    priorities[neighbor] = neighborPriority;
+                    queue.offer(neighbor, neighborPriority);
+                }
+            }
+        }
+        return freeze(ranks);
+    }
+
+    private void addOriginalEdges() {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                if (vertex < targets[arc]) {
+                    addEdge(vertex, targets[arc], weights[arc], NO_EDGE, NO_EDGE);
+                }
+            }
+        }
+    }
+
+    private void addEdge(int first, int second, int weight, int firstChild, int secondChild) {
+        if (edgeCount == edgeFirsts.length) {
+            int capacity = 2 * edgeCount;
+            edgeFirsts = Arrays.copyOf(edgeFirsts, capacity);
+            edgeSeconds = Arrays.copyOf(edgeSeconds, capacity);
+            edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            secondChildren = Arrays.copyOf(secondChildren, capacity);
+        }
+        edgeFirsts[edgeCount] = first;
+        edgeSeconds[edgeCount] = second;
+        edgeWeights[edgeCount] = weight;
+        firstChildren[edgeCount] = firstChild;
+        secondChildren[edgeCount] = secondChild;
+        incidentEdges[first].add(edgeCount);
+        incidentEdges[second].add(edgeCount++);
+    }
+
+    private int other(int edge, int vertex) {
+        return edgeFirsts[edge] == vertex ? edgeSeconds[edge] : edgeFirsts[edge];
+    }
+
+    /**
+     * the initial priorities of all vertices, simulated by one worker per processor.
+     */
+    private int[] simulatePriorities() {
+        int[] priorities = new int[vertexCount];
+        var nextBlock = new AtomicInteger();
+        var simulated = new AtomicInteger();
+        int workers = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), vertexCount / BLOCK_SIZE));
+        IntStream.range(0, workers).parallel().forEach(worker -> {
+            var workspace = new Workspace();
+            int start;
+            while ((start = nextBlock.getAndAdd(BLOCK_SIZE)) < vertexCount) {
+                int end = Math.min(start + BLOCK_SIZE, vertexCount);
+                for (int vertex = start; vertex < end; vertex++) {
+                    priorities[vertex] = priority(vertex, workspace);
+                }
+                progress.report(simulated.addAndGet(end - start), 2 * vertexCount);
+            }
+        });
+        return priorities;
+    }
+
+    /**
+     * the priority of an uncontracted vertex: the edge difference of its simulated contraction plus the number of
+     * neighbors contracted before.
+     */
+    private int priority(int vertex, Workspace workspace) {
+        int shortcuts = workspace.findShortcuts(vertex);
+        return shortcuts - workspace.neighbors.size() + contractedNeighbors[vertex];
+    }
+
+    /**
+     * add the shortcuts needed for the vertex (as found by computing its priority with the workspace just before) and
+     * remove it from the remaining graph. The workspace keeps the former neighbors for their priority updates.
+     */
+    private void contract(int vertex, Workspace workspace) {
+        var shortcuts = workspace.shortcuts;
+        for (int i = 0; i < shortcuts.size(); i += 2) {
+            int firstEdge = shortcuts.get(i);
+            int secondEdge = shortcuts.get(i + 1);
+            addEdge(other(firstEdge, vertex), other(secondEdge, vertex),
+                    edgeWeights[firstEdge] + edgeWeights[secondEdge], firstEdge, secondEdge);
+        }
+        contracted[vertex] = true;
+        workspace.formerNeighbors.clear();
+        for (int i = 0; i < workspace.neighbors.size(); i++) {
+            int neighbor = workspace.neighbors.get(i);
+            incidentEdges[neighbor].removeIf(edge -> other(edge, neighbor) == vertex);
+            contractedNeighbors[neighbor]++;
+            workspace.formerNeighbors.add(neighbor);
+        }
+        incidentEdges[vertex] = null;
+    }
+
+    /**
+     * store every edge in the upward adjacency of its endpoint contracted first (self loops are dropped).
+     */
+    private ContractionHierarchy freeze(int[] ranks) {
+        int[] upOffsets = new int[vertexCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            if (edgeFirsts[edge] != edgeSeconds[edge]) {
+                upOffsets[lower(edge, ranks) + 1]++;
+            }
+        }
+        Arrays.parallelPrefix(upOffsets, Integer::sum);
+        int[] upEdges = new int[upOffsets[vertexCount]];
+        int[] positions = Arrays.copyOf(upOffsets, vertexCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            if (edgeFirsts[edge] != edgeSeconds[edge]) {
+                upEdges[positions[lower(edge, ranks)]++] = edge;
+            }
+        }
+        return new ContractionHierarchy(vertexCount, ContractionHierarchy.fingerprint(graph),
+                Arrays.copyOf(edgeFirsts, edgeCount), Arrays.copyOf(edgeSeconds, edgeCount),
+                Arrays.copyOf(edgeWeights, edgeCount), Arrays.copyOf(firstChildren, edgeCount),
+                Arrays.copyOf(secondChildren, edgeCount), upOffsets, upEdges);
+    }
+
+    private int lower(int edge, int[] ranks) {
+        return ranks[edgeFirsts[edge]] < ranks[edgeSeconds[edge]] ? edgeFirsts[edge] : edgeSeconds[edge];
+    }
+
+    /**
+     * the per worker state of the shortcut search: the neighbors of the vertex to contract (each by its lightest
+     * edge), the witness Dijkstra's route lengths and queue, and the pairs of edges found to need a shortcut.
+     */
+    private class Workspace {
+
+        private final IntBag neighbors = new IntBag();
+        private final IntBag formerNeighbors = new IntBag();
+        private final IntBag shortcuts = new IntBag();
+        private final int[] neighborEdges = new int[vertexCount];
+        private final EpochMarks isNeighbor = new EpochMarks(vertexCount);
+        private final int[] routeLengths = new int[vertexCount];
+        private final EpochMarks reached = new EpochMarks(vertexCount);
+        private final EpochMarks settled = new EpochMarks(vertexCount);
+        private final EpochMarks pendingTargets = new EpochMarks(vertexCount);
+        private final IntPriorityQueue queue = new IndexedDaryHeap(vertexCount);
+
+        /**
+         * collect the neighbors of the vertex and the pairs of their edges (in shortcuts), that need a shortcut.
+         * @return the number of shortcuts needed
+         */
+        int findShortcuts(int vertex) {
+            collectNeighbors(vertex);
+            shortcuts.clear();
+            for (int i = 0; i < neighbors.size(); i++) {
+                int source = neighbors.get(i);
+                int sourceWeight = edgeWeights[neighborEdges[source]];
+                int maxLength = 0;
+                for (int j = i + 1; j < neighbors.size(); j++) {
+                    maxLength = Math.max(maxLength, sourceWeight + edgeWeights[neighborEdges[neighbors.get(j)]]);
+                }
+                if (i + 1 < neighbors.size()) {
+                    searchWitnesses(source, vertex, maxLength, i + 1);
+                }
+                for (int j = i + 1; j < neighbors.size(); j++) {
+                    int target = neighbors.get(j);
+                    int viaLength = sourceWeight + edgeWeights[neighborEdges[target]];
+                    if (!reached.isMarked(target) || routeLengths[target] > viaLength) {
+                        shortcuts.add(neighborEdges[source]);
+                        shortcuts.add(neighborEdges[target]);
+                    }
+                }
+            }
+            return shortcuts.size() / 2;
+        }
+
+        private void collectNeighbors(int vertex) {
+            neighbors.clear();
+            isNeighbor.clear();
+            var edges = incidentEdges[vertex];
+            for (int i = 0; i < edges.size(); i++) {
+                int edge = edges.get(i);
+                int neighbor = other(edge, vertex);
+                if (neighbor == vertex || contracted[neighbor]) {
+                    continue;
+                }
+                if (!isNeighbor.isMarked(neighbor)) {
+                    isNeighbor.mark(neighbor);
+                    neighbors.add(neighbor);
+                    neighborEdges[neighbor] = edge;
+                } else if (edgeWeights[edge] < edgeWeights[neighborEdges[neighbor]]) {
+                    neighborEdges[neighbor] = edge;
+                }
+            }
+        }
+
+        /**
+         * the witness Dijkstra from the source in the remaining graph without the avoided vertex to the neighbors from
+         * the given index on - up to the given route length and WITNESS_SETTLE_LIMIT vertices settled, and only until
+         * all of these targets are settled. Vertices beyond the route length are not even queued (a target left
+         * unreached needs its shortcut anyway), nor are settled ones offered again - so the queue stays small.
+         */
+        private void searchWitnesses(int source, int avoided, int maxLength, int firstTarget) {
+            reached.clear();
+            settled.clear();
+            pendingTargets.clear();
+            for (int j = firstTarget; j < neighbors.size(); j++) {
+                pendingTargets.mark(neighbors.get(j));
+            }
+            int pendingCount = neighbors.size() - firstTarget;
+            reached.mark(source);
+            routeLengths[source] = 0;
+            queue.offer(source, 0);
+            int settledCount = 0;
+            while (!queue.isEmpty() && settledCount++ < WITNESS_SETTLE_LIMIT) {
+                int vertex = queue.poll();
+                settled.mark(vertex);
+                if (pendingTargets.isMarked(vertex) && --pendingCount == 0) {
+                    break;
+                }
+                int length = routeLengths[vertex];
+                var edges = incidentEdges[vertex];
+                for (int i = 0; i < edges.size(); i++) {
+                    int edge = edges.get(i);
+                    int next = other(edge, vertex);
+                    if (next == avoided || contracted[next] || settled.isMarked(next)) {
+                        continue;
+                    }
+                    int nextLength = length + edgeWeights[edge];
+                    if (nextLength <= maxLength && (!reached.isMarked(next) || nextLength < routeLengths[next])) {
+                        reached.mark(next);
+                        routeLengths[next] = nextLength;
+                        queue.offer(next, nextLength);
+                    }
+                }
+            }
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package de.cofinpro.visualizer.graph;
+
+import de.cofinpro.visualizer.graph.heap.IndexedDaryHeap;
+import de.cofinpro.visualizer.graph.heap.IntPriorityQueue;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * headless point-to-point query engine on a ContractionHierarchy: a Dijkstra from the source and one from the target,
+ * both only along upward edges (towards vertices contracted later), settled alternately. Each search stops as soon as
+ * its next vertex is not closer than the best route found, where both searches met - which is a shortest route, as it
+ * always leads up to its highest vertex and down again. The route found is unpacked by replacing each shortcut by its
+ * child edges, and mapped to the CSR arcs of the graph. Per-vertex state is valid by EpochMarks only, so a query
+ * touches only the vertices it settles - the engine is reused for any number of queries, but not thread safe.
+ */
+public class ContractionHierarchyQuery {
+
+    private static final int NO_VERTEX = -1;
+    private static final int NO_EDGE = ContractionHierarchy.NO_EDGE;
+
+    @Getter
+    private final ContractionHierarchy hierarchy;
+    @Getter
+    private final CsrGraph graph;
+    private final Side forward;
+    private final Side backward;
+    @Setter
+    private Progress progress = Progress.NONE;
+    private long bestLength;
+    private int meetingVertex;
+    private int settledCount;
+
+    /**
+     * @throws IllegalArgumentException if the hierarchy was not built on the given graph
+     */
+    public ContractionHierarchyQuery(ContractionHierarchy hierarchy, CsrGraph graph) {
+        if (!hierarchy.matches(graph)) {
+            throw new IllegalArgumentException("contraction hierarchy was not built on this graph");
+        }
+        this.hierarchy = hierarchy;
+        this.graph = graph;
+        this.forward = new Side(graph.getVertexCount());
+        this.backward = new Side(graph.getVertexCount());
+    }
+
+    /**
+     * @return the length of a shortest route from source to target - UNREACHABLE, if they are not connected
+     */
+    public int distance(int source, int target) {
+        search(source, target);
+        return meetingVertex == NO_VERTEX ? DijkstraShortestPaths.UNREACHABLE : (int) bestLength;
+    }
+
+    /**
+     * find a shortest route from source to target and unpack it to CSR arcs.
+     */
+    public Route route(int source, int target) {
+        search(source, target);
+        if (meetingVertex == NO_VERTEX) {
+            return new Route(source, target, DijkstraShortestPaths.UNREACHABLE, new int[0], settledCount);
+        }
+        return new Route(source, target, (int) bestLength, unpack(source, target), settledCount);
+    }
+
+    private void search(int source, int target) {
+        forward.start(source);
+        backward.start(target);
+        bestLength = Long.MAX_VALUE;
+        meetingVertex = NO_VERTEX;
+        settledCount = 0;
+        boolean forwardTurn = true;
+        while (!forward.queue.isEmpty() || !backward.queue.isEmpty()) {
+            if (forwardTurn && !forward.queue.isEmpty() || backward.queue.isEmpty()) {
+                settle(forward, backward);
+            } else {
+                settle(backward, forward);
+            }
+            forwardTurn = !forwardTurn;
+        }
+    }
+
+    /**
+     * settle the next vertex of the one search: check it as meeting point with the other search and relax its
+     * upward edges - or stop the search, if the vertex is not closer than the best route.
+     */
+    private void settle(Side side, Side other) {
+        int vertex = side.queue.poll();
+        int length = side.routeLengths[vertex];
+        if (length >= bestLength) {
+            side.queue.clear();
+            return;
+        }
+        progress.step(++settledCount, graph.getVertexCount());
+        if (other.reached.isMarked(vertex) && (long) length + other.routeLengths[vertex] < bestLength) {
+            bestLength = (long) length + other.routeLengths[vertex];
+            meetingVertex = vertex;
+        }
+        for (int slot = hierarchy.upOffsets[vertex]; slot < hierarchy.upOffsets[vertex + 1]; slot++) {
+            int edge = hierarchy.upEdges[slot];
+            int next = other(edge, vertex);
+            int nextLength = length + hierarchy.edgeWeights[edge];
+            if (!side.reached.isMarked(next) || nextLength < side.routeLengths[next]) {
+                side.reached.mark(next);
+                side.routeLengths[next] = nextLength;
+                side.parentEdges[next] = edge;
+                side.queue.offer(next, nextLength);
+            }
+        }
+    }
+
+    private int other(int edge, int vertex) {
+        return hierarchy.edgeFirsts[edge] == vertex ? hierarchy.edgeSeconds[edge] : hierarchy.edgeFirsts[edge];
+    }
+
+    /**
+     * the CSR arcs of the route via the meeting vertex: the hierarchy edges of both searches in route order, each
+     * unpacked depth first with an explicit stack of (vertex the edge is entered from, edge) pairs.
+     */
+    private int[] unpack(int source, int target) {
+        var downPairs = new IntBag();
+        for (int vertex = meetingVertex; vertex != target; vertex = other(backward.parentEdges[vertex], vertex)) {
+            downPairs.add(vertex);
+            downPairs.add(backward.parentEdges[vertex]);
+        }
+        var stack = new IntBag();
+        for (int i = downPairs.size() - 2; i >= 0; i -= 2) {
+            push(stack, downPairs.get(i), downPairs.get(i + 1));
+        }
+        for (int vertex = meetingVertex; vertex != source; vertex = other(forward.parentEdges[vertex], vertex)) {
+            push(stack, other(forward.parentEdges[vertex], vertex), forward.parentEdges[vertex]);
+        }
+        var arcs = new IntBag();
+        while (!stack.isEmpty()) {
+            int edge = stack.removeLast();
+            int from = stack.removeLast();
+            int firstChild = hierarchy.firstChildren[edge];
+            if (firstChild == NO_EDGE) {
+                arcs.add(arcBetween(from, other(edge, from), hierarchy.edgeWeights[edge]));
+                continue;
+            }
+            int secondChild = hierarchy.secondChildren[edge];
+            int middle = other(firstChild, hierarchy.edgeFirsts[edge]);
+            if (from == hierarchy.edgeFirsts[edge]) {
+                push(stack, middle, secondChild);
+                push(stack, from, firstChild);
+            } else {
+                push(stack, middle, firstChild);
+                push(stack, from, secondChild);
+            }
+        }
+        return arcs.toArray();
+    }
+
+    private static void push(IntBag stack, int from, int edge) {
+        stack.add(from);
+        stack.add(edge);
+    }
+
+    /**
+     * the CSR arc of the given weight from one vertex to the other - the lightest one, if none has that weight.
+     */
+    private int arcBetween(int from, int to, int weight) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int lightest = NO_EDGE;
+        for (int arc = offsets[from]; arc < offsets[from + 1]; arc++) {
+            if (targets[arc] == to) {
+                if (weights[arc] == weight) {
+                    return arc;
+                }
+                if (lightest == NO_EDGE || weights[arc] < weights[lightest]) {
+                    lightest = arc;
+                }
+            }
+        }
+        return lightest;
+    }
+
+    /**
+     * the state of one of the two upward searches.
+     */
+    private static class Side {
+
+        private final int[] routeLengths;
+        private final int[] parentEdges;
+        private final EpochMarks reached;
+        private final IntPriorityQueue queue;
+
+        Side(int vertexCount) {
+            routeLengths = new int[vertexCount];
+            parentEdges = new int[vertexCount];
+            reached = new EpochMarks(vertexCount);
+            queue = new IndexedDaryHeap(vertexCount);
+        }
+
+        void start(int vertex) {
+            queue.clear();
+            reached.clear();
+            reached.mark(vertex);
+            routeLengths[vertex] = 0;
+            parentEdges[vertex] = NO_EDGE;
+            queue.offer(vertex, 0);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * headless, int-indexed graph core in compressed sparse row (CSR) layout. The arcs leaving vertex v are stored in the
+ * index range [offsets[v], offsets[v + 1]) of the primitive arrays targets, weights and arcIds. Instances are immutable
+ * snapshots - the exposed arrays are shared for fast algorithm loops and must never be modified by callers.
+ * An undirected edge is represented by two arcs, one in each direction.
+ */
+@Getter
+public final class CsrGraph {
+
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    /**
+     * external id per arc, by which a view adapter (like the GraphModel) maps an arc back to its own edge objects.
+     */
+    private final int[] arcIds;
+
+    private CsrGraph(int vertexCount, int[] offsets, int[] targets, int[] weights, int[] arcIds) {
+        this.vertexCount = vertexCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.arcIds = arcIds;
+    }
+
+    public static Builder builder(int expectedVertexCount) {
+        return new Builder(expectedVertexCount, 16);
+    }
+
+    /**
+     * create a builder with initial arc capacity - to avoid repeated array growth on bulk loads of known size.
+     */
+    public static Builder builder(int expectedVertexCount, int expectedArcCount) {
+        return new Builder(expectedVertexCount, Math.max(16, expectedArcCount));
+    }
+
+    public int getArcCount() {
+        return targets.length;
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * find the twin of an arc added by Builder.addEdge: the arc of the same edge in reverse direction (arc id ^ 1),
+     * searched among the arcs of the target vertex.
+     * @return the CSR index of the twin arc - or -1 for a directed arc without twin
+     */
+    public int twinArc(int arc) {
+        int target = targets[arc];
+        int twinId = arcIds[arc] ^ 1;
+        for (int twin = offsets[target]; twin < offsets[target + 1]; twin++) {
+            if (arcIds[twin] == twinId) {
+                return twin;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * create the transposed graph (every arc reversed), e.g. for searches towards a target. The arc ids of the
+     * transposed graph are the CSR indices of the original arcs.
+     */
+    public CsrGraph transpose() {
+        var builder = builder(vertexCount, targets.length);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                builder.addArc(targets[arc], vertex, weights[arc], arc);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * check, if any arc has a negative weight - which Dijkstra cannot handle.
+     */
+    public boolean hasNegativeWeight() {
+        for (int weight : weights) {
+            if (weight < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * check, if every arc is matched by an arc in reverse direction - as is the case for graphs built by
+     * Builder.addEdge only, whose reachability is symmetric. Two counting sorts in linear time give the sources of the
+     * arcs into each vertex and the targets of the arcs out of it, both in ascending order - which must be equal.
+     */
+    public boolean isSymmetric() {
+        var inOffsets = new int[vertexCount + 1];
+        for (int target : targets) {
+            inOffsets[target + 1]++;
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            inOffsets[vertex + 1] += inOffsets[vertex];
+            if (inOffsets[vertex + 1] != offsets[vertex + 1]) {
+                return false;
+            }
+        }
+        var sources = new int[targets.length];
+        var slots = Arrays.copyOf(inOffsets, vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                sources[slots[targets[arc]]++] = vertex;
+            }
+        }
+        var sortedTargets = new int[targets.length];
+        System.arraycopy(offsets, 0, slots, 0, vertexCount);
+        for (int target = 0; target < vertexCount; target++) {
+            for (int slot = inOffsets[target]; slot < inOffsets[target + 1]; slot++) {
+                sortedTargets[slots[sources[slot]]++] = target;
+            }
+        }
+        return Arrays.equals(sources, sortedTargets);
+    }
+
+    /**
+     * create a snapshot of the same structure (sharing its arrays) with other arc weights, e.g. reweighted ones.
+     * @param arcWeights the weight per CSR arc
+     */
+    public CsrGraph withWeights(int[] arcWeights) {
+        if (arcWeights.length != targets.length) {
+            throw new IllegalArgumentException("expected %d arc weights, got %d".formatted(targets.length,
+                    arcWeights.length));
+        }
+        return new CsrGraph(vertexCount, offsets, targets, arcWeights, arcIds);
+    }
+
+    /**
+     * find the source vertex of the given CSR arc by binary search over the offsets.
+     */
+    public int arcSource(int arc) {
+        int low = 0;
+        int high = vertexCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= arc) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * builder that collects arcs in insertion order and creates the CSR arrays by a stable counting sort - so the arcs
+     * of each vertex keep the order in which they were added.
+     */
+    public static final class Builder {
+
+        private int vertexCount;
+        private int arcCount = 0;
+        private int[] sources;
+        private int[] targets;
+        private int[] weights;
+        private int[] arcIds;
+
+        private Builder(int expectedVertexCount, int arcCapacity) {
+            this.vertexCount = expectedVertexCount;
+            sources = new int[arcCapacity];
+            targets = new int[arcCapacity];
+            weights = new int[arcCapacity];
+            arcIds = new int[arcCapacity];
+        }
+
+        /**
+         * add an undirected edge as two arcs with the arc ids 2 * edgeId (from first to second) and 2 * edgeId + 1.
+         */
+        public Builder addEdge(int first, int second, int weight, int edgeId) {
+            addArc(first, second, weight, 2 * edgeId);
+            return addArc(second, first, weight, 2 * edgeId + 1);
+        }
+
+        /**
+         * add a single directed arc with given external id.
+         */
+        public Builder addArc(int source, int target, int weight, int arcId) {
+            if (source < 0 || target < 0) {
+                throw new IllegalArgumentException("negative vertex id in arc %d -> %d".formatted(source, target));
+            }
+            if (arcCount == sources.length) {
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, arcCount * 2L);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                arcIds = Arrays.copyOf(arcIds, capacity);
+            }
+            sources[arcCount] = source;
+            targets[arcCount] = target;
+            weights[arcCount] = weight;
+            arcIds[arcCount++] = arcId;
+            vertexCount = Math.max(vertexCount, Math.max(source, target) + 1);
+            return this;
+        }
+
+        /**
+         * raise the vertex count to at least the given one - for isolated vertices beyond the last arc's end points.
+         */
+        public Builder ensureVertexCount(int minimumVertexCount) {
+            vertexCount = Math.max(vertexCount, minimumVertexCount);
+            return this;
+        }
+
+        public CsrGraph build() {
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < arcCount; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] position = Arrays.copyOf(offsets, vertexCount);
+            int[] csrTargets = new int[arcCount];
+            int[] csrWeights = new int[arcCount];
+            int[] csrArcIds = new int[arcCount];
+            for (int i = 0; i < arcCount; i++) {
+                int slot = position[sources[i]]++;
+                csrTargets[slot] = targets[i];
+                csrWeights[slot] = weights[i];
+                csrArcIds[slot] = arcIds[i];
+            }
+            return new CsrGraph(vertexCount, offsets, csrTargets, csrWeights, csrArcIds);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+
+/**
+ * headless, iterative depth-first traversal on a CsrGraph, that records the tree arcs in the order of traversal.
+ * Instead of recursing per tree edge, it keeps an explicit int stack of vertices and a per-vertex cursor into the
+ * vertex' arc range, so even path-shaped graphs of any depth are traversed without growing the thread's stack.
+ * Discovery and finish timestamps as well as the parent arc of each vertex are kept for reuse by further algorithms
+ * (e.g. cycle detection or topological ordering) - they are valid until the next traversal of this engine.
+ */
+public class DepthFirstTraversal {
+
+    public static final int UNVISITED = -1;
+
+    private final CsrGraph graph;
+    private final int[] stack;
+    private final int[] cursors;
+    @Getter
+    private final int[] discoveryTimes;
+    @Getter
+    private final int[] finishTimes;
+    @Getter
+    private final int[] parentArcs;
+    private final int[] treeArcs;
+    private int treeArcCount;
+    private int time;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public DepthFirstTraversal(CsrGraph graph) {
+        this.graph = graph;
+        int vertexCount = graph.getVertexCount();
+        stack = new int[vertexCount];
+        cursors = new int[vertexCount];
+        discoveryTimes = new int[vertexCount];
+        finishTimes = new int[vertexCount];
+        parentArcs = new int[vertexCount];
+        treeArcs = new int[Math.max(0, vertexCount - 1)];
+    }
+
+    /**
+     * perform a DFS from the given start vertex.
+     * @return the CSR arc indices of the DFS tree in the order of traversal
+     */
+    public int[] traverse(int start) {
+        reset();
+        search(start);
+        return Arrays.copyOf(treeArcs, treeArcCount);
+    }
+
+    /**
+     * perform DFS runs from all vertices in id order, that were not discovered by an earlier run (DFS forest).
+     * @return the CSR arc indices of the DFS forest in the order of traversal
+     */
+    public int[] traverseAll() {
+        reset();
+        for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+            if (discoveryTimes[vertex] == UNVISITED) {
+                search(vertex);
+            }
+        }
+        return Arrays.copyOf(treeArcs, treeArcCount);
+    }
+
+    private void reset() {
+        Arrays.fill(discoveryTimes, UNVISITED);
+        Arrays.fill(finishTimes, UNVISITED);
+        Arrays.fill(parentArcs, UNVISITED);
+        treeArcCount = 0;
+        time = 0;
+    }
+
+    /**
+     * the iterative search: the top vertex advances its cursor by one arc per step and either descends to an
+     * undiscovered target (pushing it) or is finished and popped, when its arcs are exhausted. This visits the
+     * vertices in exactly the order of the recursive formulation.
+     */
+    private void search(int start) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int top = 0;
+        discoveryTimes[start] = time++;
+        cursors[start] = offsets[start];
+        stack[top++] = start;
+        while (top > 0) {
+            int vertex = stack[top - 1];
+            if (cursors[vertex] < offsets[vertex + 1]) {
+                int arc = cursors[vertex]++;
+                int target = targets[arc];
+                if (discoveryTimes[target] == UNVISITED) {
+                    discoveryTimes[target] = time++;
+                    parentArcs[target] = arc;
+                    treeArcs[treeArcCount++] = arc;
+                    progress.step(treeArcCount, graph.getVertexCount());
+                    cursors[target] = offsets[target];
+                    stack[top++] = target;
+                }
+            } else {
+                finishTimes[vertex] = time++;
+                top--;
+            }
+        }
+    }
+}
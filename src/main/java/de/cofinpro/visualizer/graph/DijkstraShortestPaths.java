@@ -0,0 +1,81 @@
+package de.cofinpro.visualizer.graph;
+
+import de.cofinpro.visualizer.graph.heap.HeapCounters;
+import de.cofinpro.visualizer.graph.heap.HeapType;
+import de.cofinpro.visualizer.graph.heap.IntPriorityQueue;
+import lombok.Setter;
+
+import java.util.Arrays;
+
+/**
+ * headless Dijkstra engine on a CsrGraph, that calculates the shortest route lengths from a source vertex.
+ * The vertex queue is an addressable IntPriorityQueue of the heap type chosen, so every vertex is queued at most once
+ * and improvements are done by decrease-key instead of pushing stale duplicates. The settled vertices are kept in
+ * EpochMarks of the engine, so repeated runs (e.g. from all start vertices) do not reset per-vertex state.
+ */
+public class DijkstraShortestPaths {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final CsrGraph graph;
+    private final IntPriorityQueue vertexQueue;
+    private final EpochMarks settled;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public DijkstraShortestPaths(CsrGraph graph) {
+        this(graph, HeapType.DARY_HEAP);
+    }
+
+    public DijkstraShortestPaths(CsrGraph graph, HeapType heapType) {
+        this.graph = graph;
+        this.vertexQueue = heapType.create(graph.getVertexCount());
+        this.settled = new EpochMarks(graph.getVertexCount());
+    }
+
+    /**
+     * calculate the shortest route lengths from the given source to all vertices.
+     * @return array of route lengths indexed by vertex id - UNREACHABLE for vertices not connected to the source
+     */
+    public int[] routeLengthsFrom(int source) {
+        return routeLengthsFrom(source, new int[graph.getVertexCount()]);
+    }
+
+    /**
+     * calculate the shortest route lengths from the given source into the given (reused) array.
+     * @param routeLengths array of at least the graph's vertex count, that is overwritten
+     * @return the given array
+     */
+    public int[] routeLengthsFrom(int source, int[] routeLengths) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        Arrays.fill(routeLengths, UNREACHABLE);
+        settled.clear();
+        vertexQueue.clear();
+        routeLengths[source] = 0;
+        vertexQueue.offer(source, 0);
+        int settledCount = 0;
+        while (!vertexQueue.isEmpty()) {
+            int vertex = vertexQueue.poll();
+            settled.mark(vertex);
+            progress.step(++settledCount, graph.getVertexCount());
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int neighbor = targets[arc];
+                int lengthOnThisRoute = routeLengths[vertex] + weights[arc];
+                if (!settled.isMarked(neighbor) && lengthOnThisRoute < routeLengths[neighbor]) {
+                    routeLengths[neighbor] = lengthOnThisRoute;
+                    vertexQueue.offer(neighbor, lengthOnThisRoute);
+                }
+            }
+        }
+        return routeLengths;
+    }
+
+    /**
+     * the push, pop and decrease-key counters of the vertex queue - accumulated over all runs of this engine.
+     */
+    public HeapCounters getHeapCounters() {
+        return vertexQueue.getCounters();
+    }
+}
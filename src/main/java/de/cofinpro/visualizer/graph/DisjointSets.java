@@ -0,0 +1,64 @@
+package de.cofinpro.visualizer.graph;
+
+import java.util.Arrays;
+
+/**
+ * disjoint sets (union-find) of the ints 0 .. size - 1 in primitive arrays: find compresses the path it walks, union
+ * links the root of lower rank below the other. Not thread-safe, except that findRoot may be called concurrently as
+ * long as no union runs.
+ */
+public class DisjointSets {
+
+    private final int[] parents;
+    private final byte[] ranks;
+
+    public DisjointSets(int size) {
+        parents = new int[size];
+        ranks = new byte[size];
+        Arrays.setAll(parents, element -> element);
+    }
+
+    /**
+     * find the root of the element's set and let all elements on the path point to it.
+     */
+    public int find(int element) {
+        int root = findRoot(element);
+        while (parents[element] != root) {
+            int next = parents[element];
+            parents[element] = root;
+            element = next;
+        }
+        return root;
+    }
+
+    /**
+     * find the root of the element's set without changing anything.
+     */
+    public int findRoot(int element) {
+        while (parents[element] != element) {
+            element = parents[element];
+        }
+        return element;
+    }
+
+    /**
+     * unite the sets of both elements.
+     * @return false, if they were in the same set already
+     */
+    public boolean union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+        if (firstRoot == secondRoot) {
+            return false;
+        }
+        if (ranks[firstRoot] < ranks[secondRoot]) {
+            parents[firstRoot] = secondRoot;
+        } else {
+            parents[secondRoot] = firstRoot;
+            if (ranks[firstRoot] == ranks[secondRoot]) {
+                ranks[firstRoot]++;
+            }
+        }
+        return true;
+    }
+}
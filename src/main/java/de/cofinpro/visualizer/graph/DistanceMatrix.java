@@ -0,0 +1,62 @@
+package de.cofinpro.visualizer.graph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * compact V x V matrix of route lengths (row = source vertex, column = target vertex), as filled by the
+ * AllPairsShortestPaths engine: a distance query is a single lookup. Rows are written by the engine's workers
+ * concurrently (each row by one worker), reads happen after the matrix is complete. The matrix is kept on the heap, if
+ * it fits comfortably - otherwise in a memory-mapped temporary file, which is deleted on close.
+ */
+public interface DistanceMatrix extends AutoCloseable {
+
+    /**
+     * the share of the maximal heap size a heap matrix may use.
+     */
+    int HEAP_SHARE_DIVISOR = 4;
+
+    /**
+     * create a matrix for the given number of vertices - on the heap, if it takes at most a quarter of the maximal heap
+     * size, otherwise memory-mapped in the default temporary directory.
+     */
+    static DistanceMatrix create(int vertexCount) throws IOException {
+        long bytes = (long) vertexCount * vertexCount * Integer.BYTES;
+        if (bytes <= Runtime.getRuntime().maxMemory() / HEAP_SHARE_DIVISOR
+                && (long) vertexCount * vertexCount <= HeapDistanceMatrix.MAX_CELLS) {
+            return new HeapDistanceMatrix(vertexCount);
+        }
+        return new MappedDistanceMatrix(vertexCount, null);
+    }
+
+    /**
+     * create a memory-mapped matrix for the given number of vertices in a temporary file of the given directory (or
+     * the default temporary directory, if null).
+     */
+    static DistanceMatrix mapped(int vertexCount, Path directory) throws IOException {
+        return new MappedDistanceMatrix(vertexCount, directory);
+    }
+
+    int getVertexCount();
+
+    /**
+     * the route length from source to target - DijkstraShortestPaths.UNREACHABLE, if not connected.
+     */
+    int get(int source, int target);
+
+    /**
+     * @return a copy of the route lengths from the given source indexed by target vertex id
+     */
+    int[] getRow(int source);
+
+    /**
+     * store the route lengths from the given source (the first getVertexCount() values of the array).
+     */
+    void setRow(int source, int[] routeLengths);
+
+    /**
+     * release the storage - a mapped matrix deletes its file.
+     */
+    @Override
+    void close() throws IOException;
+}
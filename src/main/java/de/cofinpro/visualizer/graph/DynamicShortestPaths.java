@@ -0,0 +1,289 @@
+package de.cofinpro.visualizer.graph;
+
+import de.cofinpro.visualizer.graph.heap.IndexedDaryHeap;
+import de.cofinpro.visualizer.graph.heap.IntPriorityQueue;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+
+/**
+ * headless single-source shortest path engine, that keeps the shortest path tree of its source and repairs it on edge
+ * insertion, deletion and weight change in the style of Ramalingam and Reps - touching only the vertices, whose route
+ * length or tree parent may change, instead of rerunning Dijkstra on the whole graph:
+ * <ul>
+ *     <li>an insertion or weight decrease relaxes the edge and propagates the improvement Dijkstra-like from its end
+ *     vertex, as far as route lengths actually improve.</li>
+ *     <li>a deletion or weight increase of a tree edge invalidates the subtree below it (found by the tree parents),
+ *     seeds each subtree vertex with its best route from an unaffected neighbor and settles the subtree Dijkstra-like.
+ *     A non-tree edge does not change anything.</li>
+ * </ul>
+ * The engine keeps its own mutable adjacency (edge ids per vertex), initialized from a CsrGraph snapshot, whose arc ids
+ * are 2 * edge id (resp. + 1) - vertex and edge ids are the external ones, so vertices and edges may be added later.
+ * Weights must not be negative.
+ */
+public class DynamicShortestPaths {
+
+    public static final int UNREACHABLE = DijkstraShortestPaths.UNREACHABLE;
+    public static final int NO_EDGE = -1;
+    public static final int NO_VERTEX = -1;
+
+    private int[] routeLengths;
+    /**
+     * the edge id, by which a vertex is reached on its shortest route - NO_EDGE for the source and unreachable ones.
+     */
+    private int[] parentEdges;
+    private IntBag[] incidentEdges;
+    private int[] edgeFirsts = new int[16];
+    private int[] edgeSeconds = new int[16];
+    private int[] edgeWeights = new int[16];
+    private IntPriorityQueue vertexQueue;
+    private final EpochMarks affected;
+    private final IntBag affectedVertices = new IntBag();
+    @Getter
+    private int source = NO_VERTEX;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public DynamicShortestPaths(CsrGraph graph) {
+        int vertexCount = graph.getVertexCount();
+        routeLengths = new int[vertexCount];
+        parentEdges = new int[vertexCount];
+        incidentEdges = new IntBag[vertexCount];
+        affected = new EpochMarks(vertexCount);
+        vertexQueue = new IndexedDaryHeap(vertexCount);
+        Arrays.fill(edgeFirsts, NO_EDGE);
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int[] arcIds = graph.getArcIds();
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                if ((arcIds[arc] & 1) == 0) {
+                    checkWeight(weights[arc]);
+                    addEdge(arcIds[arc] / 2, vertex, targets[arc], weights[arc]);
+                }
+            }
+        }
+    }
+
+    /**
+     * calculate the shortest route lengths from the given source from scratch - the start of all later repairs.
+     * @return a copy of the route lengths indexed by vertex id - UNREACHABLE for vertices not connected to the source
+     */
+    public int[] routeLengthsFrom(int source) {
+        this.source = source;
+        Arrays.fill(routeLengths, UNREACHABLE);
+        Arrays.fill(parentEdges, NO_EDGE);
+        routeLengths[source] = 0;
+        vertexQueue.offer(source, 0);
+        settle();
+        return getRouteLengths();
+    }
+
+    /**
+     * @return a copy of the current route lengths indexed by vertex id
+     */
+    public int[] getRouteLengths() {
+        return routeLengths.clone();
+    }
+
+    /**
+     * @return a copy of the current route lengths of the given number of vertices (UNREACHABLE for those unknown)
+     */
+    public int[] getRouteLengths(int vertexCount) {
+        var copy = Arrays.copyOf(routeLengths, vertexCount);
+        if (vertexCount > routeLengths.length) {
+            Arrays.fill(copy, routeLengths.length, vertexCount, UNREACHABLE);
+        }
+        return copy;
+    }
+
+    public int getParentEdge(int vertex) {
+        return vertex < parentEdges.length ? parentEdges[vertex] : NO_EDGE;
+    }
+
+    /**
+     * insert an edge and propagate the route improvements it brings.
+     * @return the number of vertices, whose route changed
+     */
+    public int insertEdge(int edgeId, int first, int second, int weight) {
+        checkWeight(weight);
+        addEdge(edgeId, first, second, weight);
+        return relax(edgeId);
+    }
+
+    /**
+     * delete an edge - if it is a tree edge, the subtree below it is repaired.
+     * @return the number of vertices, whose route was recalculated
+     */
+    public int deleteEdge(int edgeId) {
+        int first = edgeFirsts[edgeId];
+        int second = edgeSeconds[edgeId];
+        incidentEdges[first].remove(edgeId);
+        if (second != first) {
+            incidentEdges[second].remove(edgeId);
+        }
+        edgeFirsts[edgeId] = NO_EDGE;
+        return repairBelow(edgeId, first, second);
+    }
+
+    /**
+     * change the weight of an edge: a decrease is propagated like an insertion, an increase of a tree edge repairs the
+     * subtree below it.
+     * @return the number of vertices, whose route changed resp. was recalculated
+     */
+    public int changeWeight(int edgeId, int weight) {
+        checkWeight(weight);
+        int oldWeight = edgeWeights[edgeId];
+        edgeWeights[edgeId] = weight;
+        if (weight < oldWeight) {
+            return relax(edgeId);
+        }
+        return weight > oldWeight ? repairBelow(edgeId, edgeFirsts[edgeId], edgeSeconds[edgeId]) : 0;
+    }
+
+    private static void checkWeight(int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("shortest paths need non-negative weights, but got " + weight);
+        }
+    }
+
+    private void addEdge(int edgeId, int first, int second, int weight) {
+        ensureVertexCapacity(Math.max(first, second) + 1);
+        if (edgeId >= edgeFirsts.length) {
+            int capacity = Math.max(edgeId + 1, 2 * edgeFirsts.length);
+            int oldCapacity = edgeFirsts.length;
+            edgeFirsts = Arrays.copyOf(edgeFirsts, capacity);
+            edgeSeconds = Arrays.copyOf(edgeSeconds, capacity);
+            edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            Arrays.fill(edgeFirsts, oldCapacity, capacity, NO_EDGE);
+        }
+        edgeFirsts[edgeId] = first;
+        edgeSeconds[edgeId] = second;
+        edgeWeights[edgeId] = weight;
+        incidentEdges(first).add(edgeId);
+        if (second != first) {
+            incidentEdges(second).add(edgeId);
+        }
+    }
+
+    private IntBag incidentEdges(int vertex) {
+        if (incidentEdges[vertex] == null) {
+            incidentEdges[vertex] = new IntBag();
+        }
+        return incidentEdges[vertex];
+    }
+
+    /**
+     * grow the per-vertex arrays for vertices added after the snapshot (they are unreachable until connected).
+     */
+    private void ensureVertexCapacity(int vertexCount) {
+        int oldCount = routeLengths.length;
+        if (vertexCount <= oldCount) {
+            return;
+        }
+        int capacity = Math.max(vertexCount, 2 * oldCount);
+        routeLengths = Arrays.copyOf(routeLengths, capacity);
+        parentEdges = Arrays.copyOf(parentEdges, capacity);
+        incidentEdges = Arrays.copyOf(incidentEdges, capacity);
+        Arrays.fill(routeLengths, oldCount, capacity, UNREACHABLE);
+        Arrays.fill(parentEdges, oldCount, capacity, NO_EDGE);
+        vertexQueue = new IndexedDaryHeap(capacity);
+    }
+
+    private int other(int edgeId, int vertex) {
+        return edgeFirsts[edgeId] == vertex ? edgeSeconds[edgeId] : edgeFirsts[edgeId];
+    }
+
+    /**
+     * relax the edge in both directions and settle the vertices, whose routes improve by it.
+     */
+    private int relax(int edgeId) {
+        offerVia(edgeId, edgeFirsts[edgeId]);
+        offerVia(edgeId, edgeSeconds[edgeId]);
+        return settle();
+    }
+
+    /**
+     * offer the other end of the edge with the route via the given vertex, if that is an improvement.
+     */
+    private void offerVia(int edgeId, int vertex) {
+        int target = other(edgeId, vertex);
+        if (routeLengths[vertex] != UNREACHABLE && routeLengths[vertex] + edgeWeights[edgeId] < routeLengths[target]) {
+            routeLengths[target] = routeLengths[vertex] + edgeWeights[edgeId];
+            parentEdges[target] = edgeId;
+            vertexQueue.offer(target, routeLengths[target]);
+        }
+    }
+
+    /**
+     * the Dijkstra loop on the queued vertices: their routes are final when polled, improvements of their neighbors
+     * are queued by decrease-key.
+     * @return the number of vertices settled
+     */
+    private int settle() {
+        int settledCount = 0;
+        while (!vertexQueue.isEmpty()) {
+            int vertex = vertexQueue.poll();
+            progress.step(++settledCount, routeLengths.length);
+            var edges = incidentEdges[vertex];
+            for (int i = 0; edges != null && i < edges.size(); i++) {
+                offerVia(edges.get(i), vertex);
+            }
+        }
+        return settledCount;
+    }
+
+    /**
+     * repair the subtree below the given (deleted or heavier) edge, if it is a tree edge: the subtree's routes are
+     * dropped, every subtree vertex is seeded with its best route from an unaffected neighbor, then settled.
+     */
+    private int repairBelow(int edgeId, int first, int second) {
+        int child = parentEdges[second] == edgeId ? second : parentEdges[first] == edgeId ? first : NO_VERTEX;
+        if (child == NO_VERTEX) {
+            return 0;
+        }
+        collectSubtree(child);
+        for (int i = 0; i < affectedVertices.size(); i++) {
+            int vertex = affectedVertices.get(i);
+            routeLengths[vertex] = UNREACHABLE;
+            parentEdges[vertex] = NO_EDGE;
+        }
+        for (int i = 0; i < affectedVertices.size(); i++) {
+            int vertex = affectedVertices.get(i);
+            var edges = incidentEdges[vertex];
+            for (int j = 0; edges != null && j < edges.size(); j++) {
+                int neighbor = other(edges.get(j), vertex);
+                if (!affected.isMarked(neighbor)) {
+                    offerVia(edges.get(j), neighbor);
+                }
+            }
+        }
+        settle();
+        return affectedVertices.size();
+    }
+
+    /**
+     * collect the vertices of the shortest path tree below (and including) the given vertex in affectedVertices: the
+     * children of a vertex are the neighbors, whose parent edge leads to it.
+     */
+    private void collectSubtree(int root) {
+        affected.clear();
+        affectedVertices.clear();
+        affected.mark(root);
+        affectedVertices.add(root);
+        for (int i = 0; i < affectedVertices.size(); i++) {
+            int vertex = affectedVertices.get(i);
+            var edges = incidentEdges[vertex];
+            for (int j = 0; edges != null && j < edges.size(); j++) {
+                int edgeId = edges.get(j);
+                int neighbor = other(edgeId, vertex);
+                if (parentEdges[neighbor] == edgeId && !affected.isMarked(neighbor)) {
+                    affected.mark(neighbor);
+                    affectedVertices.add(neighbor);
+                }
+            }
+        }
+    }
+}
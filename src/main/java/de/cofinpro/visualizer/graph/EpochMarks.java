@@ -0,0 +1,54 @@
+package de.cofinpro.visualizer.graph;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * set of int ids (e.g. the visited vertices of a run), that is cleared in O(1): an id is marked by stamping it with the
+ * current epoch, clearing starts a new epoch - so all older stamps are unmarked at once. Only on the (practically
+ * unreachable) overflow of the epoch the stamps are reset. Each run or owner keeps its own instance, so concurrent runs
+ * do not share any state. The stamp array grows with the ids marked.
+ */
+public class EpochMarks implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int UNMARKED = 0;
+
+    private int[] stamps;
+    private int epoch = 1;
+
+    public EpochMarks(int capacity) {
+        stamps = new int[Math.max(1, capacity)];
+    }
+
+    public boolean isMarked(int id) {
+        return id < stamps.length && stamps[id] == epoch;
+    }
+
+    public void mark(int id) {
+        if (id >= stamps.length) {
+            stamps = Arrays.copyOf(stamps, Math.max(id + 1, 2 * stamps.length));
+        }
+        stamps[id] = epoch;
+    }
+
+    public void unmark(int id) {
+        if (id < stamps.length) {
+            stamps[id] = UNMARKED;
+        }
+    }
+
+    /**
+     * unmark all ids by starting a new epoch.
+     */
+    public void clear() {
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, UNMARKED);
+            epoch = UNMARKED;
+        }
+        epoch++;
+    }
+}
@@ -0,0 +1,42 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+
+/**
+ * DistanceMatrix in one int array on the heap (row-major).
+ */
+class HeapDistanceMatrix implements DistanceMatrix {
+
+    static final long MAX_CELLS = Integer.MAX_VALUE - 8L;
+
+    @Getter
+    private final int vertexCount;
+    private final int[] distances;
+
+    HeapDistanceMatrix(int vertexCount) {
+        this.vertexCount = vertexCount;
+        this.distances = new int[vertexCount * vertexCount];
+    }
+
+    @Override
+    public int get(int source, int target) {
+        return distances[source * vertexCount + target];
+    }
+
+    @Override
+    public int[] getRow(int source) {
+        var row = new int[vertexCount];
+        System.arraycopy(distances, source * vertexCount, row, 0, vertexCount);
+        return row;
+    }
+
+    @Override
+    public void setRow(int source, int[] routeLengths) {
+        System.arraycopy(routeLengths, 0, distances, source * vertexCount, vertexCount);
+    }
+
+    @Override
+    public void close() {
+        // the array is garbage collected
+    }
+}
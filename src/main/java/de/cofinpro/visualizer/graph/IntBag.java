@@ -0,0 +1,87 @@
+package de.cofinpro.visualizer.graph;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * unordered growable bag of int values with O(1) add and swap-remove (which scans for the value, so it is meant for
+ * small bags or ones, that are mostly cleared as a whole).
+ */
+public class IntBag implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private int[] values = new int[4];
+    private int size = 0;
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * remove one occurrence of the value by moving the last value into its slot.
+     * @return true, if the value was found
+     */
+    public boolean remove(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                values[i] = values[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * remove all values matching the filter in one pass (keeping the order of the others).
+     */
+    public void removeIf(IntPredicate filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(values[i])) {
+                values[kept++] = values[i];
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * remove and return the value added last - so the bag also serves as stack. Must only be called on a non-empty bag.
+     */
+    public int removeLast() {
+        return values[--size];
+    }
+
+    public int get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(values[i]);
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
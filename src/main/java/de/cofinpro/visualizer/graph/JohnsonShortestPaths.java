@@ -0,0 +1,85 @@
+package de.cofinpro.visualizer.graph;
+
+/**
+ * headless shortest path engine for repeated queries on a CsrGraph with negative weights (Johnson): one Bellman-Ford
+ * pass calculates a potential h per vertex, by which every arc (u, v) is reweighted to w + h(u) - h(v) >= 0. Each
+ * query is then a Dijkstra on the reweighted graph, whose route lengths are translated back by - h(source) + h(target).
+ * Without negative weights the graph is used as is. The reweighting is shared by copies of the engine, that have their
+ * own Dijkstra workspace - one per thread.
+ */
+public class JohnsonShortestPaths {
+
+    public static final int UNREACHABLE = DijkstraShortestPaths.UNREACHABLE;
+
+    /**
+     * the potentials by vertex id - null, if the graph has no negative weights.
+     */
+    private final int[] potentials;
+    private final CsrGraph reweightedGraph;
+    private final DijkstraShortestPaths dijkstra;
+
+    /**
+     * reweight the graph (if it has negative weights).
+     * @throws NegativeCycleException if the graph has a negative cycle
+     */
+    public JohnsonShortestPaths(CsrGraph graph) {
+        if (graph.hasNegativeWeight()) {
+            potentials = new BellmanFordShortestPaths(graph).potentials();
+            reweightedGraph = graph.withWeights(reweightedWeights(graph, potentials));
+        } else {
+            potentials = null;
+            reweightedGraph = graph;
+        }
+        dijkstra = new DijkstraShortestPaths(reweightedGraph);
+    }
+
+    private JohnsonShortestPaths(JohnsonShortestPaths shared) {
+        potentials = shared.potentials;
+        reweightedGraph = shared.reweightedGraph;
+        dijkstra = new DijkstraShortestPaths(reweightedGraph);
+    }
+
+    /**
+     * @return an engine sharing this engine's reweighting with its own workspace - e.g. for another thread
+     */
+    public JohnsonShortestPaths copy() {
+        return new JohnsonShortestPaths(this);
+    }
+
+    private static int[] reweightedWeights(CsrGraph graph, int[] potentials) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        var reweighted = new int[weights.length];
+        for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                reweighted[arc] = weights[arc] + potentials[vertex] - potentials[targets[arc]];
+            }
+        }
+        return reweighted;
+    }
+
+    /**
+     * calculate the shortest route lengths from the given source to all vertices.
+     * @return array of route lengths indexed by vertex id - UNREACHABLE for vertices not connected to the source
+     */
+    public int[] routeLengthsFrom(int source) {
+        return routeLengthsFrom(source, new int[reweightedGraph.getVertexCount()]);
+    }
+
+    /**
+     * calculate the shortest route lengths from the given source into the given (reused) array.
+     * @return the given array
+     */
+    public int[] routeLengthsFrom(int source, int[] routeLengths) {
+        dijkstra.routeLengthsFrom(source, routeLengths);
+        if (potentials != null) {
+            for (int vertex = 0; vertex < reweightedGraph.getVertexCount(); vertex++) {
+                if (routeLengths[vertex] != UNREACHABLE) {
+                    routeLengths[vertex] += potentials[vertex] - potentials[source];
+                }
+            }
+        }
+        return routeLengths;
+    }
+}
@@ -0,0 +1,34 @@
+package de.cofinpro.visualizer.graph;
+
+import java.util.Arrays;
+
+/**
+ * headless engine for Kruskal's algorithm on a CsrGraph: the edges are packed into long keys (weight, arc), sorted by
+ * Arrays.parallelSort and added in that order, unless they close a cycle - which DisjointSets tell in almost O(1).
+ * The search stops as soon as the forest spans the graph.
+ */
+public class KruskalSpanningTree extends SpanningForest {
+
+    public KruskalSpanningTree(CsrGraph graph) {
+        super(graph);
+    }
+
+    @Override
+    protected int[] findForest() {
+        long[] keys = edgeKeys();
+        Arrays.parallelSort(keys);
+        int[] arcSources = arcSources();
+        int[] targets = graph.getTargets();
+        var components = new DisjointSets(graph.getVertexCount());
+        var forestArcs = new int[Math.max(0, graph.getVertexCount() - 1)];
+        int forestArcCount = 0;
+        for (int i = 0; i < keys.length && forestArcCount < forestArcs.length; i++) {
+            int arc = arc(keys[i]);
+            if (components.union(arcSources[arc], targets[arc])) {
+                forestArcs[forestArcCount++] = arc;
+                progress.step(forestArcCount, forestArcs.length);
+            }
+        }
+        return Arrays.copyOf(forestArcs, forestArcCount);
+    }
+}
@@ -0,0 +1,69 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * DistanceMatrix in a memory-mapped temporary file (row-major), for matrices too big for the heap. As a single mapping
+ * is limited to 2 GB, the file is mapped in segments of whole rows. Only absolute buffer operations are used, so the
+ * workers can write their rows concurrently. The file is deleted on close (at the latest on exit) - the mapping
+ * itself is released by the garbage collector.
+ */
+class MappedDistanceMatrix implements DistanceMatrix {
+
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    @Getter
+    private final int vertexCount;
+    private final int rowsPerSegment;
+    private final IntBuffer[] segments;
+    private final Path file;
+
+    MappedDistanceMatrix(int vertexCount, Path directory) throws IOException {
+        this.vertexCount = vertexCount;
+        long rowBytes = (long) vertexCount * Integer.BYTES;
+        this.rowsPerSegment = (int) Math.max(1, SEGMENT_BYTES / Math.max(1, rowBytes));
+        this.segments = new IntBuffer[(vertexCount + rowsPerSegment - 1) / rowsPerSegment];
+        this.file = directory == null ? Files.createTempFile("distances", ".bin")
+                : Files.createTempFile(directory, "distances", ".bin");
+        file.toFile().deleteOnExit();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int segment = 0; segment < segments.length; segment++) {
+                int rows = Math.min(rowsPerSegment, vertexCount - segment * rowsPerSegment);
+                segments[segment] = channel.map(FileChannel.MapMode.READ_WRITE, segment * rowsPerSegment * rowBytes,
+                        rows * rowBytes).asIntBuffer();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public int get(int source, int target) {
+        return segments[source / rowsPerSegment].get(source % rowsPerSegment * vertexCount + target);
+    }
+
+    @Override
+    public int[] getRow(int source) {
+        var row = new int[vertexCount];
+        segments[source / rowsPerSegment].get(source % rowsPerSegment * vertexCount, row);
+        return row;
+    }
+
+    @Override
+    public void setRow(int source, int[] routeLengths) {
+        segments[source / rowsPerSegment].put(source % rowsPerSegment * vertexCount, routeLengths, 0, vertexCount);
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
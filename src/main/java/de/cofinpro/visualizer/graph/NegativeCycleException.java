@@ -0,0 +1,25 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.util.Arrays;
+
+/**
+ * thrown by the shortest path engines, if a cycle of negative length is reachable - so there are no shortest routes.
+ * It carries the cycle found as CSR arcs in route order. In an undirected graph every negative edge is such a cycle
+ * (there and back again).
+ */
+@Getter
+public class NegativeCycleException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient int[] cycleArcs;
+
+    public NegativeCycleException(int[] cycleArcs) {
+        super("negative cycle of %d arcs".formatted(cycleArcs.length));
+        this.cycleArcs = Arrays.copyOf(cycleArcs, cycleArcs.length);
+    }
+}
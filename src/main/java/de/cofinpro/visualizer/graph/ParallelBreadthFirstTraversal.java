@@ -0,0 +1,282 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * headless, level-synchronous parallel breadth-first traversal on a CsrGraph. Each frontier (a contiguous range of the
+ * queue) is split into chunks, that are expanded by the workers of an own ForkJoinPool. Every chunk collects its newly
+ * discovered vertices in a local buffer (reused over all levels) and the buffers are merged in chunk order into the
+ * queue at the level barrier. Frontiers smaller than the sequential threshold are expanded in the calling thread.
+ * <p>
+ * Without deterministic order, a target vertex is claimed by the first worker, that CASes its parent from UNREACHED.
+ * In deterministic mode a first pass CASes the minimum frontier position of all parents into a claim array, and a
+ * second pass lets only that parent (at its first arc to the target) append the vertex - this reproduces the queue
+ * order, parents and tree arcs of the sequential top-down BreadthFirstTraversal, as needed by the playback.
+ */
+public class ParallelBreadthFirstTraversal implements AutoCloseable {
+
+    public static final int UNREACHED = -1;
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 10;
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final int MIN_CHUNK_LENGTH = 256;
+    private static final int NO_CLAIM = Integer.MAX_VALUE;
+
+    private final CsrGraph graph;
+    private final ForkJoinPool pool;
+    private final boolean deterministic;
+    @Setter
+    private int sequentialThreshold = DEFAULT_SEQUENTIAL_THRESHOLD;
+    @Setter
+    private Progress progress = Progress.NONE;
+    private final int[] queue;
+    @Getter
+    private final int[] levels;
+    @Getter
+    private final int[] parentArcs;
+    private final AtomicIntegerArray parents;
+    private final AtomicIntegerArray claims;
+    private final int[][] chunkBuffers;
+    private final int[] chunkSizes;
+    @Getter
+    private int reachedCount = 0;
+
+    public ParallelBreadthFirstTraversal(CsrGraph graph, int parallelism, boolean deterministic) {
+        this.graph = graph;
+        this.pool = new ForkJoinPool(parallelism);
+        this.deterministic = deterministic;
+        int vertexCount = graph.getVertexCount();
+        queue = new int[vertexCount];
+        levels = new int[vertexCount];
+        parentArcs = new int[vertexCount];
+        parents = new AtomicIntegerArray(vertexCount);
+        claims = new AtomicIntegerArray(deterministic ? vertexCount : 0);
+        chunkBuffers = new int[parallelism * CHUNKS_PER_WORKER][16];
+        chunkSizes = new int[chunkBuffers.length];
+        Arrays.fill(levels, UNREACHED);
+        Arrays.fill(parentArcs, UNREACHED);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            parents.set(vertex, UNREACHED);
+            if (deterministic) {
+                claims.set(vertex, NO_CLAIM);
+            }
+        }
+    }
+
+    /**
+     * perform a deterministic BFS from the given start vertex.
+     * @return the CSR arc indices of the BFS tree in the order of the sequential top-down traversal
+     */
+    public int[] traverse(int start) {
+        if (!deterministic) {
+            throw new IllegalStateException("tree arcs in traversal order require the deterministic mode");
+        }
+        search(start);
+        var treeArcs = new int[Math.max(0, reachedCount - 1)];
+        for (int i = 1; i < reachedCount; i++) {
+            treeArcs[i - 1] = parentArcs[queue[i]];
+        }
+        return treeArcs;
+    }
+
+    /**
+     * perform a BFS from the given start vertex, which fills levels, parents and parent arcs of all reached vertices.
+     * @return the number of reached vertices
+     */
+    public int search(int start) {
+        clearPreviousRun();
+        levels[start] = 0;
+        parents.set(start, start);
+        queue[0] = start;
+        int levelStart = 0;
+        int levelEnd = 1;
+        for (int level = 1; levelStart < levelEnd; level++) {
+            int nextLevelEnd = levelEnd - levelStart < sequentialThreshold
+                    ? stepSequential(levelStart, levelEnd, level)
+                    : stepParallel(levelStart, levelEnd, level);
+            levelStart = levelEnd;
+            levelEnd = nextLevelEnd;
+            reachedCount = levelEnd;
+            progress.report(levelEnd, graph.getVertexCount());
+        }
+        parents.set(start, UNREACHED);
+        reachedCount = levelEnd;
+        return reachedCount;
+    }
+
+    /**
+     * return the parent vertex of each vertex reached by the last search (UNREACHED for the start vertex).
+     */
+    public int[] getParents() {
+        var result = new int[parents.length()];
+        for (int vertex = 0; vertex < result.length; vertex++) {
+            result[vertex] = parents.get(vertex);
+        }
+        return result;
+    }
+
+    /**
+     * return the reached vertices of the last search in BFS order (grouped by level).
+     */
+    public int[] getVisitOrder() {
+        return Arrays.copyOf(queue, reachedCount);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private void clearPreviousRun() {
+        for (int i = 0; i < reachedCount; i++) {
+            int vertex = queue[i];
+            levels[vertex] = UNREACHED;
+            parentArcs[vertex] = UNREACHED;
+            parents.set(vertex, UNREACHED);
+            if (deterministic) {
+                claims.set(vertex, NO_CLAIM);
+            }
+        }
+        reachedCount = 0;
+    }
+
+    private int stepSequential(int levelStart, int levelEnd, int level) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int tail = levelEnd;
+        for (int i = levelStart; i < levelEnd; i++) {
+            int vertex = queue[i];
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int target = targets[arc];
+                if (levels[target] == UNREACHED) {
+                    discover(target, vertex, arc, level);
+                    queue[tail++] = target;
+                }
+            }
+        }
+        return tail;
+    }
+
+    private int stepParallel(int levelStart, int levelEnd, int level) {
+        int frontierSize = levelEnd - levelStart;
+        int chunkCount = Math.min(chunkBuffers.length, Math.max(1, frontierSize / MIN_CHUNK_LENGTH));
+        int chunkLength = (frontierSize + chunkCount - 1) / chunkCount;
+        if (deterministic) {
+            pool.invoke(new ChunkAction(0, chunkCount, chunk ->
+                    claimMinimalPosition(chunkStart(levelStart, chunk, chunkLength), chunkEnd(levelStart, levelEnd,
+                            chunk, chunkLength))));
+        }
+        pool.invoke(new ChunkAction(0, chunkCount, chunk ->
+                expandChunk(chunk, chunkStart(levelStart, chunk, chunkLength),
+                        chunkEnd(levelStart, levelEnd, chunk, chunkLength), level)));
+        int tail = levelEnd;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            System.arraycopy(chunkBuffers[chunk], 0, queue, tail, chunkSizes[chunk]);
+            tail += chunkSizes[chunk];
+        }
+        return tail;
+    }
+
+    private static int chunkStart(int levelStart, int chunk, int chunkLength) {
+        return levelStart + chunk * chunkLength;
+    }
+
+    private static int chunkEnd(int levelStart, int levelEnd, int chunk, int chunkLength) {
+        return Math.min(levelEnd, levelStart + (chunk + 1) * chunkLength);
+    }
+
+    /**
+     * first pass of the deterministic mode: CAS the minimal queue position of all frontier vertices, that have an arc
+     * to an unreached target, into the target's claim.
+     */
+    private void claimMinimalPosition(int from, int to) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        for (int i = from; i < to; i++) {
+            int vertex = queue[i];
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int target = targets[arc];
+                if (levels[target] == UNREACHED) {
+                    int claim = claims.get(target);
+                    while (i < claim && !claims.compareAndSet(target, claim, i)) {
+                        claim = claims.get(target);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * expand the frontier range [from, to) into the chunk's local buffer - claiming targets by parent-CAS, or in
+     * deterministic mode by the position claimed in the first pass.
+     */
+    private void expandChunk(int chunk, int from, int to, int level) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] buffer = chunkBuffers[chunk];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int vertex = queue[i];
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int target = targets[arc];
+                boolean won = deterministic
+                        ? claims.get(target) == i && levels[target] == UNREACHED
+                        : levels[target] == UNREACHED && parents.compareAndSet(target, UNREACHED, vertex);
+                if (won) {
+                    discover(target, vertex, arc, level);
+                    if (size == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, size * 2);
+                        chunkBuffers[chunk] = buffer;
+                    }
+                    buffer[size++] = target;
+                }
+            }
+        }
+        chunkSizes[chunk] = size;
+    }
+
+    /**
+     * record the discovery of target - only ever called by the single thread, that won the target's claim.
+     */
+    private void discover(int target, int parent, int arc, int level) {
+        levels[target] = level;
+        parentArcs[target] = arc;
+        parents.set(target, parent);
+    }
+
+    /**
+     * fork-join action, that splits a range of chunk indices in halves until single chunks are processed.
+     */
+    private static class ChunkAction extends RecursiveAction {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final transient IntConsumer chunkProcessor;
+
+        ChunkAction(int from, int to, IntConsumer chunkProcessor) {
+            this.from = from;
+            this.to = to;
+            this.chunkProcessor = chunkProcessor;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunkProcessor.accept(from);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkAction(from, middle, chunkProcessor), new ChunkAction(middle, to, chunkProcessor));
+            }
+        }
+    }
+}
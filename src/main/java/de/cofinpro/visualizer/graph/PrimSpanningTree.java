@@ -0,0 +1,119 @@
+package de.cofinpro.visualizer.graph;
+
+import de.cofinpro.visualizer.graph.heap.HeapCounters;
+import de.cofinpro.visualizer.graph.heap.HeapType;
+import de.cofinpro.visualizer.graph.heap.IntPriorityQueue;
+import lombok.Setter;
+
+import java.util.Arrays;
+
+/**
+ * headless engine for Prim's algorithm on a CsrGraph, that grows a minimum spanning tree from a start vertex in
+ * O(E log V) using an IntPriorityQueue. The EAGER variant queues vertices keyed by their cheapest connecting arc
+ * (decrease-key on improvement), the LAZY variant queues arcs and skips those into already connected vertices.
+ * The connected vertices are kept in EpochMarks of the engine, so a new run does not reset per-vertex state.
+ */
+public class PrimSpanningTree {
+
+    public enum Variant {
+        LAZY,
+        EAGER
+    }
+
+    private final CsrGraph graph;
+    private final Variant variant;
+    private final IntPriorityQueue queue;
+    private final EpochMarks connected;
+    private final int[] connectingArcs;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public PrimSpanningTree(CsrGraph graph) {
+        this(graph, Variant.EAGER, HeapType.DARY_HEAP);
+    }
+
+    public PrimSpanningTree(CsrGraph graph, Variant variant, HeapType heapType) {
+        this.graph = graph;
+        this.variant = variant;
+        this.queue = heapType.create(variant == Variant.EAGER ? graph.getVertexCount() : graph.getArcCount());
+        this.connected = new EpochMarks(graph.getVertexCount());
+        this.connectingArcs = new int[variant == Variant.EAGER ? graph.getVertexCount() : 0];
+    }
+
+    /**
+     * grow a minimum spanning tree of the start vertex' component.
+     * @return the CSR arc indices of the tree edges (pointing away from the tree) in the order they were connected
+     */
+    public int[] spanningTree(int start) {
+        queue.clear();
+        connected.clear();
+        var treeArcs = new int[Math.max(0, graph.getVertexCount() - 1)];
+        int treeArcCount = variant == Variant.EAGER
+                ? growEager(start, treeArcs)
+                : growLazy(start, treeArcs);
+        return Arrays.copyOf(treeArcs, treeArcCount);
+    }
+
+    public HeapCounters getHeapCounters() {
+        return queue.getCounters();
+    }
+
+    /**
+     * eager Prim: the queue holds each unconnected fringe vertex once, keyed by the weight of its cheapest arc from
+     * the tree, which is remembered in connectingArcs (written on offer, so it needs no reset).
+     */
+    private int growEager(int start, int[] treeArcs) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int treeArcCount = 0;
+        connectingArcs[start] = -1;
+        queue.offer(start, 0);
+        while (!queue.isEmpty()) {
+            int vertex = queue.poll();
+            connected.mark(vertex);
+            if (connectingArcs[vertex] >= 0) {
+                treeArcs[treeArcCount++] = connectingArcs[vertex];
+                progress.step(treeArcCount, graph.getVertexCount());
+            }
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int target = targets[arc];
+                if (!connected.isMarked(target) && queue.offer(target, weights[arc])) {
+                    connectingArcs[target] = arc;
+                }
+            }
+        }
+        return treeArcCount;
+    }
+
+    /**
+     * lazy Prim: the queue holds arcs keyed by weight - arcs that lead into the tree by the time they are polled are
+     * dropped then, instead of rescanning the fringe on every connect.
+     */
+    private int growLazy(int start, int[] treeArcs) {
+        int[] targets = graph.getTargets();
+        int treeArcCount = 0;
+        connectLazy(start);
+        while (!queue.isEmpty()) {
+            int arc = queue.poll();
+            if (!connected.isMarked(targets[arc])) {
+                treeArcs[treeArcCount++] = arc;
+                progress.step(treeArcCount, graph.getVertexCount());
+                connectLazy(targets[arc]);
+            }
+        }
+        return treeArcCount;
+    }
+
+    private void connectLazy(int vertex) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        connected.mark(vertex);
+        for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+            if (!connected.isMarked(targets[arc])) {
+                queue.offer(arc, weights[arc]);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package de.cofinpro.visualizer.graph;
+
+/**
+ * callback, by which a headless engine reports its progress (e.g. vertices settled of all vertices) during a run. It is
+ * also the point of cooperative cancellation: report throws a CancellationException, if the run was cancelled, which
+ * aborts the engine. Engines report only every REPORT_INTERVAL steps (resp. once per BFS level), so the callback does
+ * not cost anything measurable.
+ */
+@FunctionalInterface
+public interface Progress {
+
+    /**
+     * number of steps (a power of two, used as mask) between two reports.
+     */
+    int REPORT_INTERVAL = 1 << 10;
+
+    /**
+     * the default of all engines: no reporting, no cancellation.
+     */
+    Progress NONE = (done, total) -> { };
+
+    /**
+     * report the work done so far.
+     * @param done the number of steps done (e.g. settled vertices)
+     * @param total the maximal number of steps (e.g. all vertices)
+     * @throws java.util.concurrent.CancellationException if the run was cancelled
+     */
+    void report(int done, int total);
+
+    /**
+     * report the count, if it is a multiple of REPORT_INTERVAL - to be called with each step.
+     */
+    default void step(int done, int total) {
+        if ((done & (REPORT_INTERVAL - 1)) == 0) {
+            report(done, total);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package de.cofinpro.visualizer.graph;
+
+/**
+ * result of a point-to-point shortest route query: the route's length (DijkstraShortestPaths.UNREACHABLE, if the
+ * target is not connected to the source), its CSR arcs in route order and the number of vertices settled by the
+ * search - the measure of how much of the graph the query touched.
+ */
+public record Route(int source, int target, int length, int[] arcs, int settledCount) {
+
+    public boolean isFound() {
+        return length != DijkstraShortestPaths.UNREACHABLE;
+    }
+}
@@ -0,0 +1,23 @@
+package de.cofinpro.visualizer.graph;
+
+import java.io.IOException;
+
+/**
+ * headless single-source query of an algorithm engine, that is bound to one CsrGraph. The engine's work arrays are
+ * allocated once, so many queries from different sources can be run on the same instance (sequentially). A query,
+ * that holds resources beyond the heap (like a memory-mapped distance matrix), releases them on close.
+ */
+@FunctionalInterface
+public interface SourceQuery extends AutoCloseable {
+
+    /**
+     * run the algorithm from the given source vertex.
+     * @return CSR arc indices or per-vertex values - as described by the AlgorithmType's ResultKind
+     */
+    int[] run(int source);
+
+    @Override
+    default void close() throws IOException {
+        // most engines hold heap arrays only
+    }
+}
@@ -0,0 +1,124 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+
+/**
+ * base class of the headless engines, that find a minimum spanning forest of a whole CsrGraph at once (Kruskal,
+ * Boruvka) - instead of growing a tree from a start vertex like Prim. The forest is calculated on the first query and
+ * kept: a query from a start vertex orients the tree of its component away from the start (each arc from parent to
+ * child, as the spanning tree playback and result expect) in the order the edges were added to the forest. An
+ * undirected edge is represented by its arc from the lower to the higher vertex id, self-loops are ignored.
+ */
+public abstract class SpanningForest {
+
+    @Getter
+    protected final CsrGraph graph;
+    @Setter
+    protected Progress progress = Progress.NONE;
+    private int[] forestArcs;
+
+    protected SpanningForest(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * find the minimum spanning forest.
+     * @return the CSR arcs (lower to higher vertex id) of the forest edges in the order they were added
+     */
+    protected abstract int[] findForest();
+
+    /**
+     * @return the CSR arcs of the minimum spanning forest in the order they were added (calculated on first call)
+     */
+    public int[] spanningForest() {
+        if (forestArcs == null) {
+            forestArcs = findForest();
+        }
+        return forestArcs;
+    }
+
+    /**
+     * the minimum spanning tree of the start vertex' component.
+     * @return the CSR arc indices of the tree edges (pointing away from the start) in the order they were added
+     */
+    public int[] spanningTree(int start) {
+        int[] forest = spanningForest();
+        int[] offsets = new int[graph.getVertexCount() + 1];
+        int[] sources = new int[forest.length];
+        for (int edge = 0; edge < forest.length; edge++) {
+            sources[edge] = graph.arcSource(forest[edge]);
+            offsets[sources[edge] + 1]++;
+            offsets[graph.getTargets()[forest[edge]] + 1]++;
+        }
+        Arrays.parallelPrefix(offsets, Integer::sum);
+        int[] position = Arrays.copyOf(offsets, graph.getVertexCount());
+        int[] incidentEdges = new int[2 * forest.length];
+        for (int edge = 0; edge < forest.length; edge++) {
+            incidentEdges[position[sources[edge]]++] = edge;
+            incidentEdges[position[graph.getTargets()[forest[edge]]]++] = edge;
+        }
+        int[] orientedArcs = new int[forest.length];
+        Arrays.fill(orientedArcs, -1);
+        int[] queue = new int[graph.getVertexCount()];
+        int queueEnd = 0;
+        queue[queueEnd++] = start;
+        for (int head = 0; head < queueEnd; head++) {
+            int vertex = queue[head];
+            for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                int edge = incidentEdges[i];
+                if (orientedArcs[edge] < 0) {
+                    boolean forward = sources[edge] == vertex;
+                    orientedArcs[edge] = forward ? forest[edge] : graph.twinArc(forest[edge]);
+                    queue[queueEnd++] = forward ? graph.getTargets()[forest[edge]] : sources[edge];
+                }
+            }
+        }
+        return Arrays.stream(orientedArcs).filter(arc -> arc >= 0).toArray();
+    }
+
+    /**
+     * the edges of the graph as sort keys: the weight in the high int, the CSR arc (lower to higher vertex id) in the
+     * low int - so sorting the keys sorts the edges by weight, ties by arc.
+     */
+    protected long[] edgeKeys() {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        var keys = new long[graph.getArcCount() / 2 + 1];
+        int keyCount = 0;
+        for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                if (vertex < targets[arc]) {
+                    if (keyCount == keys.length) {
+                        keys = Arrays.copyOf(keys, 2 * keyCount);
+                    }
+                    keys[keyCount++] = key(weights[arc], arc);
+                }
+            }
+        }
+        return Arrays.copyOf(keys, keyCount);
+    }
+
+    /**
+     * the source vertex of each CSR arc.
+     */
+    protected int[] arcSources() {
+        int[] offsets = graph.getOffsets();
+        var arcSources = new int[graph.getArcCount()];
+        for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+            Arrays.fill(arcSources, offsets[vertex], offsets[vertex + 1], vertex);
+        }
+        return arcSources;
+    }
+
+    protected static long key(int weight, int arc) {
+        return (long) weight << 32 | arc;
+    }
+
+    protected static int arc(long key) {
+        return (int) key;
+    }
+}
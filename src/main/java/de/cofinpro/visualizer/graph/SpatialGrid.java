@@ -0,0 +1,163 @@
+package de.cofinpro.visualizer.graph;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * headless spatial index on a uniform grid of square cells, that maps int ids of points (e.g. vertex centers) or line
+ * segments (e.g. edges) to the cells they touch. A segment is registered in every cell it passes through (computed
+ * column by column), so a query only has to look at the few cells around the query point - independent of the total
+ * number of elements, as long as the elements are spread over the plane. Only occupied cells are stored.
+ * Removal is lazy: a removed id is marked and skipped by queries, a cell is compacted once half of its ids are stale.
+ * So removing an element costs O(cells touched) even in crowded cells (e.g. the edges of a hub vertex) - ids must not
+ * be added again after their removal (until clear).
+ */
+public class SpatialGrid implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private static final double SEGMENT_MARGIN = 1e-6;
+
+    private final int cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    /**
+     * the removed ids, which may still be stored in cells.
+     */
+    private final BitSet removed = new BitSet();
+
+    public SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public void addPoint(int id, int x, int y) {
+        cells.computeIfAbsent(key(cell(x), cell(y)), k -> new Cell()).ids.add(id);
+    }
+
+    /**
+     * remove the point with given id - it must be given with the coordinates it was added with.
+     */
+    public void removePoint(int id, int x, int y) {
+        removed.set(id);
+        removeFromCell(key(cell(x), cell(y)));
+    }
+
+    public void addSegment(int id, int x1, int y1, int x2, int y2) {
+        forEachSegmentCell(x1, y1, x2, y2, key -> cells.computeIfAbsent(key, k -> new Cell()).ids.add(id));
+    }
+
+    /**
+     * remove the segment with given id - it must be given with the coordinates it was added with.
+     */
+    public void removeSegment(int id, int x1, int y1, int x2, int y2) {
+        removed.set(id);
+        forEachSegmentCell(x1, y1, x2, y2, this::removeFromCell);
+    }
+
+    public void clear() {
+        cells.clear();
+        removed.clear();
+    }
+
+    /**
+     * call the consumer with the ids of all elements in the cells, that overlap the square of given radius around
+     * (x, y). Candidates must be checked by the caller with their exact geometry, a segment may be reported more than
+     * once.
+     */
+    public void forEachCandidate(int x, int y, int radius, IntConsumer consumer) {
+        forEachCandidateIn(x - radius, y - radius, x + radius, y + radius, consumer);
+    }
+
+    /**
+     * call the consumer with the ids of all elements in the cells, that overlap the rectangle with the given
+     * (inclusive) corners. As above, candidates are not checked against their exact geometry and may be repeated.
+     */
+    public void forEachCandidateIn(int left, int top, int right, int bottom, IntConsumer consumer) {
+        for (int cellX = cell(left); cellX <= cell(right); cellX++) {
+            for (int cellY = cell(top); cellY <= cell(bottom); cellY++) {
+                var cell = cells.get(key(cellX, cellY));
+                if (cell != null) {
+                    cell.ids.forEach(id -> {
+                        if (!removed.get(id)) {
+                            consumer.accept(id);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * exact squared distance of point (x, y) to the line segment from (x1, y1) to (x2, y2).
+     */
+    public static double segmentDistanceSquared(double x, double y, double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0
+                : Math.max(0, Math.min(1, ((x - x1) * dx + (y - y1) * dy) / lengthSquared));
+        double nearestX = x1 + t * dx - x;
+        double nearestY = y1 + t * dy - y;
+        return nearestX * nearestX + nearestY * nearestY;
+    }
+
+    private int cell(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    /**
+     * count a stale id in the cell with given key - and compact it, when half of its ids are stale.
+     */
+    private void removeFromCell(long key) {
+        var cell = cells.get(key);
+        if (cell != null && 2 * ++cell.stale >= cell.ids.size()) {
+            cell.ids.removeIf(removed::get);
+            cell.stale = 0;
+            if (cell.ids.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    /**
+     * call the consumer with the keys of all cells, the segment passes through: for each cell column in the segment's
+     * x-range the y-range of the segment between the column's exact boundaries (clipped to the segment) is mapped to
+     * cell rows - widened by a tiny margin, so rounding can only add cells, never miss one.
+     */
+    private void forEachSegmentCell(int x1, int y1, int x2, int y2, LongConsumer consumer) {
+        if (x1 > x2) {
+            forEachSegmentCell(x2, y2, x1, y1, consumer);
+            return;
+        }
+        double slope = x1 == x2 ? 0 : (double) (y2 - y1) / (x2 - x1);
+        for (int cellX = cell(x1); cellX <= cell(x2); cellX++) {
+            double fromY = x1 == x2 ? y1 : y1 + (Math.max(x1, (double) cellX * cellSize) - x1) * slope;
+            double toY = x1 == x2 ? y2 : y1 + (Math.min(x2, (double) (cellX + 1) * cellSize) - x1) * slope;
+            int fromCellY = (int) Math.floor((Math.min(fromY, toY) - SEGMENT_MARGIN) / cellSize);
+            int toCellY = (int) Math.floor((Math.max(fromY, toY) + SEGMENT_MARGIN) / cellSize);
+            for (int cellY = fromCellY; cellY <= toCellY; cellY++) {
+                consumer.accept(key(cellX, cellY));
+            }
+        }
+    }
+
+    /**
+     * the ids stored in a cell and how many of them are removed.
+     */
+    private static class Cell implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final IntBag ids = new IntBag();
+        private int stale = 0;
+    }
+}
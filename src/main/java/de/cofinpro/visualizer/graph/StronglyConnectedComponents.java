@@ -0,0 +1,82 @@
+package de.cofinpro.visualizer.graph;
+
+import lombok.Setter;
+
+/**
+ * headless engine for the strongly connected components of a directed CsrGraph by Pearce's space-efficient variant of
+ * Tarjan's algorithm - iterative, so deep graphs cannot overflow the call stack: the depth-first search keeps the next
+ * arc of each vertex on its stack. A single rindex per vertex serves as visit index and low link while the vertex is
+ * open, and as its component number, when its component is complete - the numbers count down from the vertex count,
+ * the visit indices up, so both never collide. The search runs in linear time.
+ */
+public class StronglyConnectedComponents {
+
+    private final CsrGraph graph;
+    @Setter
+    private Progress progress = Progress.NONE;
+
+    public StronglyConnectedComponents(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    public Components components() {
+        int vertexCount = graph.getVertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        var rindex = new int[vertexCount];
+        var root = new boolean[vertexCount];
+        var nextArcs = new int[vertexCount];
+        var searchStack = new IntBag();
+        var componentStack = new IntBag();
+        int index = 1;
+        int component = vertexCount - 1;
+        int visited = 0;
+        for (int start = 0; start < vertexCount; start++) {
+            if (rindex[start] != 0) {
+                continue;
+            }
+            rindex[start] = index++;
+            root[start] = true;
+            nextArcs[start] = offsets[start];
+            searchStack.add(start);
+            while (!searchStack.isEmpty()) {
+                int vertex = searchStack.get(searchStack.size() - 1);
+                int arc = nextArcs[vertex];
+                boolean descended = false;
+                for (; arc < offsets[vertex + 1]; arc++) {
+                    int target = targets[arc];
+                    if (rindex[target] == 0) {
+                        nextArcs[vertex] = arc;
+                        rindex[target] = index++;
+                        root[target] = true;
+                        nextArcs[target] = offsets[target];
+                        searchStack.add(target);
+                        descended = true;
+                        break;
+                    }
+                    if (rindex[target] < rindex[vertex]) {
+                        rindex[vertex] = rindex[target];
+                        root[vertex] = false;
+                    }
+                }
+                if (descended) {
+                    continue;
+                }
+                searchStack.removeLast();
+                progress.step(++visited, vertexCount);
+                if (!root[vertex]) {
+                    componentStack.add(vertex);
+                    continue;
+                }
+                index--;
+                while (!componentStack.isEmpty()
+                        && rindex[vertex] <= rindex[componentStack.get(componentStack.size() - 1)]) {
+                    rindex[componentStack.removeLast()] = component;
+                    index--;
+                }
+                rindex[vertex] = component--;
+            }
+        }
+        return Components.normalized(rindex);
+    }
+}
@@ -0,0 +1,37 @@
+package de.cofinpro.visualizer.graph.heap;
+
+import lombok.Getter;
+
+/**
+ * operation counters of an IntPriorityQueue to compare the heap work of different queue implementations.
+ */
+@Getter
+public class HeapCounters {
+
+    private long pushes;
+    private long pops;
+    private long decreaseKeys;
+
+    void countPush() {
+        pushes++;
+    }
+
+    void countPop() {
+        pops++;
+    }
+
+    void countDecreaseKey() {
+        decreaseKeys++;
+    }
+
+    public void reset() {
+        pushes = 0;
+        pops = 0;
+        decreaseKeys = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "HeapCounters{pushes: " + pushes + ", pops: " + pops + ", decreaseKeys: " + decreaseKeys + "}";
+    }
+}
@@ -0,0 +1,23 @@
+package de.cofinpro.visualizer.graph.heap;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.IntFunction;
+
+/**
+ * enum of the selectable IntPriorityQueue implementations with their names and a producer taking the capacity.
+ */
+@AllArgsConstructor
+@Getter
+public enum HeapType {
+    DARY_HEAP("Indexed 4-ary Heap", IndexedDaryHeap::new),
+    PAIRING_HEAP("Pairing Heap", PairingHeap::new);
+
+    private final String heapName;
+    private final IntFunction<IntPriorityQueue> heapProducer;
+
+    public IntPriorityQueue create(int capacity) {
+        return heapProducer.apply(capacity);
+    }
+}
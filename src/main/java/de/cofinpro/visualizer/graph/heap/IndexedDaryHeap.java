@@ -0,0 +1,141 @@
+package de.cofinpro.visualizer.graph.heap;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * implicit d-ary min-heap over int elements, that keeps a position index per element for a true decrease-key.
+ * Keys and positions are stored in primitive arrays indexed by element, so no objects are allocated per operation.
+ */
+public class IndexedDaryHeap implements IntPriorityQueue {
+
+    public static final int DEFAULT_ARITY = 4;
+    private static final int ABSENT = -1;
+
+    private final int arity;
+    private final int[] heap;
+    private final int[] positions;
+    private final int[] keys;
+    private int size = 0;
+    @Getter
+    private final HeapCounters counters = new HeapCounters();
+
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("heap arity must be at least 2, but was " + arity);
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    @Override
+    public boolean offer(int element, int key) {
+        int position = positions[element];
+        if (position == ABSENT) {
+            keys[element] = key;
+            heap[size] = element;
+            positions[element] = size;
+            siftUp(size++);
+            counters.countPush();
+            return true;
+        }
+        if (key < keys[element]) {
+            keys[element] = key;
+            siftUp(position);
+            counters.countDecreaseKey();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int poll() {
+        int min = heap[0];
+        positions[min] = ABSENT;
+        if (--size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        counters.countPop();
+        return min;
+    }
+
+    @Override
+    public boolean contains(int element) {
+        return positions[element] != ABSENT;
+    }
+
+    @Override
+    public int keyOf(int element) {
+        return keys[element];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int element = heap[position];
+        int key = keys[element];
+        while (position > 0) {
+            int parentPosition = (position - 1) / arity;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+
+    private void siftDown(int position) {
+        int element = heap[position];
+        int key = keys[element];
+        while (true) {
+            int firstChild = position * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int bestChild = firstChild;
+            int bestKey = keys[heap[firstChild]];
+            int lastChild = Math.min(firstChild + arity, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                int childKey = keys[heap[child]];
+                if (childKey < bestKey) {
+                    bestChild = child;
+                    bestKey = childKey;
+                }
+            }
+            if (bestKey >= key) {
+                break;
+            }
+            heap[position] = heap[bestChild];
+            positions[heap[position]] = position;
+            position = bestChild;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+}
@@ -0,0 +1,39 @@
+package de.cofinpro.visualizer.graph.heap;
+
+/**
+ * addressable min-priority queue over int elements (vertex ids in [0, capacity)) with int keys, that supports a true
+ * decrease-key - so every element is contained at most once.
+ */
+public interface IntPriorityQueue {
+
+    /**
+     * insert the element with given key, or decrease its key if it is already contained with a larger key.
+     * @return true, if the element was inserted or its key decreased - false, if the queue was left unchanged.
+     */
+    boolean offer(int element, int key);
+
+    /**
+     * remove and return the element with minimal key. Must only be called on a non-empty queue.
+     */
+    int poll();
+
+    boolean contains(int element);
+
+    /**
+     * return the current key of a contained element.
+     */
+    int keyOf(int element);
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * remove all elements - in time proportional to the current size, not the capacity.
+     */
+    void clear();
+
+    HeapCounters getCounters();
+}
@@ -0,0 +1,185 @@
+package de.cofinpro.visualizer.graph.heap;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * pairing heap over int elements with decrease-key by cutting the element's subtree and melding it with the root.
+ * The tree links (leftmost child, right sibling and the previous node - left sibling or parent) are kept in primitive
+ * arrays indexed by element. delete-min uses the iterative two-pass pairing.
+ */
+public class PairingHeap implements IntPriorityQueue {
+
+    private static final int NONE = -1;
+
+    private final int[] child;
+    private final int[] sibling;
+    private final int[] previous;
+    private final int[] keys;
+    private final boolean[] contained;
+    private final int[] pairs;
+    private int root = NONE;
+    private int size = 0;
+    @Getter
+    private final HeapCounters counters = new HeapCounters();
+
+    public PairingHeap(int capacity) {
+        child = new int[capacity];
+        sibling = new int[capacity];
+        previous = new int[capacity];
+        keys = new int[capacity];
+        contained = new boolean[capacity];
+        pairs = new int[capacity];
+        Arrays.fill(child, NONE);
+        Arrays.fill(sibling, NONE);
+        Arrays.fill(previous, NONE);
+    }
+
+    @Override
+    public boolean offer(int element, int key) {
+        if (!contained[element]) {
+            keys[element] = key;
+            contained[element] = true;
+            root = meld(root, element);
+            size++;
+            counters.countPush();
+            return true;
+        }
+        if (key < keys[element]) {
+            keys[element] = key;
+            if (element != root) {
+                cut(element);
+                root = meld(root, element);
+            }
+            counters.countDecreaseKey();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int poll() {
+        int min = root;
+        root = mergePairs(child[min]);
+        child[min] = NONE;
+        contained[min] = false;
+        size--;
+        counters.countPop();
+        return min;
+    }
+
+    @Override
+    public boolean contains(int element) {
+        return contained[element];
+    }
+
+    @Override
+    public int keyOf(int element) {
+        return keys[element];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * reset the links and marks of the contained elements only - found by a walk of the tree with the pairs array as
+     * stack, so the time is proportional to the size.
+     */
+    @Override
+    public void clear() {
+        int count = 0;
+        if (root != NONE) {
+            pairs[count++] = root;
+        }
+        while (count > 0) {
+            int element = pairs[--count];
+            if (child[element] != NONE) {
+                pairs[count++] = child[element];
+            }
+            if (sibling[element] != NONE) {
+                pairs[count++] = sibling[element];
+            }
+            child[element] = NONE;
+            sibling[element] = NONE;
+            previous[element] = NONE;
+            contained[element] = false;
+        }
+        root = NONE;
+        size = 0;
+    }
+
+    /**
+     * detach the subtree rooted at element from its parent or left sibling.
+     */
+    private void cut(int element) {
+        int prev = previous[element];
+        if (child[prev] == element) {
+            child[prev] = sibling[element];
+        } else {
+            sibling[prev] = sibling[element];
+        }
+        if (sibling[element] != NONE) {
+            previous[sibling[element]] = prev;
+        }
+        sibling[element] = NONE;
+        previous[element] = NONE;
+    }
+
+    /**
+     * link two detached trees - the root with the larger key becomes the leftmost child of the other.
+     */
+    private int meld(int first, int second) {
+        if (first == NONE) {
+            return second;
+        }
+        if (second == NONE) {
+            return first;
+        }
+        if (keys[second] < keys[first]) {
+            int swap = first;
+            first = second;
+            second = swap;
+        }
+        sibling[second] = child[first];
+        if (child[first] != NONE) {
+            previous[child[first]] = second;
+        }
+        previous[second] = first;
+        child[first] = second;
+        return first;
+    }
+
+    /**
+     * two-pass pairing of the sibling list starting at first: meld pairs left to right, then the results right to left.
+     */
+    private int mergePairs(int first) {
+        int count = 0;
+        int current = first;
+        while (current != NONE) {
+            int second = sibling[current];
+            int next = second == NONE ? NONE : sibling[second];
+            detach(current);
+            if (second != NONE) {
+                detach(second);
+            }
+            pairs[count++] = meld(current, second);
+            current = next;
+        }
+        if (count == 0) {
+            return NONE;
+        }
+        int result = pairs[count - 1];
+        for (int i = count - 2; i >= 0; i--) {
+            result = meld(pairs[i], result);
+        }
+        return result;
+    }
+
+    private void detach(int element) {
+        sibling[element] = NONE;
+        previous[element] = NONE;
+    }
+}
@@ -0,0 +1,145 @@
+package de.cofinpro.visualizer.graph.io;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * streaming tokenizer for line-based ASCII graph files. It reads the file channel in fixed-size chunks into one
+ * reusable byte buffer and parses numbers directly from the bytes - so no String is created per line or token and
+ * the heap use is independent of the file size.
+ */
+class ByteScanner implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int END_OF_INPUT = -1;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] bytes = buffer.array();
+    private int position = 0;
+    private int limit = 0;
+    @Getter
+    private long lineNumber = 1;
+
+    ByteScanner(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    /**
+     * return the next byte without consuming it - or END_OF_INPUT (-1).
+     */
+    int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return END_OF_INPUT;
+        }
+        return bytes[position];
+    }
+
+    boolean isAtEnd() throws IOException {
+        return peek() == END_OF_INPUT;
+    }
+
+    /**
+     * skip spaces, tabs and carriage returns - but not the line feed.
+     */
+    void skipBlanks() throws IOException {
+        int next = peek();
+        while (next == ' ' || next == '\t' || next == '\r') {
+            position++;
+            next = peek();
+        }
+    }
+
+    /**
+     * check, if only blanks are left in the current line.
+     */
+    boolean isAtEndOfLine() throws IOException {
+        skipBlanks();
+        int next = peek();
+        return next == '\n' || next == END_OF_INPUT;
+    }
+
+    /**
+     * consume the rest of the current line including its line feed.
+     */
+    void skipLine() throws IOException {
+        int next = peek();
+        while (next != '\n' && next != END_OF_INPUT) {
+            position++;
+            next = peek();
+        }
+        if (next == '\n') {
+            position++;
+            lineNumber++;
+        }
+    }
+
+    /**
+     * consume and return the next non-blank byte of the current line.
+     */
+    int nextSymbol() throws IOException {
+        skipBlanks();
+        int next = peek();
+        if (next != '\n' && next != END_OF_INPUT) {
+            position++;
+        }
+        return next;
+    }
+
+    /**
+     * parse the next (optionally signed) decimal integer of the current line.
+     */
+    long nextLong() throws IOException {
+        skipBlanks();
+        boolean negative = false;
+        int next = peek();
+        if (next == '-' || next == '+') {
+            negative = next == '-';
+            position++;
+            next = peek();
+        }
+        if (next < '0' || next > '9') {
+            throw error("number expected");
+        }
+        long value = 0;
+        while (next >= '0' && next <= '9') {
+            value = value * 10 + (next - '0');
+            position++;
+            next = peek();
+        }
+        return negative ? -value : value;
+    }
+
+    int nextInt() throws IOException {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("number out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    IOException error(String message) {
+        return new IOException("line %d: %s".formatted(lineNumber, message));
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,150 @@
+package de.cofinpro.visualizer.graph.io;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * DIMACS shortest path format (.gr): "c" comment lines, one problem line "p sp vertices arcs" and arc lines
+ * "a source target weight" with 1-based vertex ids. The files list directed arcs - road networks contain both
+ * directions of each road. As the visualizer's graphs are undirected, an arc is dropped, if its reverse arc exists
+ * (the weight of the arc from the lower to the higher vertex id is taken). Writing emits both arcs of each edge.
+ * Read directed (for the headless batch mode), all arcs are kept as they are.
+ */
+class DimacsFormat implements GraphFileFormat {
+
+    @Override
+    public GraphFile read(Path path) throws IOException {
+        return read(path, false);
+    }
+
+    @Override
+    public GraphFile readDirected(Path path) throws IOException {
+        return read(path, true);
+    }
+
+    private GraphFile read(Path path, boolean directed) throws IOException {
+        int vertexCount = -1;
+        int arcCount = 0;
+        int[] sources = null;
+        int[] targets = null;
+        int[] weights = null;
+        try (var scanner = new ByteScanner(path)) {
+            while (!scanner.isAtEnd()) {
+                switch (scanner.isAtEndOfLine() ? 'c' : scanner.nextSymbol()) {
+                    case 'c' -> { /* comment or empty line */ }
+                    case 'p' -> {
+                        if (scanner.nextSymbol() != 's' || scanner.nextSymbol() != 'p') {
+                            throw scanner.error("problem line 'p sp <vertices> <arcs>' expected");
+                        }
+                        vertexCount = scanner.nextInt();
+                        int declaredArcs = scanner.nextInt();
+                        sources = new int[declaredArcs];
+                        targets = new int[declaredArcs];
+                        weights = new int[declaredArcs];
+                    }
+                    case 'a' -> {
+                        if (sources == null) {
+                            throw scanner.error("arc before problem line");
+                        }
+                        if (arcCount == sources.length) {
+                            throw scanner.error("more arcs than declared in problem line");
+                        }
+                        sources[arcCount] = vertexIndex(scanner, vertexCount);
+                        targets[arcCount] = vertexIndex(scanner, vertexCount);
+                        weights[arcCount++] = scanner.nextInt();
+                    }
+                    default -> throw scanner.error("unknown line type");
+                }
+                scanner.skipLine();
+            }
+        }
+        if (sources == null) {
+            throw new IOException("no problem line 'p sp <vertices> <arcs>' found in " + path);
+        }
+        var graph = directed
+                ? toDirectedGraph(vertexCount, arcCount, sources, targets, weights)
+                : toUndirectedGraph(vertexCount, arcCount, sources, targets, weights);
+        return new GraphFile(graph, null, null, null);
+    }
+
+    private static int vertexIndex(ByteScanner scanner, int vertexCount) throws IOException {
+        int vertex = scanner.nextInt();
+        if (vertex < 1 || vertex > vertexCount) {
+            throw scanner.error("vertex id %d not in [1, %d]".formatted(vertex, vertexCount));
+        }
+        return vertex - 1;
+    }
+
+    private static CsrGraph toDirectedGraph(int vertexCount, int arcCount, int[] sources, int[] targets,
+                                            int[] weights) {
+        var builder = CsrGraph.builder(vertexCount, arcCount);
+        for (int arc = 0; arc < arcCount; arc++) {
+            builder.addArc(sources[arc], targets[arc], weights[arc], arc);
+        }
+        return builder.build();
+    }
+
+    /**
+     * keep all arcs from lower to higher vertex id (and loops) and those from higher to lower, whose reverse arc does
+     * not exist - checked by binary search in the sorted packed (lower, higher) keys of the former.
+     */
+    private static CsrGraph toUndirectedGraph(int vertexCount, int arcCount, int[] sources, int[] targets,
+                                              int[] weights) {
+        int ascendingCount = 0;
+        for (int arc = 0; arc < arcCount; arc++) {
+            if (sources[arc] <= targets[arc]) {
+                ascendingCount++;
+            }
+        }
+        var ascendingKeys = new long[ascendingCount];
+        int key = 0;
+        for (int arc = 0; arc < arcCount; arc++) {
+            if (sources[arc] <= targets[arc]) {
+                ascendingKeys[key++] = pack(sources[arc], targets[arc]);
+            }
+        }
+        Arrays.parallelSort(ascendingKeys);
+        var builder = CsrGraph.builder(vertexCount, arcCount);
+        int edgeId = 0;
+        for (int arc = 0; arc < arcCount; arc++) {
+            if (sources[arc] <= targets[arc]
+                    || Arrays.binarySearch(ascendingKeys, pack(targets[arc], sources[arc])) < 0) {
+                builder.addEdge(sources[arc], targets[arc], weights[arc], edgeId++);
+            }
+        }
+        return builder.build();
+    }
+
+    private static long pack(int lower, int higher) {
+        return (long) lower << 32 | higher;
+    }
+
+    @Override
+    public void write(GraphFile graphFile, Path path) throws IOException {
+        try (var writer = Files.newBufferedWriter(path)) {
+            writer.write("c graph-algorithms-visualizer export - every undirected edge as two arcs");
+            writer.newLine();
+            writer.write("p sp %d %d".formatted(graphFile.graph().getVertexCount(), 2 * graphFile.getEdgeCount()));
+            writer.newLine();
+            graphFile.forEachEdge((source, target, weight) -> {
+                writeArc(writer, source + 1, target + 1, weight);
+                writeArc(writer, target + 1, source + 1, weight);
+            });
+        }
+    }
+
+    private static void writeArc(Writer writer, int source, int target, int weight) throws IOException {
+        writer.write("a ");
+        writer.write(Integer.toString(source));
+        writer.write(' ');
+        writer.write(Integer.toString(target));
+        writer.write(' ');
+        writer.write(Integer.toString(weight));
+        writer.write('\n');
+    }
+}
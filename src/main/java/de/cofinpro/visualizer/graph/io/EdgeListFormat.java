@@ -0,0 +1,67 @@
+package de.cofinpro.visualizer.graph.io;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * plain edge list format: one undirected edge per line as "source target [weight]" with non-negative vertex ids
+ * (weight 1, if omitted). Lines starting with '#' or '%' are comments. No coordinates or labels are stored.
+ * Read directed (for the headless batch mode), each line is one arc from source to target.
+ */
+class EdgeListFormat implements GraphFileFormat {
+
+    private static final int DEFAULT_WEIGHT = 1;
+
+    @Override
+    public GraphFile read(Path path) throws IOException {
+        return read(path, false);
+    }
+
+    @Override
+    public GraphFile readDirected(Path path) throws IOException {
+        return read(path, true);
+    }
+
+    private GraphFile read(Path path, boolean directed) throws IOException {
+        var builder = CsrGraph.builder(0, (int) Math.min(Integer.MAX_VALUE - 8, Files.size(path) / 8));
+        try (var scanner = new ByteScanner(path)) {
+            int lineId = 0;
+            while (!scanner.isAtEnd()) {
+                if (!scanner.isAtEndOfLine() && scanner.peek() != '#' && scanner.peek() != '%') {
+                    int source = scanner.nextInt();
+                    int target = scanner.nextInt();
+                    int weight = scanner.isAtEndOfLine() ? DEFAULT_WEIGHT : scanner.nextInt();
+                    if (source < 0 || target < 0) {
+                        throw scanner.error("negative vertex id");
+                    }
+                    if (directed) {
+                        builder.addArc(source, target, weight, lineId++);
+                    } else {
+                        builder.addEdge(source, target, weight, lineId++);
+                    }
+                }
+                scanner.skipLine();
+            }
+        }
+        return new GraphFile(builder.build(), null, null, null);
+    }
+
+    @Override
+    public void write(GraphFile graphFile, Path path) throws IOException {
+        try (var writer = Files.newBufferedWriter(path)) {
+            writer.write("# %d vertices, %d edges: source target weight%n"
+                    .formatted(graphFile.graph().getVertexCount(), graphFile.getEdgeCount()));
+            graphFile.forEachEdge((source, target, weight) -> {
+                writer.write(Integer.toString(source));
+                writer.write(' ');
+                writer.write(Integer.toString(target));
+                writer.write(' ');
+                writer.write(Integer.toString(weight));
+                writer.newLine();
+            });
+        }
+    }
+}
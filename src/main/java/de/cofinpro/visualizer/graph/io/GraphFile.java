@@ -0,0 +1,55 @@
+package de.cofinpro.visualizer.graph.io;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+
+/**
+ * headless content of a graph file: the undirected graph (built with CsrGraph.Builder.addEdge, so the arc with the
+ * even arc id 2 * edgeId is the edge as stored) - or the directed graph of GraphFileFormat.readDirected -, and optional
+ * vertex center coordinates and labels (null, if the file does not carry them).
+ */
+public record GraphFile(CsrGraph graph, int[] xCoordinates, int[] yCoordinates, String[] labels) {
+
+    public boolean hasCoordinates() {
+        return xCoordinates != null && yCoordinates != null;
+    }
+
+    /**
+     * the vertex label stored in the file - or the vertex id as label, if the file has no labels.
+     */
+    public String label(int vertex) {
+        return labels == null ? String.valueOf(vertex) : labels[vertex];
+    }
+
+    public GraphFile withCoordinates(int[] xCoordinates, int[] yCoordinates) {
+        return new GraphFile(graph, xCoordinates, yCoordinates, labels);
+    }
+
+    /**
+     * call the consumer once per undirected edge (on its even, i.e. forward arc) in vertex order.
+     */
+    public <E extends Exception> void forEachEdge(EdgeConsumer<E> consumer) throws E {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int[] arcIds = graph.getArcIds();
+        for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                if (arcIds[arc] % 2 == 0) {
+                    consumer.accept(vertex, targets[arc], weights[arc]);
+                }
+            }
+        }
+    }
+
+    public int getEdgeCount() {
+        return graph.getArcCount() / 2;
+    }
+
+    /**
+     * callback for the edges of a graph file, that may throw a checked exception (e.g. on writing).
+     */
+    @FunctionalInterface
+    public interface EdgeConsumer<E extends Exception> {
+        void accept(int source, int target, int weight) throws E;
+    }
+}
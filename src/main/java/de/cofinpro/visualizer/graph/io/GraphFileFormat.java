@@ -0,0 +1,23 @@
+package de.cofinpro.visualizer.graph.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * reader and writer of one graph file format.
+ */
+public interface GraphFileFormat {
+
+    GraphFile read(Path path) throws IOException;
+
+    /**
+     * read the file as directed graph: every arc or line is one arc (arc ids 0 .. arcs - 1) without reverse arc -
+     * only supported by formats, which store arcs.
+     * @throws IllegalArgumentException if the format stores undirected edges only
+     */
+    default GraphFile readDirected(Path path) throws IOException {
+        throw new IllegalArgumentException("%s cannot be read as directed graph".formatted(path.getFileName()));
+    }
+
+    void write(GraphFile graphFile, Path path) throws IOException;
+}
@@ -0,0 +1,34 @@
+package de.cofinpro.visualizer.graph.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * enum of the supported graph file formats with their names, file extension and reader/writer implementation.
+ */
+@AllArgsConstructor
+@Getter
+public enum GraphFormat {
+    EDGE_LIST("Edge List", "txt", new EdgeListFormat()),
+    DIMACS("DIMACS Shortest Path Graph", "gr", new DimacsFormat()),
+    GRAPHML("GraphML", "graphml", new GraphMlFormat());
+
+    private final String formatName;
+    private final String extension;
+    private final GraphFileFormat fileFormat;
+
+    /**
+     * determine the format by the file extension of the given path.
+     */
+    public static GraphFormat of(Path path) {
+        var fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(format -> fileName.endsWith("." + format.extension))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unknown graph file format: " + path));
+    }
+}
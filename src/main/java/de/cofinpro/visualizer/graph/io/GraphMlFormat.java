@@ -0,0 +1,213 @@
+package de.cofinpro.visualizer.graph.io;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GraphML format, read and written as an XML event stream (StAX). Node ids are mapped to vertex ids in the order of
+ * their first appearance. The data keys named "weight" (edges), "label", "x" and "y" (nodes) are interpreted - the
+ * coordinates are only used, if every node has both. Edges are taken as undirected regardless of edgedefault.
+ */
+class GraphMlFormat implements GraphFileFormat {
+
+    private static final String NAMESPACE = "http://graphml.graphdrawing.org/xmlns";
+    private static final String WEIGHT = "weight";
+    private static final String LABEL = "label";
+    private static final String X = "x";
+    private static final String Y = "y";
+    private static final int DEFAULT_WEIGHT = 1;
+
+    @Override
+    public GraphFile read(Path path) throws IOException {
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try (var input = new BufferedInputStream(Files.newInputStream(path))) {
+            var reader = factory.createXMLStreamReader(input);
+            try {
+                return new Parser(reader).parse();
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IOException("invalid GraphML: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * stateful single pass over the XML events of one GraphML document.
+     */
+    private static class Parser {
+
+        private final XMLStreamReader reader;
+        private final Map<String, String> keyNames = new HashMap<>();
+        private final Map<String, Integer> vertexIds = new HashMap<>();
+        private final List<String> labels = new ArrayList<>();
+        private int[] xCoordinates = new int[16];
+        private int[] yCoordinates = new int[16];
+        private int coordinateCount = 0;
+        private final CsrGraph.Builder builder = CsrGraph.builder(0);
+        private int edgeId = 0;
+        private int currentVertex = -1;
+        private int currentSource = -1;
+        private int currentTarget = -1;
+        private int currentWeight = DEFAULT_WEIGHT;
+
+        Parser(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        GraphFile parse() throws XMLStreamException {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    startElement(reader.getLocalName());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    endElement(reader.getLocalName());
+                }
+            }
+            int vertexCount = labels.size();
+            var graph = builder.ensureVertexCount(vertexCount).build();
+            boolean hasCoordinates = vertexCount > 0 && coordinateCount == vertexCount;
+            return new GraphFile(graph,
+                    hasCoordinates ? Arrays.copyOf(xCoordinates, vertexCount) : null,
+                    hasCoordinates ? Arrays.copyOf(yCoordinates, vertexCount) : null,
+                    labels.toArray(String[]::new));
+        }
+
+        private void startElement(String element) throws XMLStreamException {
+            switch (element) {
+                case "key" -> keyNames.put(reader.getAttributeValue(null, "id"),
+                        reader.getAttributeValue(null, "attr.name"));
+                case "node" -> currentVertex = vertexId(reader.getAttributeValue(null, "id"));
+                case "edge" -> {
+                    currentSource = vertexId(reader.getAttributeValue(null, "source"));
+                    currentTarget = vertexId(reader.getAttributeValue(null, "target"));
+                    currentWeight = DEFAULT_WEIGHT;
+                }
+                case "data" -> data(keyNames.get(reader.getAttributeValue(null, "key")), reader.getElementText());
+                default -> { /* graph, graphml and unknown elements carry nothing we need */ }
+            }
+        }
+
+        private void endElement(String element) {
+            if (element.equals("node")) {
+                currentVertex = -1;
+            } else if (element.equals("edge")) {
+                builder.addEdge(currentSource, currentTarget, currentWeight, edgeId++);
+                currentSource = -1;
+            }
+        }
+
+        private void data(String keyName, String value) {
+            if (currentSource >= 0 && WEIGHT.equals(keyName)) {
+                currentWeight = Integer.parseInt(value.trim());
+            } else if (currentVertex >= 0 && LABEL.equals(keyName)) {
+                labels.set(currentVertex, value.trim());
+            } else if (currentVertex >= 0 && (X.equals(keyName) || Y.equals(keyName))) {
+                int coordinate = (int) Math.round(Double.parseDouble(value.trim()));
+                if (X.equals(keyName)) {
+                    xCoordinates[currentVertex] = coordinate;
+                } else {
+                    yCoordinates[currentVertex] = coordinate;
+                    coordinateCount++;
+                }
+            }
+        }
+
+        /**
+         * map a GraphML node id to its vertex id - assigning the next id (and the node id as default label) on first
+         * appearance.
+         */
+        private int vertexId(String nodeId) {
+            return vertexIds.computeIfAbsent(nodeId, id -> {
+                labels.add(id);
+                if (labels.size() > xCoordinates.length) {
+                    xCoordinates = Arrays.copyOf(xCoordinates, xCoordinates.length * 2);
+                    yCoordinates = Arrays.copyOf(yCoordinates, yCoordinates.length * 2);
+                }
+                return labels.size() - 1;
+            });
+        }
+    }
+
+    @Override
+    public void write(GraphFile graphFile, Path path) throws IOException {
+        try (var output = new BufferedOutputStream(Files.newOutputStream(path))) {
+            var writer = XMLOutputFactory.newFactory().createXMLStreamWriter(output, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("graphml");
+            writer.writeDefaultNamespace(NAMESPACE);
+            writeKey(writer, "d0", "edge", WEIGHT, "int");
+            writeKey(writer, "d1", "node", LABEL, "string");
+            if (graphFile.hasCoordinates()) {
+                writeKey(writer, "d2", "node", X, "int");
+                writeKey(writer, "d3", "node", Y, "int");
+            }
+            writer.writeStartElement("graph");
+            writer.writeAttribute("id", "G");
+            writer.writeAttribute("edgedefault", "undirected");
+            for (int vertex = 0; vertex < graphFile.graph().getVertexCount(); vertex++) {
+                writer.writeStartElement("node");
+                writer.writeAttribute("id", "n" + vertex);
+                writeData(writer, "d1", graphFile.label(vertex));
+                if (graphFile.hasCoordinates()) {
+                    writeData(writer, "d2", Integer.toString(graphFile.xCoordinates()[vertex]));
+                    writeData(writer, "d3", Integer.toString(graphFile.yCoordinates()[vertex]));
+                }
+                writer.writeEndElement();
+            }
+            graphFile.forEachEdge((source, target, weight) -> writeEdge(writer, source, target, weight));
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("GraphML could not be written: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeKey(XMLStreamWriter writer, String id, String target, String name, String type)
+            throws XMLStreamException {
+        writer.writeEmptyElement("key");
+        writer.writeAttribute("id", id);
+        writer.writeAttribute("for", target);
+        writer.writeAttribute("attr.name", name);
+        writer.writeAttribute("attr.type", type);
+    }
+
+    private static void writeData(XMLStreamWriter writer, String key, String value) throws XMLStreamException {
+        writer.writeStartElement("data");
+        writer.writeAttribute("key", key);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    private static void writeEdge(XMLStreamWriter writer, int source, int target, int weight) throws IOException {
+        try {
+            writer.writeStartElement("edge");
+            writer.writeAttribute("source", "n" + source);
+            writer.writeAttribute("target", "n" + target);
+            writeData(writer, "d0", Integer.toString(weight));
+            writer.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -12,15 +12,19 @@ import java.util.Map;
 @Data
 public class AlgorithmModel {
 
+    private static final String RUNNING_TEXT = "Please wait...";
+    private static final String TARGET_TEXT = "Please choose a target vertex";
+
     private final Map<State, String> stateTexts = new EnumMap<>(State.class);
 
     private State state;
     private String displayText;
+    private AlgorithmResult result;
 
     public AlgorithmModel() {
         this.state = State.SELECT_VERTEX;
         stateTexts.put(State.SELECT_VERTEX, "Please choose a starting vertex");
-        stateTexts.put(State.RUNNING, "Please wait...");
+        stateTexts.put(State.RUNNING, RUNNING_TEXT);
     }
 
     public enum State {
@@ -35,9 +39,46 @@ public class AlgorithmModel {
      * @param resultText result of the algorithm
      */
     public void setResultText(String resultText) {
+        result = null;
         stateTexts.put(State.TERMINATED, resultText);
     }
 
+    /**
+     * called by algorithm to transfer the structured result - its display text is shown on termination.
+     * @param result result of the algorithm
+     */
+    public void setResult(AlgorithmResult result) {
+        setResultText(result.getDisplayText());
+        this.result = result;
+    }
+
+    /**
+     * switch the state - a new run starts without progress.
+     */
+    public void setState(State state) {
+        this.state = state;
+        if (state == State.RUNNING) {
+            stateTexts.put(State.RUNNING, RUNNING_TEXT);
+        }
+    }
+
+    /**
+     * called by a point-to-point algorithm, that has got its start vertex and waits for the choice of the target.
+     */
+    public void selectTarget() {
+        stateTexts.put(State.SELECT_VERTEX, TARGET_TEXT);
+        state = State.SELECT_VERTEX;
+    }
+
+    /**
+     * called by the running algorithm to show its progress in the RUNNING state's text.
+     * @param done number of vertices processed
+     * @param total number of all vertices
+     */
+    public void setProgress(int done, int total) {
+        stateTexts.put(State.RUNNING, "%s %,d of %,d vertices processed".formatted(RUNNING_TEXT, done, total));
+    }
+
     public String getDisplayText() {
         return stateTexts.get(state);
     }
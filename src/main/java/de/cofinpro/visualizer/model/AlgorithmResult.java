@@ -0,0 +1,208 @@
+package de.cofinpro.visualizer.model;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.DijkstraShortestPaths;
+import de.cofinpro.visualizer.graph.Route;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * structured result of an algorithm run: one row per vertex in the order of the result (traversal or connect order,
+ * resp. vertex id order for route lengths and components) kept in primitive arrays - the vertex id, its parent vertex
+ * (for trees) and its distance (for route lengths, resp. its component number) - with a snapshot of the vertex labels.
+ * Nothing is formatted up front: the result table formats visible rows only, the export streams row by row, and the
+ * display text for the ResultLabel is the full result only for small results, a summary otherwise.
+ */
+@Getter
+public class AlgorithmResult {
+
+    public static final int NO_VERTEX = -1;
+    private static final int DISPLAY_LIMIT = 25;
+
+    private final String name;
+    private final ResultKind kind;
+    private final int start;
+    private final String[] labels;
+    private final int[] vertices;
+    /**
+     * parent vertex per row (NO_VERTEX for the start vertex) - null for route lengths.
+     */
+    private final int[] parents;
+    /**
+     * route length per row (resp. component number for components) - null for trees.
+     */
+    private final int[] distances;
+    /**
+     * additional information on the run shown with the result (e.g. the vertices settled for a route) - or null.
+     */
+    private final String note;
+
+    private AlgorithmResult(String name, ResultKind kind, int start, String[] labels, int[] vertices, int[] parents,
+                            int[] distances, String note) {
+        this.name = name;
+        this.kind = kind;
+        this.start = start;
+        this.labels = labels;
+        this.vertices = vertices;
+        this.parents = parents;
+        this.distances = distances;
+        this.note = note;
+    }
+
+    /**
+     * create the result of a traversal or spanning tree from its CSR tree arcs (from parent to child) - the start
+     * vertex is the first row.
+     */
+    public static AlgorithmResult ofTree(String name, ResultKind kind, String[] labels, CsrGraph graph, int start,
+                                         int[] treeArcs) {
+        var vertices = new int[treeArcs.length + 1];
+        var parents = new int[treeArcs.length + 1];
+        vertices[0] = start;
+        parents[0] = NO_VERTEX;
+        for (int i = 0; i < treeArcs.length; i++) {
+            vertices[i + 1] = graph.getTargets()[treeArcs[i]];
+            parents[i + 1] = graph.arcSource(treeArcs[i]);
+        }
+        return new AlgorithmResult(name, kind, start, Arrays.copyOf(labels, graph.getVertexCount()), vertices, parents,
+                null, null);
+    }
+
+    /**
+     * create the result of a shortest route search: a row for each vertex reachable from (and other than) the start.
+     */
+    public static AlgorithmResult ofRouteLengths(String name, String[] labels, int start, int[] routeLengths) {
+        return ofRouteLengths(name, labels, start, routeLengths, null);
+    }
+
+    /**
+     * create the result of a shortest route search with a note on the run (e.g. the heap operations counted).
+     */
+    public static AlgorithmResult ofRouteLengths(String name, String[] labels, int start, int[] routeLengths,
+                                                 String note) {
+        var vertices = IntStream.range(0, routeLengths.length)
+                .filter(id -> id != start && routeLengths[id] != DijkstraShortestPaths.UNREACHABLE)
+                .toArray();
+        var distances = Arrays.stream(vertices).map(id -> routeLengths[id]).toArray();
+        return new AlgorithmResult(name, ResultKind.ROUTE_LENGTHS, start, Arrays.copyOf(labels, routeLengths.length),
+                vertices, null, distances, note);
+    }
+
+    /**
+     * create the result of a point-to-point route search: a row for each vertex on the route (start first) with its
+     * route length from the start - no rows but the start, if the target is not reachable.
+     */
+    public static AlgorithmResult ofRoute(String name, String[] labels, CsrGraph graph, Route route) {
+        var vertices = new int[route.arcs().length + 1];
+        var distances = new int[route.arcs().length + 1];
+        vertices[0] = route.source();
+        for (int i = 0; i < route.arcs().length; i++) {
+            int arc = route.arcs()[i];
+            vertices[i + 1] = graph.getTargets()[arc];
+            distances[i + 1] = distances[i] + graph.getWeights()[arc];
+        }
+        var note = "%,d of %,d vertices settled".formatted(route.settledCount(), graph.getVertexCount());
+        if (!route.isFound()) {
+            note = "%s not reachable, %s".formatted(labels[route.target()], note);
+        }
+        return new AlgorithmResult(name, ResultKind.PATH, route.source(), Arrays.copyOf(labels,
+                graph.getVertexCount()), vertices, null, distances, note);
+    }
+
+    /**
+     * create the result of a component labelling: a row for each vertex (removed vertex ids, which have no label, are
+     * skipped) with its component number - renumbered in the order of the components' smallest vertex id.
+     * @param componentOf the component number per vertex id
+     */
+    public static AlgorithmResult ofComponents(String name, String[] labels, int start, int[] componentOf) {
+        var snapshot = Arrays.copyOf(labels, componentOf.length);
+        var vertices = IntStream.range(0, componentOf.length).filter(id -> snapshot[id] != null).toArray();
+        var numbers = new int[componentOf.length];
+        Arrays.fill(numbers, NO_VERTEX);
+        var components = new int[vertices.length];
+        int count = 0;
+        for (int row = 0; row < vertices.length; row++) {
+            int component = componentOf[vertices[row]];
+            if (numbers[component] == NO_VERTEX) {
+                numbers[component] = count++;
+            }
+            components[row] = numbers[component];
+        }
+        return new AlgorithmResult(name, ResultKind.COMPONENTS, start, snapshot, vertices, null, components,
+                "%,d components".formatted(count));
+    }
+
+    public int getRowCount() {
+        return vertices.length;
+    }
+
+    public String getLabel(int vertexId) {
+        return vertexId == NO_VERTEX ? "" : labels[vertexId];
+    }
+
+    /**
+     * the text for the ResultLabel: the whole result in the classic format (e.g. "DFS : A -> B", "B=A, C=B" or
+     * "B=3, C=5", "A* : A -> B = 3", "Components : {A, B}, {C}"), if it is small - a summary otherwise. The note is
+     * appended in brackets.
+     */
+    public String getDisplayText() {
+        var text = getRowCount() > DISPLAY_LIMIT ? getSummaryText() : getClassicText();
+        return note == null ? text : "%s (%s)".formatted(text, note);
+    }
+
+    private String getSummaryText() {
+        if (kind == ResultKind.COMPONENTS) {
+            return "%s: %,d vertices - see the result table".formatted(name, getRowCount());
+        }
+        return "%s from %s: %,d vertices - see the result table".formatted(name, getLabel(start), getRowCount());
+    }
+
+    private String getClassicText() {
+        return switch (kind) {
+            case TRAVERSAL -> "%s : %s".formatted(name, Arrays.stream(vertices).mapToObj(this::getLabel)
+                    .collect(Collectors.joining(" -> ")));
+            case SPANNING_TREE -> IntStream.range(1, getRowCount())
+                    .mapToObj(row -> "%s=%s".formatted(getLabel(vertices[row]), getLabel(parents[row])))
+                    .sorted().collect(Collectors.joining(", "));
+            case ROUTE_LENGTHS -> IntStream.range(0, getRowCount())
+                    .mapToObj(row -> "%s=%d".formatted(getLabel(vertices[row]), distances[row]))
+                    .sorted().collect(Collectors.joining(", "));
+            case PATH -> getRowCount() == 1 ? "%s from %s".formatted(name, getLabel(start))
+                    : "%s : %s = %d".formatted(name, Arrays.stream(vertices).mapToObj(this::getLabel)
+                    .collect(Collectors.joining(" -> ")), distances[getRowCount() - 1]);
+            case COMPONENTS -> "%s : %s".formatted(name, IntStream.range(0, getRowCount()).boxed()
+                    .collect(Collectors.groupingBy(row -> distances[row], TreeMap::new, Collectors.mapping(
+                            row -> getLabel(vertices[row]), Collectors.joining(", ", "{", "}"))))
+                    .values().stream().collect(Collectors.joining(", ")));
+        };
+    }
+
+    /**
+     * stream the whole result as CSV (one line per row, header first) to the given writer.
+     */
+    public void write(Writer writer) throws IOException {
+        writer.write(parents != null ? "order,vertex,parent"
+                : kind == ResultKind.COMPONENTS ? "order,vertex,component" : "order,vertex,distance");
+        writer.write(System.lineSeparator());
+        for (int row = 0; row < getRowCount(); row++) {
+            writer.write(Integer.toString(row));
+            writer.write(',');
+            writer.write(csv(getLabel(vertices[row])));
+            writer.write(',');
+            writer.write(parents != null ? csv(getLabel(parents[row])) : Integer.toString(distances[row]));
+            writer.write(System.lineSeparator());
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,24 +1,106 @@
 package de.cofinpro.visualizer.model;
 
 import de.cofinpro.visualizer.controller.*;
+import de.cofinpro.visualizer.graph.AllPairsShortestPaths;
+import de.cofinpro.visualizer.graph.BellmanFordShortestPaths;
+import de.cofinpro.visualizer.graph.BoruvkaSpanningTree;
+import de.cofinpro.visualizer.graph.BreadthFirstTraversal;
+import de.cofinpro.visualizer.graph.Components;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.DepthFirstTraversal;
+import de.cofinpro.visualizer.graph.DijkstraShortestPaths;
+import de.cofinpro.visualizer.graph.DynamicShortestPaths;
+import de.cofinpro.visualizer.graph.KruskalSpanningTree;
+import de.cofinpro.visualizer.graph.PrimSpanningTree;
+import de.cofinpro.visualizer.graph.Progress;
+import de.cofinpro.visualizer.graph.SourceQuery;
+import de.cofinpro.visualizer.graph.heap.HeapType;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * enum to store the algorithms as selectable in the GraphVisualizer's Algorithms Menu with their
- * associated names and an instance supplier.
+ * associated names and an instance supplier. The query producer creates the headless engine of the algorithm on a
+ * CsrGraph (as used by the batch mode and the benchmarks), the result kind tells how to read its query results.
+ * Point-to-point algorithms have no (single source) query producer.
  */
 @AllArgsConstructor
 @Getter
 public enum AlgorithmType {
-    NONE("", null),
-    DEPTH_FIRST("Depth-First Search", DepthFirstSearch::new),
-    BREADTH_FIRST("Breadth-First Search", BreadthFirstSearch::new),
-    DIJKSTRA_ALGORITHM("Dijkstra's Algorithm", DijkstraAlgorithm::new),
-    PRIM_ALGORITHM("Prim's Algorithm", PrimAlgorithm::new);
+    NONE("", null, null, null),
+    DEPTH_FIRST("Depth-First Search", DepthFirstSearch::new,
+            graph -> new DepthFirstTraversal(graph)::traverse, ResultKind.TRAVERSAL),
+    BREADTH_FIRST("Breadth-First Search", BreadthFirstSearch::new,
+            graph -> new BreadthFirstTraversal(graph)::traverse, ResultKind.TRAVERSAL),
+    DIJKSTRA_ALGORITHM("Dijkstra's Algorithm", DijkstraAlgorithm::new,
+            graph -> new DijkstraShortestPaths(graph)::routeLengthsFrom, ResultKind.ROUTE_LENGTHS),
+    DIJKSTRA_PAIRING_HEAP("Dijkstra's Algorithm (Pairing Heap)", () -> new DijkstraAlgorithm(HeapType.PAIRING_HEAP),
+            graph -> new DijkstraShortestPaths(graph, HeapType.PAIRING_HEAP)::routeLengthsFrom,
+            ResultKind.ROUTE_LENGTHS),
+    BELLMAN_FORD("Bellman-Ford (SPFA)", BellmanFordAlgorithm::new,
+            graph -> new BellmanFordShortestPaths(graph)::routeLengthsFrom, ResultKind.ROUTE_LENGTHS),
+    ALL_PAIRS_DIJKSTRA("All-Pairs Dijkstra", AllPairsAlgorithm::new,
+            AlgorithmType::allPairsQuery, ResultKind.ROUTE_LENGTHS),
+    DYNAMIC_DIJKSTRA("Dynamic Dijkstra", DynamicDijkstraAlgorithm::new,
+            graph -> new DynamicShortestPaths(graph)::routeLengthsFrom, ResultKind.ROUTE_LENGTHS),
+    ASTAR_SEARCH("A* Search", AStarAlgorithm::new, null, ResultKind.PATH),
+    BIDIRECTIONAL_DIJKSTRA("Bidirectional Dijkstra", BidirectionalDijkstraAlgorithm::new, null, ResultKind.PATH),
+    CONTRACTION_HIERARCHY("Contraction Hierarchy", ContractionHierarchyAlgorithm::new, null, ResultKind.PATH),
+    PRIM_ALGORITHM("Prim's Algorithm", PrimAlgorithm::new,
+            graph -> new PrimSpanningTree(graph)::spanningTree, ResultKind.SPANNING_TREE),
+    KRUSKAL_ALGORITHM("Kruskal's Algorithm", KruskalAlgorithm::new,
+            graph -> new KruskalSpanningTree(graph)::spanningTree, ResultKind.SPANNING_TREE),
+    BORUVKA_ALGORITHM("Boruvka's Algorithm", BoruvkaAlgorithm::new,
+            graph -> new BoruvkaSpanningTree(graph)::spanningTree, ResultKind.SPANNING_TREE),
+    COMPONENTS("Connected Components", ComponentsAlgorithm::new,
+            AlgorithmType::componentsQuery, ResultKind.COMPONENTS);
 
     private final String algorithmName;
     private final Supplier<Algorithm> algorithmProducer;
-}
\ No newline at end of file
+    private final Function<CsrGraph, SourceQuery> queryProducer;
+    private final ResultKind resultKind;
+
+    /**
+     * check, if the headless engine needs an undirected (symmetric) graph: the spanning trees are built of undirected
+     * edges, and the dynamic Dijkstra reads the arcs as pairs of one edge.
+     */
+    public boolean needsUndirectedGraph() {
+        return resultKind == ResultKind.SPANNING_TREE || this == DYNAMIC_DIJKSTRA;
+    }
+
+    /**
+     * the headless all-pairs query calculates the distance matrix once (Johnson reweighted for negative weights) and
+     * answers each source by its row - closing the query closes the matrix (and deletes a memory-mapped file).
+     */
+    private static SourceQuery allPairsQuery(CsrGraph graph) {
+        try (var engine = new AllPairsShortestPaths(graph)) {
+            var matrix = engine.distances();
+            return new SourceQuery() {
+                @Override
+                public int[] run(int source) {
+                    return matrix.getRow(source);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    matrix.close();
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * the headless components query labels the components once - the labels are the same for every source.
+     */
+    private static SourceQuery componentsQuery(CsrGraph graph) {
+        var labels = Components.of(graph, Progress.NONE).labels();
+        return source -> labels;
+    }
+}
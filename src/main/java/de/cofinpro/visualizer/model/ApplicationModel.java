@@ -2,6 +2,8 @@ package de.cofinpro.visualizer.model;
 
 import de.cofinpro.visualizer.controller.Algorithm;
 import de.cofinpro.visualizer.controller.ApplicationModelListener;
+import de.cofinpro.visualizer.controller.Player;
+import de.cofinpro.visualizer.graph.io.GraphFile;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -9,6 +11,7 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static de.cofinpro.visualizer.model.AlgorithmModel.State.STOPPED;
 
@@ -25,6 +28,10 @@ public class ApplicationModel implements Serializable {
     @Getter
     private final GraphModel graphModel = new GraphModel();
     private transient AlgorithmModel algorithmModel;
+    private transient Algorithm algorithm;
+    private transient AlgorithmType algorithmType;
+    @Getter
+    private final transient ResultCache resultCache = new ResultCache();
 
     private final transient List<ApplicationModelListener> listeners = new ArrayList<>();
 
@@ -44,18 +51,34 @@ public class ApplicationModel implements Serializable {
         listeners.forEach(listener -> listener.updateAlgorithmState(algorithmModel));
     }
 
+    private void notifyGraphUpdate(GraphFile graphFile) {
+        listeners.forEach(listener -> listener.updateGraph(graphFile));
+    }
+
+    private void notifyRenderModeUpdate(RenderMode renderMode) {
+        listeners.forEach(listener -> listener.updateRenderMode(renderMode));
+    }
+
     /**
      * on mode change, a possibly running algorithm is stopped.
      * @param mode the changed mode selected.
      */
     public void setMode(Mode mode) {
-        if (algorithmIsRunning()) {
+        if (algorithmIsRunning() && !followsGraphEdits(mode)) {
             switchAlgorithmState(STOPPED);
         }
         log.debug("setting mode to {}.", mode.getModeName());
         notifyModeUpdate(mode);
     }
 
+    /**
+     * a terminated algorithm, that follows graph edits, is kept on edit mode changes - not on a graph reset.
+     */
+    private boolean followsGraphEdits(Mode mode) {
+        return mode != Mode.RESET_MODE && algorithmModel.getState() == AlgorithmModel.State.TERMINATED
+                && algorithm.followsGraphEdits();
+    }
+
     private boolean algorithmIsRunning() {
         return algorithmModel != null && algorithmModel.getState() != STOPPED;
     }
@@ -64,6 +87,18 @@ public class ApplicationModel implements Serializable {
         algorithmModel.setState(newState);
         log.debug("switching algorithm state to {}.", newState.name());
         notifyAlgorithmStateUpdate(algorithmModel);
+        if (newState == STOPPED) {
+            algorithm.release();
+        }
+    }
+
+    /**
+     * callback used by a point-to-point algorithm after the start vertex was chosen, to ask for the target vertex.
+     */
+    public void requestTargetVertex() {
+        algorithmModel.selectTarget();
+        log.debug("algorithm waits for the target vertex.");
+        notifyAlgorithmStateUpdate(algorithmModel);
     }
 
     /**
@@ -74,22 +109,93 @@ public class ApplicationModel implements Serializable {
         switchAlgorithmState(AlgorithmModel.State.TERMINATED);
     }
 
+    /**
+     * callback used by algorithm to propagate its structured result after termination.
+     */
+    public void propagateAlgorithmResult(AlgorithmResult result) {
+        algorithmModel.setResult(result);
+        switchAlgorithmState(AlgorithmModel.State.TERMINATED);
+    }
+
+    /**
+     * callback used by the algorithm's background run to propagate its (throttled) progress - only while running.
+     */
+    public void propagateAlgorithmProgress(int done, int total) {
+        if (algorithmModel != null && algorithmModel.getState() == AlgorithmModel.State.RUNNING) {
+            algorithmModel.setProgress(done, total);
+            notifyAlgorithmStateUpdate(algorithmModel);
+        }
+    }
+
     /**
      * create and start the algorithm of given type and notify listeners.
      * @param algorithmType the type of algorithm to start.
      */
     public void startAlgorithm(AlgorithmType algorithmType) {
+        if (algorithmIsRunning()) {
+            switchAlgorithmState(STOPPED);
+        }
         setMode(Mode.NONE);
-        notifyAlgorithmUpdate(algorithmType.getAlgorithmProducer().get().setApplicationModel(this));
+        if (algorithm != null) {
+            algorithm.release();
+        }
+        this.algorithmType = algorithmType;
+        algorithm = algorithmType.getAlgorithmProducer().get().setApplicationModel(this);
+        notifyAlgorithmUpdate(algorithm);
         algorithmModel = new AlgorithmModel();
         log.debug("starting algorithm {}.", algorithmType.getAlgorithmName());
         notifyAlgorithmStateUpdate(algorithmModel);
     }
 
+    /**
+     * look up the cached result of the current algorithm from the given start vertex on the given graph revision.
+     */
+    public Optional<Algorithm.Result> getCachedResult(int vertexId, long revision) {
+        return resultCache.get(algorithmType, vertexId, revision);
+    }
+
+    /**
+     * cache the result of the current algorithm from the given start vertex computed on the given graph revision.
+     */
+    public void cacheResult(int vertexId, long revision, Algorithm.Result result) {
+        resultCache.put(algorithmType, vertexId, revision, result);
+    }
+
+    /**
+     * return the Player of the current algorithm (as controlled by the Playback menu) - or Optional.empty(), if there
+     * is none or it was stopped.
+     */
+    public Optional<Player> getPlayer() {
+        return algorithmIsRunning() ? Optional.of(algorithm.getPlayer()) : Optional.empty();
+    }
+
     /**
      * request a full graph and graph model reset (as triggered by File->New)
      */
     public void requestResetGraph() {
         setMode(Mode.RESET_MODE);
     }
-}
\ No newline at end of file
+
+    /**
+     * replace the graph by the one read from a file (as triggered by File->Open): the graph is reset and the
+     * listeners are notified to build the new graph.
+     * @param graphFile the graph read.
+     */
+    public void loadGraph(GraphFile graphFile) {
+        requestResetGraph();
+        log.debug("loading graph with {} vertices and {} edges.", graphFile.graph().getVertexCount(),
+                graphFile.getEdgeCount());
+        notifyGraphUpdate(graphFile);
+    }
+
+    /**
+     * switch the render mode of the graph (as triggered by the View menu) - a possibly running algorithm is stopped.
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        if (algorithmIsRunning()) {
+            switchAlgorithmState(STOPPED);
+        }
+        log.debug("setting render mode to {}.", renderMode.getRenderModeName());
+        notifyRenderModeUpdate(renderMode);
+    }
+}
@@ -1,5 +1,12 @@
 package de.cofinpro.visualizer.model;
 
+import de.cofinpro.visualizer.controller.GraphModelListener;
+import de.cofinpro.visualizer.graph.ContractionHierarchy;
+import de.cofinpro.visualizer.graph.CsrGraph;
+import de.cofinpro.visualizer.graph.EpochMarks;
+import de.cofinpro.visualizer.graph.IntBag;
+import de.cofinpro.visualizer.graph.SpatialGrid;
+import de.cofinpro.visualizer.graph.io.GraphFile;
 import de.cofinpro.visualizer.view.Edge;
 import de.cofinpro.visualizer.view.Vertex;
 import lombok.Getter;
@@ -7,190 +14,630 @@ import lombok.Getter;
 import javax.swing.JLabel;
 import java.awt.Component;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * model class to keep track of the SwingComponents in the GraphPanel. Also, vertex connections and the
- * grouping of edges with reversed edges and their label are modeled and the graph traversal are performed.
+ * model class of the graph as drawn. Vertices and edges are identified by stable int ids (removals leave holes), their
+ * geometry, labels, weights and selection state are kept in primitive arrays indexed by these ids - which is all a
+ * renderer needs. The Swing components of the component render mode (vertices, edges in both directions and weight
+ * labels) are an optional layer on top, attached by id. Vertex centers and edge lines are kept in spatial indices for
+ * hit-testing. Vertex connections are modeled by ModelVertex and ModelEdge: the two directed ModelEdges of an edge are
+ * twins (arc id ^ 1), and the slot of each ModelEdge in its start vertex' edge list is kept by arc id, so removing an
+ * edge is O(1) and removing a vertex O(degree). The selection is kept in EpochMarks together with the ids selected
+ * since the last unselect: unselecting costs O(selected) for the view updates, the state itself is reset in O(1).
+ * The GraphModel acts as view adapter to the headless CsrGraph core, which all algorithms run on: vertex ids map to
+ * ModelVertex objects and CSR arc ids to the directed ModelEdges (edge id = arc id / 2). Every structural mutation
+ * bumps the revision, so results computed on a revision stay valid as long as it is current.
  */
 public class GraphModel implements Serializable {
 
     @Serial
-    private static final long serialVersionUID = 120L;
+    private static final long serialVersionUID = 121L;
+    public static final int REMOVED = -1;
+    private static final int GRID_CELL_SIZE = 64;
 
     /**
-     * vertices are a map with the vertex coordinates as key (since their name may not be unique).
+     * ModelVertex objects indexed by vertex id - removed vertices leave a null slot, so ids stay stable.
+     */
+    private final List<ModelVertex> verticesById = new ArrayList<>();
+    /**
+     * directed ModelEdges indexed by their arc id - removed edges leave null slots.
+     */
+    private final List<ModelEdge> modelEdgesById = new ArrayList<>();
+
+    /**
+     * vertex centers and labels (null for removed vertices) by vertex id - read only for callers.
+     */
+    @Getter
+    private int[] centerXs = new int[16];
+    @Getter
+    private int[] centerYs = new int[16];
+    @Getter
+    private String[] vertexLabels = new String[16];
+    /**
+     * edge end vertices (start REMOVED for removed edges) and weights by edge id - read only for callers.
+     */
+    @Getter
+    private int[] edgeStarts = new int[16];
+    @Getter
+    private int[] edgeEnds = new int[16];
+    @Getter
+    private int[] edgeWeights = new int[16];
+    private final Selection vertexSelection = new Selection();
+    private final Selection edgeSelection = new Selection();
+    /**
+     * slot of each directed ModelEdge in its start vertex' edge list by arc id.
+     */
+    private int[] arcSlots = new int[32];
+    @Getter
+    private int vertexCount = 0;
+    @Getter
+    private int edgeCount = 0;
+
+    /**
+     * Swing component layer: Vertex components by vertex id, the edge components by edge id, and the id of every
+     * attached component (vertex id for a Vertex, edge id for an Edge). Empty in the canvas render mode.
+     */
+    private final Map<Integer, Vertex> vertexComponents = new HashMap<>();
+    private final Map<Integer, EdgeComponents> edgeComponents = new HashMap<>();
+    private final Map<Component, Integer> componentIds = new IdentityHashMap<>();
+
+    /**
+     * spatial indices of the vertex centers and edge lines for hit-testing, kept up to date on every mutation.
+     */
+    private final SpatialGrid vertexGrid = new SpatialGrid(GRID_CELL_SIZE);
+    private final SpatialGrid edgeGrid = new SpatialGrid(GRID_CELL_SIZE);
+
+    private final transient List<GraphModelListener> listeners = new CopyOnWriteArrayList<>();
+    private transient CsrGraph graph;
+    /**
+     * contraction hierarchy of the current graph snapshot (built by a query or read next to a graph file) - dropped by
+     * every mutation like the snapshot itself.
+     */
+    private transient ContractionHierarchy contractionHierarchy;
+    /**
+     * structural revision of the graph - increased by every mutation (also by clear), never reset.
      */
-    private final Map<Point, ModelVertex> vertices = new HashMap<>();
     @Getter
-    private final List<Edge> edges = new ArrayList<>();
+    private long revision = 0;
+
+    public void addListener(GraphModelListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GraphModelListener listener) {
+        listeners.remove(listener);
+    }
 
     /**
-     * create a ModelVertex from the Vertex and put it to the map
+     * add a vertex with given label and center and return its id (the next free one).
      */
-    public void addVertex(Vertex vertex) {
-        vertices.put(vertex.getCenter(), new ModelVertex(vertex));
+    public int addVertex(String label, Point center) {
+        int id = verticesById.size();
+        verticesById.add(new ModelVertex(id, label));
+        if (id == centerXs.length) {
+            int capacity = id * 2;
+            centerXs = Arrays.copyOf(centerXs, capacity);
+            centerYs = Arrays.copyOf(centerYs, capacity);
+            vertexLabels = Arrays.copyOf(vertexLabels, capacity);
+        }
+        centerXs[id] = center.x;
+        centerYs[id] = center.y;
+        vertexLabels[id] = label;
+        vertexGrid.addPoint(id, center.x, center.y);
+        vertexCount++;
+        graphChanged();
+        return id;
     }
 
     /**
-     * the three edge-associated Swing components are bundled into a ModelEdge and together with the destination
-     * vertex added to the start and end ModelVertex. Also, the original edge is added to a simple list - used in paint.
+     * add a vertex from the given Vertex component (label and center) and attach the component.
+     * @return the id of the new vertex
      */
-    public void addEdge(Edge edge, Edge reversedEdge, JLabel weightLabel) {
-        edges.add(edge);
-        var start = vertices.get(edge.getStart());
-        var end = vertices.get(edge.getEnd());
-        start.addModelEdge(new ModelEdge(edge, reversedEdge, weightLabel, start, end));
-        end.addModelEdge(new ModelEdge(reversedEdge, edge, weightLabel, end, start));
+    public int addVertex(Vertex vertex) {
+        int id = addVertex(vertex.getVertexLabel(), vertex.getCenter());
+        attachVertex(id, vertex);
+        return id;
     }
 
-    public ModelVertex getModelVertex(Vertex vertex) {
-        return vertices.get(vertex.getCenter());
+    /**
+     * add an undirected edge with given weight between the vertices given by their ids. The two directed ModelEdges
+     * are added to the start and end ModelVertex.
+     * @return the id of the new edge
+     */
+    public int addEdge(int startId, int endId, int weight) {
+        var start = verticesById.get(startId);
+        var end = verticesById.get(endId);
+        int arcId = modelEdgesById.size();
+        int edgeId = arcId / 2;
+        var modelEdge = new ModelEdge(arcId, weight, start, end);
+        var reversedModelEdge = new ModelEdge(arcId + 1, weight, end, start);
+        modelEdgesById.add(modelEdge);
+        modelEdgesById.add(reversedModelEdge);
+        if (edgeId == edgeStarts.length) {
+            int capacity = edgeId * 2;
+            edgeStarts = Arrays.copyOf(edgeStarts, capacity);
+            edgeEnds = Arrays.copyOf(edgeEnds, capacity);
+            edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            arcSlots = Arrays.copyOf(arcSlots, 2 * capacity);
+        }
+        arcSlots[arcId] = start.addModelEdge(modelEdge);
+        arcSlots[arcId + 1] = end.addModelEdge(reversedModelEdge);
+        edgeStarts[edgeId] = startId;
+        edgeEnds[edgeId] = endId;
+        edgeWeights[edgeId] = weight;
+        edgeGrid.addSegment(edgeId, centerXs[startId], centerYs[startId], centerXs[endId], centerYs[endId]);
+        edgeCount++;
+        graphChanged();
+        listeners.forEach(listener -> listener.edgeAdded(edgeId));
+        return edgeId;
     }
 
     /**
-     * remove given vertex and all associated edges
-     * @return all swing components removed within the model
+     * add an edge from its three Swing components (the weight is parsed from the weight label) and attach them.
      */
-    public Collection<Component> removeVertexWithEdges(Vertex vertex) {
-        var modelVertex = vertices.get(vertex.getCenter());
-        Collection<Component> componentsToRemove = new HashSet<>();
-        componentsToRemove.add(vertex);
-        modelVertex.getEdges().forEach(modelEdge -> removeEdgeFromModelAndAddComponents(componentsToRemove, modelEdge));
-        vertices.remove(vertex.getCenter());
-        return componentsToRemove;
+    public void addEdge(int startId, int endId, Edge edge, Edge reversedEdge, JLabel weightLabel) {
+        int edgeId = addEdge(startId, endId, Integer.parseInt(weightLabel.getText()));
+        attachEdge(edgeId, edge, reversedEdge, weightLabel);
+    }
+
+    public void attachVertex(int id, Vertex vertex) {
+        vertexComponents.put(id, vertex);
+        componentIds.put(vertex, id);
+    }
+
+    public void attachEdge(int edgeId, Edge edge, Edge reversedEdge, JLabel weightLabel) {
+        edgeComponents.put(edgeId, new EdgeComponents(edge, reversedEdge, weightLabel));
+        componentIds.put(edge, edgeId);
+        componentIds.put(reversedEdge, edgeId);
+    }
+
+    /**
+     * drop the whole Swing component layer (when switching to the canvas render mode) - the graph itself is kept.
+     */
+    public void detachComponents() {
+        vertexComponents.clear();
+        edgeComponents.clear();
+        componentIds.clear();
+    }
+
+    /**
+     * return the attached Vertex component of the given vertex id - null in the canvas render mode.
+     */
+    public Vertex getVertexComponent(int vertexId) {
+        return vertexComponents.get(vertexId);
+    }
+
+    public ModelVertex getModelVertex(int vertexId) {
+        return verticesById.get(vertexId);
+    }
+
+    public String getVertexLabel(int vertexId) {
+        return vertexLabels[vertexId];
+    }
+
+    public boolean isVertex(int vertexId) {
+        return vertexId >= 0 && vertexId < verticesById.size() && verticesById.get(vertexId) != null;
     }
 
     /**
-     * for the given ModelEdge add edge components to remove to given set, remove them from the edges-list
-     * and remove the opposite ModelEdge from the neighbor-vertex.
+     * the exclusive upper bound of all vertex ids (live or removed).
      */
-    private void removeEdgeFromModelAndAddComponents(Collection<Component> componentsToRemove, ModelEdge modelEdge) {
-        componentsToRemove.addAll(modelEdge.getEdgeComponents());
-        edges.remove(modelEdge.to());
-        edges.remove(modelEdge.from());
-        var oppositeModelEdge = modelEdge.end().getEdges().stream()
-                .filter(me -> me.to() == modelEdge.from()).findFirst();
-        oppositeModelEdge.ifPresent(modelEdge.end().getEdges()::remove);
+    public int getVertexIdBound() {
+        return verticesById.size();
     }
 
     /**
-     * remove given edge from list and associated ModelEdges from both connecting vertices.
-     * @return all swing (edge) components removed within the model
+     * the exclusive upper bound of all edge ids (live or removed).
      */
-    public Collection<Component> removeEdge(Edge edge) {
-        var start = vertices.get(edge.getStart());
-        Collection<Component> edgeComponentsToRemove = new HashSet<>();
-        var optional = start.getEdges().stream().filter(me -> me.from() == edge).findFirst();
-        optional.ifPresent(modelEdge -> {
-            removeEdgeFromModelAndAddComponents(edgeComponentsToRemove, modelEdge);
-            start.getEdges().remove(modelEdge);
+    public int getEdgeIdBound() {
+        return modelEdgesById.size() / 2;
+    }
+
+    /**
+     * find the vertex, whose center is nearest to the given point within the given radius, by the spatial index.
+     * @return the vertex id (the highest one on equal distance, i.e. the one drawn on top) - or REMOVED, if none
+     */
+    public int findVertexAt(int x, int y, int radius) {
+        var nearest = new Nearest(radius);
+        vertexGrid.forEachCandidate(x, y, radius, id -> nearest.offer(id,
+                (double) (centerXs[id] - x) * (centerXs[id] - x) + (double) (centerYs[id] - y) * (centerYs[id] - y)));
+        return nearest.id;
+    }
+
+    /**
+     * find the edge, whose line is nearest to the given point within the given tolerance, by the spatial index and
+     * the exact point-to-segment distance.
+     * @return the edge id (the highest one on equal distance) - or REMOVED, if none
+     */
+    public int findEdgeAt(int x, int y, int tolerance) {
+        var nearest = new Nearest(tolerance);
+        edgeGrid.forEachCandidate(x, y, tolerance, edgeId -> {
+            int start = edgeStarts[edgeId];
+            int end = edgeEnds[edgeId];
+            nearest.offer(edgeId, SpatialGrid.segmentDistanceSquared(x, y, centerXs[start], centerYs[start],
+                    centerXs[end], centerYs[end]));
         });
-        return edgeComponentsToRemove;
+        return nearest.id;
+    }
+
+    /**
+     * find the ids of all vertices, whose centers may lie in the given area (by the cells of the spatial index).
+     * @return the vertex ids in ascending order - which is the drawing order
+     */
+    public int[] findVerticesIn(Rectangle area) {
+        return findIn(vertexGrid, area);
+    }
+
+    /**
+     * find the ids of all edges, whose lines may pass the given area (by the cells of the spatial index).
+     * @return the distinct edge ids in ascending order - which is the drawing order
+     */
+    public int[] findEdgesIn(Rectangle area) {
+        return findIn(edgeGrid, area);
+    }
+
+    private static int[] findIn(SpatialGrid grid, Rectangle area) {
+        var candidates = new IntBag();
+        grid.forEachCandidateIn(area.x, area.y, area.x + area.width, area.y + area.height, candidates::add);
+        return Arrays.stream(candidates.toArray()).sorted().distinct().toArray();
+    }
+
+    /**
+     * return the id of an attached Vertex or Edge component (vertex id resp. edge id).
+     */
+    public int getComponentId(Component component) {
+        return componentIds.getOrDefault(component, REMOVED);
+    }
+
+    /**
+     * return the headless CSR snapshot of the current graph. It is built lazily and cached until the next mutation.
+     * Edges are added in the order of their creation, so the arcs of each vertex keep the order of its edge list.
+     */
+    public CsrGraph getGraph() {
+        if (graph == null) {
+            var builder = CsrGraph.builder(verticesById.size(), 2 * edgeCount);
+            for (int edgeId = 0; edgeId < getEdgeIdBound(); edgeId++) {
+                if (edgeStarts[edgeId] != REMOVED) {
+                    builder.addEdge(edgeStarts[edgeId], edgeEnds[edgeId], edgeWeights[edgeId], edgeId);
+                }
+            }
+            graph = builder.build();
+        }
+        return graph;
+    }
+
+    /**
+     * the contraction hierarchy of the current graph, if one was built or read since the last mutation.
+     */
+    public Optional<ContractionHierarchy> getContractionHierarchy() {
+        return Optional.ofNullable(contractionHierarchy);
+    }
+
+    /**
+     * keep the contraction hierarchy built on the snapshot of the given revision - it is ignored, if the graph was
+     * mutated in the meantime.
+     */
+    public void setContractionHierarchy(ContractionHierarchy contractionHierarchy, long revision) {
+        if (revision == this.revision) {
+            this.contractionHierarchy = contractionHierarchy;
+        }
+    }
+
+    /**
+     * create a compact headless snapshot of the graph for export: the live vertices get consecutive ids in the order
+     * of their creation, with their centers and labels.
+     */
+    public GraphFile toGraphFile() {
+        var compactIds = new int[verticesById.size()];
+        var xCoordinates = new int[vertexCount];
+        var yCoordinates = new int[vertexCount];
+        var labels = new String[vertexCount];
+        int compactId = 0;
+        for (int id = 0; id < verticesById.size(); id++) {
+            if (vertexLabels[id] != null) {
+                compactIds[id] = compactId;
+                xCoordinates[compactId] = centerXs[id];
+                yCoordinates[compactId] = centerYs[id];
+                labels[compactId++] = vertexLabels[id];
+            }
+        }
+        var builder = CsrGraph.builder(vertexCount, 2 * edgeCount);
+        int compactEdgeId = 0;
+        for (int edgeId = 0; edgeId < getEdgeIdBound(); edgeId++) {
+            if (edgeStarts[edgeId] != REMOVED) {
+                builder.addEdge(compactIds[edgeStarts[edgeId]], compactIds[edgeEnds[edgeId]], edgeWeights[edgeId],
+                        compactEdgeId++);
+            }
+        }
+        return new GraphFile(builder.build(), xCoordinates, yCoordinates, labels);
+    }
+
+    /**
+     * map the CSR arc indices of an algorithm result (in the graph snapshot given by getGraph()) to their ModelEdges.
+     * @return Queue containing the ModelEdges in the order of the arcs given
+     */
+    public Queue<ModelEdge> toModelEdges(int[] arcs) {
+        int[] arcIds = getGraph().getArcIds();
+        Queue<ModelEdge> modelEdges = new ArrayDeque<>(arcs.length);
+        for (int arc : arcs) {
+            modelEdges.offer(modelEdgesById.get(arcIds[arc]));
+        }
+        return modelEdges;
+    }
+
+    /**
+     * remove the vertex with given id and all associated edges - in O(degree), as the vertex' edges are removed from
+     * the end of its edge list.
+     * @return all swing components removed within the model (empty in canvas render mode)
+     */
+    public Collection<Component> removeVertexWithEdges(int vertexId) {
+        var edges = verticesById.get(vertexId).getEdges();
+        Collection<Component> componentsToRemove = new ArrayList<>();
+        while (!edges.isEmpty()) {
+            componentsToRemove.addAll(removeEdge(edges.get(edges.size() - 1).id() / 2));
+        }
+        var vertex = vertexComponents.remove(vertexId);
+        if (vertex != null) {
+            componentIds.remove(vertex);
+            componentsToRemove.add(vertex);
+        }
+        verticesById.set(vertexId, null);
+        vertexGrid.removePoint(vertexId, centerXs[vertexId], centerYs[vertexId]);
+        vertexLabels[vertexId] = null;
+        vertexSelection.unselect(vertexId);
+        vertexCount--;
+        graphChanged();
+        listeners.forEach(listener -> listener.vertexRemoved(vertexId));
+        return componentsToRemove;
+    }
+
+    /**
+     * remove the edge with given id and its two ModelEdges from both connecting vertices (O(1) by their slots).
+     * @return all swing (edge) components removed within the model (empty in canvas render mode)
+     */
+    public Collection<Component> removeEdge(int edgeId) {
+        removeArc(2 * edgeId);
+        removeArc(2 * edgeId + 1);
+        int start = edgeStarts[edgeId];
+        int end = edgeEnds[edgeId];
+        edgeGrid.removeSegment(edgeId, centerXs[start], centerYs[start], centerXs[end], centerYs[end]);
+        edgeStarts[edgeId] = REMOVED;
+        edgeSelection.unselect(edgeId);
+        edgeCount--;
+        graphChanged();
+        listeners.forEach(listener -> listener.edgeRemoved(edgeId));
+        var components = edgeComponents.remove(edgeId);
+        if (components == null) {
+            return List.of();
+        }
+        components.all().forEach(componentIds::remove);
+        return components.all();
+    }
+
+    /**
+     * swap-remove the ModelEdge of the given arc id from its start vertex' edge list and update the slot of the
+     * ModelEdge moved.
+     */
+    private void removeArc(int arcId) {
+        var moved = modelEdgesById.get(arcId).start().removeModelEdge(arcSlots[arcId]);
+        if (moved != null) {
+            arcSlots[moved.id()] = arcSlots[arcId];
+        }
+        modelEdgesById.set(arcId, null);
+    }
+
+    /**
+     * invalidate the CSR snapshot and bump the revision after a structural mutation.
+     */
+    private void graphChanged() {
+        graph = null;
+        contractionHierarchy = null;
+        revision++;
     }
 
     /**
      * model clear used when File->New is handled.
      */
     public void clear() {
-        vertices.clear();
-        edges.clear();
+        verticesById.clear();
+        modelEdgesById.clear();
+        Arrays.fill(vertexLabels, null);
+        vertexSelection.clear();
+        edgeSelection.clear();
+        vertexCount = 0;
+        edgeCount = 0;
+        vertexGrid.clear();
+        edgeGrid.clear();
+        detachComponents();
+        graphChanged();
     }
 
     /**
-     * unselect all vertices and edges.
+     * unselect all vertices and edges: only the ids selected since the last unselect are visited (to update their
+     * components and damage their areas).
      */
     public void unselect() {
-        vertices.values().forEach(modelVertex -> {
-            modelVertex.setVisited(false);
-            modelVertex.setSelected(false);
-            modelVertex.getVertex().unselect();
-        });
-        edges.forEach(Edge::unselect);
+        vertexSelection.toBitSet().stream().forEach(this::unselectVertex);
+        edgeSelection.toBitSet().stream().forEach(this::unselectEdge);
+        vertexSelection.clear();
+        edgeSelection.clear();
     }
 
-    public void selectVertex(Vertex vertex) {
-        vertices.get(vertex.getCenter()).setSelected(true);
-        vertex.select();
+    public boolean isVertexSelected(int vertexId) {
+        return vertexSelection.isSelected(vertexId);
     }
 
-    private void selectVertex(ModelVertex vertex) {
-        vertex.setVisited(true);
-        vertex.setSelected(true);
-        vertex.getVertex().select();
+    public boolean isEdgeSelected(int edgeId) {
+        return edgeSelection.isSelected(edgeId);
     }
 
     /**
-     * called from Algorithm.Player and traverses the graph for one more edge and vertex (marking by colors)
+     * the ids of the selected vertices - in O(selected).
+     */
+    public BitSet getSelectedVertices() {
+        return vertexSelection.toBitSet();
+    }
+
+    /**
+     * the ids of the selected edges - in O(selected).
+     */
+    public BitSet getSelectedEdges() {
+        return edgeSelection.toBitSet();
+    }
+
+    public void selectVertex(int vertexId) {
+        vertexSelection.select(vertexId);
+        var vertex = vertexComponents.get(vertexId);
+        if (vertex != null) {
+            vertex.select();
+        }
+        fireVertexChanged(vertexId);
+    }
+
+    /**
+     * reset the selection color of a single vertex (e.g. after an edge was added from it).
+     */
+    public void unselectVertex(int vertexId) {
+        vertexSelection.unselect(vertexId);
+        var vertex = vertexComponents.get(vertexId);
+        if (vertex != null) {
+            vertex.unselect();
+        }
+        fireVertexChanged(vertexId);
+    }
+
+    /**
+     * called from Algorithm.Player and traverses the graph for one more edge and vertex (marking by colors).
+     * Only the edge of the originally drawn direction is painted, so that one is selected.
      * @param edge the ModelEdge pointing towards the vertex to select.
      */
     public void selectEdgeAndNeighborVertex(ModelEdge edge) {
-        selectVertex(edge.end());
-        if (edges.contains(edge.from())) {
-            edge.from().select();
-        } else {
-            edge.to().select();
+        selectVertex(edge.end().getId());
+        selectEdge(edge.id() / 2);
+    }
+
+    public void selectEdge(int edgeId) {
+        edgeSelection.select(edgeId);
+        var components = edgeComponents.get(edgeId);
+        if (components != null) {
+            components.edge().select();
+        }
+        fireEdgeChanged(edgeId);
+    }
+
+    public void unselectEdge(int edgeId) {
+        edgeSelection.unselect(edgeId);
+        var components = edgeComponents.get(edgeId);
+        if (components != null) {
+            components.edge().unselect();
         }
+        fireEdgeChanged(edgeId);
+    }
+
+    private void fireVertexChanged(int vertexId) {
+        listeners.forEach(listener -> listener.vertexChanged(vertexId));
+    }
+
+    private void fireEdgeChanged(int edgeId) {
+        listeners.forEach(listener -> listener.edgeChanged(edgeId));
     }
 
     /**
-     * entry point to perform a DFS on this graph model - calls private recursive method
-     * @param startVertex the start vertex for DFS
-     * @return Queue containing the ModelEdges in the order of traversal
+     * helper to keep the id with the smallest squared distance within a maximal distance.
      */
-    public Queue<ModelEdge> depthFirstSearch(Vertex startVertex) {
-        Queue<ModelEdge> traverseQueue = new ArrayDeque<>();
-        var start = vertices.get(startVertex.getCenter());
-        selectVertex(start);
-        return depthFirstSearch(traverseQueue, start);
-    }
+    private static class Nearest {
+
+        private final double maxDistanceSquared;
+        private double distanceSquared = Double.MAX_VALUE;
+        private int id = REMOVED;
 
-    private Queue<ModelEdge> depthFirstSearch(Queue<ModelEdge> traverseQueue, ModelVertex vertex) {
-        for (var edge: vertex.getEdges()) {
-            if (!edge.end().isVisited()) {
-                edge.end().setVisited(true);
-                traverseQueue.offer(edge);
-                depthFirstSearch(traverseQueue, edge.end());
+        Nearest(double maxDistance) {
+            this.maxDistanceSquared = maxDistance * maxDistance;
+        }
+
+        void offer(int candidate, double candidateDistanceSquared) {
+            if (candidateDistanceSquared <= maxDistanceSquared && (candidateDistanceSquared < distanceSquared
+                    || candidateDistanceSquared == distanceSquared && candidate > id)) {
+                distanceSquared = candidateDistanceSquared;
+                id = candidate;
             }
         }
-        return traverseQueue;
     }
 
     /**
-     * entry point to perform a BFS on this graph model - calls private recursive method
-     * @param startVertex the start vertex for DFS
-     * @return Queue containing the ModelEdges in the order of traversal
+     * the selected ids (vertex or edge ids) in EpochMarks, so clearing the selection is O(1), and the ids selected
+     * since then in a bag, which yields the selection in O(selected). Ids unselected meanwhile stay in the bag, until it
+     * has doubled its size since the last compaction (e.g. by repeated seeks of the Player) - amortized O(1).
      */
-    public Queue<ModelEdge> breadthFirstSearch(Vertex startVertex) {
-        Queue<ModelEdge> traverseQueue = new ArrayDeque<>();
-        var start = vertices.get(startVertex.getCenter());
-        selectVertex(start);
-        return breadthFirstSearch(traverseQueue, List.of(vertices.get(startVertex.getCenter())));
-    }
+    private static class Selection implements Serializable {
 
-    private Queue<ModelEdge> breadthFirstSearch(Queue<ModelEdge> traverseQueue, List<ModelVertex> levelVertices) {
-        if (levelVertices.isEmpty()) {
-            return traverseQueue;
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private static final int MIN_COMPACT_SIZE = 64;
+
+        private final EpochMarks marks = new EpochMarks(16);
+        private final IntBag ids = new IntBag();
+        private int compactSize = MIN_COMPACT_SIZE;
+
+        boolean isSelected(int id) {
+            return marks.isMarked(id);
         }
-        var unvisitedNeighborEdges = levelVertices.stream()
-                .flatMap(vertex -> vertex.getEdges().stream())
-                .filter(edge -> !edge.end().isVisited()).toList();
-        unvisitedNeighborEdges.forEach(edge -> {
-            if (!edge.end().isVisited()) {
-                edge.end().setVisited(true);
-                traverseQueue.offer(edge);
+
+        void select(int id) {
+            if (marks.isMarked(id)) {
+                return;
             }
-        });
-        breadthFirstSearch(traverseQueue, unvisitedNeighborEdges.stream().map(ModelEdge::end).toList());
-        return traverseQueue;
+            marks.mark(id);
+            if (ids.size() >= compactSize) {
+                ids.removeIf(selectedId -> !marks.isMarked(selectedId));
+                compactSize = Math.max(MIN_COMPACT_SIZE, 2 * ids.size());
+            }
+            ids.add(id);
+        }
+
+        void unselect(int id) {
+            marks.unmark(id);
+        }
+
+        BitSet toBitSet() {
+            var bitSet = new BitSet();
+            ids.forEach(id -> {
+                if (marks.isMarked(id)) {
+                    bitSet.set(id);
+                }
+            });
+            return bitSet;
+        }
+
+        void clear() {
+            marks.clear();
+            ids.clear();
+            compactSize = MIN_COMPACT_SIZE;
+        }
+    }
+
+    /**
+     * the Swing components of an edge: the edge as drawn, its reversed edge and the weight label.
+     */
+    private record EdgeComponents(Edge edge, Edge reversedEdge, JLabel weightLabel) implements Serializable {
+
+        Collection<Component> all() {
+            return List.of(edge, reversedEdge, weightLabel);
+        }
     }
-}
\ No newline at end of file
+}
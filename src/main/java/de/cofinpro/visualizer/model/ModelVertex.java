@@ -1,45 +1,70 @@
 package de.cofinpro.visualizer.model;
 
-import de.cofinpro.visualizer.view.Vertex;
 import lombok.Data;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 /**
- * ModelVertex object that wraps a Vertex and adds its connected edges (as <code>List&lt;ModelEdge&gt;</code>)
+ * ModelVertex object that keeps a vertex' label and its connected edges (as <code>List&lt;ModelEdge&gt;</code>).
+ * The id is the vertex index in the CsrGraph. The edge list is unordered: an edge is removed by its slot (kept by the
+ * GraphModel) in O(1) by moving the last edge into that slot. Selection state is not kept here but by id in the
+ * GraphModel, so equality only depends on the id.
  */
 @Data
 public class ModelVertex {
 
-    private final Vertex vertex;
-    private boolean selected = false;
-    private boolean visited = false;
-    List<ModelEdge> edges = new ArrayList<>();
+    private final int id;
+    private final String label;
+    private final List<ModelEdge> edges = new ArrayList<>();
 
-    public ModelVertex(Vertex vertex) {
-        this.vertex = vertex;
+    public ModelVertex(int id, String label) {
+        this.id = id;
+        this.label = label;
     }
 
-    public void addModelEdge(ModelEdge modelEdge) {
+    /**
+     * add the ModelEdge at the end of the edge list.
+     * @return the slot (index) of the ModelEdge in the edge list
+     */
+    public int addModelEdge(ModelEdge modelEdge) {
         edges.add(modelEdge);
+        return edges.size() - 1;
+    }
+
+    /**
+     * remove the ModelEdge in the given slot by moving the last ModelEdge of the list into it.
+     * @return the ModelEdge moved into the slot - or null, if the last one was removed
+     */
+    ModelEdge removeModelEdge(int slot) {
+        var last = edges.remove(edges.size() - 1);
+        if (slot == edges.size()) {
+            return null;
+        }
+        edges.set(slot, last);
+        return last;
+    }
+
+    /**
+     * the edges starting at this vertex (read only, in no particular order).
+     */
+    public List<ModelEdge> getEdges() {
+        return Collections.unmodifiableList(edges);
     }
 
     @Override
     public int hashCode() {
-        return vertex.hashCode() * 31 + Objects.hashCode(selected) * 11 + Objects.hashCode(visited);
+        return Integer.hashCode(id);
     }
 
     @Override
     public boolean equals(Object other) {
-        return (other instanceof ModelVertex mv) && vertex.equals(mv.vertex)
-                && selected == mv.selected && visited == mv.visited;
+        return (other instanceof ModelVertex mv) && id == mv.id;
     }
 
     @Override
     public String toString() {
-        return "ModelVertex{vertex:'" + vertex.getVertexLabel() +"', selected: " + selected
-                + "', visited: " + visited + ", edges" + edges + "}";
+        return "ModelVertex{id: " + id + ", label:'" + label + "', edges" + edges + "}";
     }
-}
\ No newline at end of file
+}
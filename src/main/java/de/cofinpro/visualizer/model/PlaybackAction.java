@@ -0,0 +1,22 @@
+package de.cofinpro.visualizer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * enum of the actions on the algorithm playback as selectable in the GraphVisualizer's Playback Menu
+ */
+@AllArgsConstructor
+@Getter
+public enum PlaybackAction {
+    PAUSE_RESUME("Pause / Resume"),
+    STEP_FORWARD("Step Forward"),
+    STEP_BACK("Step Back"),
+    RESTART("Restart"),
+    SEEK("Seek to Step..."),
+    SKIP_TO_END("Skip to End"),
+    FASTER("Faster"),
+    SLOWER("Slower");
+
+    private final String actionName;
+}
@@ -0,0 +1,17 @@
+package de.cofinpro.visualizer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * enum to store the possible render modes of the GraphPanel as selectable in the GraphVisualizer's View Menu:
+ * one Swing component per vertex, edge and weight label - or all drawn from the GraphModel's arrays on a single canvas.
+ */
+@AllArgsConstructor
+@Getter
+public enum RenderMode {
+    COMPONENTS("Swing Components"),
+    CANVAS("Single Canvas");
+
+    private final String renderModeName;
+}
@@ -0,0 +1,112 @@
+package de.cofinpro.visualizer.model;
+
+import de.cofinpro.visualizer.controller.Algorithm;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * bounded LRU cache of algorithm results keyed by algorithm type, start vertex id and graph revision - so repeating a
+ * query on an unchanged graph (the same start vertex clicked again, or after switching algorithms) does not recompute.
+ * The cache is bounded by its total weight (the ints held by the results' arrays) and its number of entries: the least
+ * recently used entries are evicted first. As the graph revision only increases, entries of older revisions can never
+ * be hit again - they are evicted as soon as a result of a newer revision is cached. Hits, misses and evictions are
+ * counted. The cache is used in the EDT only.
+ */
+@Slf4j
+public class ResultCache {
+
+    private static final long MAX_WEIGHT = 8_000_000L;
+    private static final int MAX_ENTRIES = 64;
+
+    private final Map<Key, Algorithm.Result> results = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxWeight;
+    private final int maxEntries;
+    @Getter
+    private long weight = 0;
+    private long newestRevision = 0;
+    @Getter
+    private long hits = 0;
+    @Getter
+    private long misses = 0;
+    @Getter
+    private long evictions = 0;
+
+    public ResultCache() {
+        this(MAX_WEIGHT, MAX_ENTRIES);
+    }
+
+    public ResultCache(long maxWeight, int maxEntries) {
+        this.maxWeight = maxWeight;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * look up the result of the given query and count a hit or miss.
+     */
+    public Optional<Algorithm.Result> get(AlgorithmType algorithmType, int start, long revision) {
+        var result = results.get(new Key(algorithmType, start, revision));
+        if (result != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        log.debug("result cache {} for {} from {} (revision {}): {} hits, {} misses, {} evictions.",
+                result != null ? "hit" : "miss", algorithmType, start, revision, hits, misses, evictions);
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * cache the result of the given query - a result heavier than the whole cache is not cached.
+     */
+    public void put(AlgorithmType algorithmType, int start, long revision, Algorithm.Result result) {
+        if (revision < newestRevision) {
+            return;
+        }
+        if (revision > newestRevision) {
+            newestRevision = revision;
+            results.entrySet().removeIf(entry -> entry.getKey().revision() < revision && evict(entry.getValue()));
+        }
+        long resultWeight = weigh(result);
+        if (resultWeight > maxWeight) {
+            return;
+        }
+        var replaced = results.put(new Key(algorithmType, start, revision), result);
+        if (replaced != null) {
+            weight -= weigh(replaced);
+        }
+        weight += resultWeight;
+        var iterator = results.values().iterator();
+        while (weight > maxWeight || results.size() > maxEntries) {
+            evict(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    private boolean evict(Algorithm.Result result) {
+        weight -= weigh(result);
+        evictions++;
+        return true;
+    }
+
+    /**
+     * the weight of a result: the number of ints (resp. label references) held by its arrays.
+     */
+    private static long weigh(Algorithm.Result result) {
+        var algorithmResult = result.result();
+        return (long) result.playArcs().length + algorithmResult.getLabels().length
+                + algorithmResult.getVertices().length
+                + (algorithmResult.getParents() != null ? algorithmResult.getParents().length : 0)
+                + (algorithmResult.getDistances() != null ? algorithmResult.getDistances().length : 0);
+    }
+
+    private record Key(AlgorithmType algorithmType, int start, long revision) {
+    }
+}
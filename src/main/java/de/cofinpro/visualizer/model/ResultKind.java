@@ -0,0 +1,27 @@
+package de.cofinpro.visualizer.model;
+
+/**
+ * enum to describe, how the int array returned by an AlgorithmType's SourceQuery is to be read.
+ */
+public enum ResultKind {
+    /**
+     * CSR arc indices of the traversal tree in the order of traversal.
+     */
+    TRAVERSAL,
+    /**
+     * CSR arc indices of a spanning tree, each arc pointing from the parent to the newly connected vertex.
+     */
+    SPANNING_TREE,
+    /**
+     * route length per vertex id (DijkstraShortestPaths.UNREACHABLE for vertices not connected to the source).
+     */
+    ROUTE_LENGTHS,
+    /**
+     * CSR arc indices of a route from the source to a target in route order.
+     */
+    PATH,
+    /**
+     * component number per vertex id (numbered in the order of the components' smallest vertex id).
+     */
+    COMPONENTS
+}
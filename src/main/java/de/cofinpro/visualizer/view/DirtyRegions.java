@@ -0,0 +1,96 @@
+package de.cofinpro.visualizer.view;
+
+import javax.swing.Timer;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * collector of the damaged rectangles of a panel between two frames. A new rectangle absorbs all regions it
+ * intersects, and the number of regions is bounded by merging the pair, whose union grows the covered area least.
+ * A single-shot swing timer hands the regions to the flush consumer once per frame - so any number of selection
+ * changes within a frame (e.g. an unselect of the whole graph) results in at most MAX_REGIONS region repaints.
+ */
+class DirtyRegions implements ActionListener {
+
+    private static final int FRAME_MILLIS = 16;
+    private static final int MAX_REGIONS = 8;
+
+    private final List<Rectangle> regions = new ArrayList<>();
+    private final Consumer<Rectangle> flush;
+    private final Timer timer = new Timer(FRAME_MILLIS, this);
+
+    DirtyRegions(Consumer<Rectangle> flush) {
+        this.flush = flush;
+        timer.setRepeats(false);
+    }
+
+    /**
+     * add a damaged rectangle, which is flushed with the next frame.
+     */
+    void add(Rectangle damage) {
+        if (damage.isEmpty()) {
+            return;
+        }
+        var region = new Rectangle(damage);
+        boolean absorbed = true;
+        while (absorbed) {
+            absorbed = false;
+            for (var iterator = regions.iterator(); iterator.hasNext(); ) {
+                var other = iterator.next();
+                if (other.intersects(region)) {
+                    region.add(other);
+                    iterator.remove();
+                    absorbed = true;
+                }
+            }
+        }
+        regions.add(region);
+        if (regions.size() > MAX_REGIONS) {
+            mergeCheapestPair();
+        }
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * drop all pending regions (e.g. when the whole panel is repainted anyway).
+     */
+    void clear() {
+        regions.clear();
+        timer.stop();
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        var pending = List.copyOf(regions);
+        regions.clear();
+        pending.forEach(flush);
+    }
+
+    private void mergeCheapestPair() {
+        int first = 0;
+        int second = 1;
+        long leastGrowth = Long.MAX_VALUE;
+        for (int i = 0; i < regions.size(); i++) {
+            for (int j = i + 1; j < regions.size(); j++) {
+                long growth = area(regions.get(i).union(regions.get(j)))
+                        - area(regions.get(i)) - area(regions.get(j));
+                if (growth < leastGrowth) {
+                    leastGrowth = growth;
+                    first = i;
+                    second = j;
+                }
+            }
+        }
+        regions.get(first).add(regions.remove(second));
+    }
+
+    private static long area(Rectangle rectangle) {
+        return (long) rectangle.width * rectangle.height;
+    }
+}
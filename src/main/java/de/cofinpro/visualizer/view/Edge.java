@@ -25,21 +25,15 @@ public class Edge extends JComponent {
     }
 
     /**
-     * switch an edge into selected stage and call parent (=GraphPanel's) repaint
+     * switch an edge into selected stage - the GraphPanel repaints the edge's region (as GraphModelListener).
      */
     public void select() {
-        if (!selected) {
-            selected = true;
-            getParent().repaint();
-        }
+        selected = true;
     }
     /**
-     * switch an edge into unselected stage and call parent (=GraphPanel's) repaint
+     * switch an edge into unselected stage - the GraphPanel repaints the edge's region (as GraphModelListener).
      */
     public void unselect() {
-        if (selected) {
-            selected = false;
-            getParent().repaint();
-        }
+        selected = false;
     }
 }
\ No newline at end of file
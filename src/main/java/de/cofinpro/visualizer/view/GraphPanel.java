@@ -3,39 +3,83 @@ package de.cofinpro.visualizer.view;
 import de.cofinpro.visualizer.controller.Algorithm;
 import de.cofinpro.visualizer.controller.GraphClickListener;
 import de.cofinpro.visualizer.controller.ApplicationModelListener;
+import de.cofinpro.visualizer.controller.GraphModelListener;
+import de.cofinpro.visualizer.graph.AutoLayout;
+import de.cofinpro.visualizer.graph.io.GraphFile;
 import de.cofinpro.visualizer.model.AlgorithmModel;
+import de.cofinpro.visualizer.model.AlgorithmResult;
 import de.cofinpro.visualizer.model.GraphModel;
 import de.cofinpro.visualizer.model.Mode;
+import de.cofinpro.visualizer.model.RenderMode;
+import de.cofinpro.visualizer.model.ResultKind;
 
 import lombok.Getter;
 
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import java.awt.BasicStroke;
+import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.awt.geom.Line2D;
-import java.util.Optional;
+import java.awt.Stroke;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
 
 /**
- * JPanel derived Container class for vertices and edges etc. - e.g. representing the graph.
+ * JPanel derived Container class for vertices and edges etc. - e.g. representing the graph. Vertices and edges are
+ * addressed by their GraphModel ids. In the COMPONENTS render mode every vertex, edge and weight label is a Swing
+ * component. In the CANVAS render mode the panel has no children and draws everything itself from the GraphModel's
+ * arrays in one pass (culled by the clip) - the mode for big graphs, which is switched to on loading one.
+ * The unchanging part of the picture (background and edges, in the canvas mode also vertices and weights) is cached
+ * in a back-buffer layer image, which paintComponent just copies. Changes damage rectangles, that are coalesced per
+ * frame: only the damaged regions of the layer are re-rendered (looked up by the spatial index) and repainted - so the
+ * cost of a selection change depends on its area, not on the graph size.
+ * A terminated components run colours every vertex by its component until the algorithm state changes again.
  */
-public class GraphPanel extends JPanel implements ApplicationModelListener {
+public class GraphPanel extends JPanel implements ApplicationModelListener, GraphModelListener {
+
+    public static final int NO_SELECTION = -1;
+    private static final int CANVAS_VERTEX_THRESHOLD = 2_000;
+    private static final int CANVAS_EDGE_THRESHOLD = 5_000;
+    private static final int LABEL_LIMIT = 5_000;
+    private static final int WIDE_STROKE_LIMIT = 20_000;
+    private static final int EDGE_COMPONENT_SIZE = 20;
+    private static final int EDGE_HIT_TOLERANCE = Vertex.getVERTEX_DIAMETER() / 10;
+    private static final int DOT_DIAMETER = 6;
+    private static final int RADIUS = Vertex.getVERTEX_DIAMETER() / 2;
+    private static final Stroke EDGE_STROKE = new BasicStroke(Vertex.getVERTEX_DIAMETER() / 10f);
+    private static final Stroke THIN_EDGE_STROKE = new BasicStroke(1f);
+    private static final Font VERTEX_FONT = new Font("Arial", Font.BOLD, Vertex.getVERTEX_DIAMETER() * 4 / 5);
+    private static final Font WEIGHT_FONT = new Font("Arial", Font.BOLD, Vertex.getVERTEX_DIAMETER() * 2 / 5);
+    private static final float GOLDEN_RATIO_CONJUGATE = 0.618034f;
 
     private final GraphModel model;
-    private Vertex selected = null;
+    private final transient DirtyRegions dirtyRegions = new DirtyRegions(this::flushRegion);
+    private transient BufferedImage layer = null;
+    private int layerDetail = 0;
+    private int selected = NO_SELECTION;
     private transient Algorithm runningAlgorithm = null;
+    /**
+     * the colour per vertex id of the components shown - null for none (or for a vertex id without component).
+     */
+    private transient Color[] componentColors = null;
     @Getter
     private Mode mode = Mode.START_MODE;
+    @Getter
+    private RenderMode renderMode = RenderMode.COMPONENTS;
 
     public GraphPanel(GraphModel model) {
         super(null);
         this.model = model;
         setName("Graph");
+        model.addListener(this);
         addMouseListener(new GraphClickListener(this));
     }
 
@@ -47,101 +91,297 @@ public class GraphPanel extends JPanel implements ApplicationModelListener {
     public void updateMode(Mode mode) {
         this.mode = mode;
         model.unselect();
-        selected = null;
+        selected = NO_SELECTION;
         if (mode == Mode.RESET_MODE) {
             this.mode = Mode.START_MODE;
+            componentColors = null;
             model.clear();
             removeAll();
-            repaint();
+            invalidateLayer();
         }
     }
 
     /**
-     * store the running algorithm and add it as mause listener (to choose a start vertex).
+     * store the running algorithm and add it as mause listener (to choose a start vertex) and mouse motion listener
+     * (e.g. to query distances on hover).
      */
     @Override
     public void updateAlgorithm(Algorithm algorithm) {
         this.runningAlgorithm = algorithm;
         algorithm.setGraphPanel(this);
         addMouseListener(algorithm);
+        addMouseMotionListener(algorithm);
     }
 
     /**
-     * listen to stop-algorithm''s in which case the running algorithm is removed as mouse listener.
+     * listen to stop-algorithm''s in which case the running algorithm is removed as mouse listener. A terminated
+     * components result colours the vertices by component, any other state change removes the colouring.
      */
     @Override
     public void updateAlgorithmState(AlgorithmModel algorithmModel) {
+        var result = algorithmModel.getResult();
+        if (algorithmModel.getState() == AlgorithmModel.State.TERMINATED && result != null
+                && result.getKind() == ResultKind.COMPONENTS) {
+            showComponents(result);
+        } else if (componentColors != null) {
+            showComponents(null);
+        }
         if (algorithmModel.getState() == AlgorithmModel.State.STOPPED) {
             removeMouseListener(runningAlgorithm);
+            removeMouseMotionListener(runningAlgorithm);
+            setToolTipText(null);
             runningAlgorithm.stopPlaying();
             runningAlgorithm = null;
         }
     }
 
     /**
-     * mark the given vertex as selected or remove selection, if null is passed.
+     * colour the vertices by the components of the given result (or back in the vertex colour for null): each
+     * component gets its own hue, spread by the golden ratio so neighbouring component numbers differ clearly.
+     */
+    private void showComponents(AlgorithmResult result) {
+        if (result == null) {
+            componentColors = null;
+        } else {
+            componentColors = new Color[result.getLabels().length];
+            var palette = new Color[result.getRowCount() == 0 ? 0
+                    : Arrays.stream(result.getDistances()).max().orElse(0) + 1];
+            Arrays.setAll(palette, component ->
+                    Color.getHSBColor(component * GOLDEN_RATIO_CONJUGATE % 1f, 0.5f, 1f));
+            for (int row = 0; row < result.getRowCount(); row++) {
+                componentColors[result.getVertices()[row]] = palette[result.getDistances()[row]];
+            }
+        }
+        if (renderMode == RenderMode.COMPONENTS) {
+            for (int id = 0; id < model.getVertexIdBound(); id++) {
+                if (model.isVertex(id) && !model.isVertexSelected(id)) {
+                    model.getVertexComponent(id).setLabelBackground(getVertexColor(id));
+                }
+            }
+        }
+        invalidateLayer();
+    }
+
+    private Color getVertexColor(int vertexId) {
+        return componentColors != null && vertexId < componentColors.length && componentColors[vertexId] != null
+                ? componentColors[vertexId] : Vertex.getVERTEX_COLOR();
+    }
+
+    /**
+     * ApplicationModelListener method, that is called on user changing the render mode in the View menu.
+     */
+    @Override
+    public void updateRenderMode(RenderMode renderMode) {
+        setRenderMode(renderMode);
+    }
+
+    /**
+     * switch the render mode: the Swing components are either all removed (CANVAS) or created for the whole graph
+     * from the model (COMPONENTS). Selections are undone.
      */
-    public void setSelected(Vertex vertex) {
-        selected = vertex;
-        if (vertex != null) {
-            model.selectVertex(vertex);
+    public void setRenderMode(RenderMode renderMode) {
+        if (renderMode == this.renderMode) {
+            return;
+        }
+        model.unselect();
+        selected = NO_SELECTION;
+        this.renderMode = renderMode;
+        removeAll();
+        model.detachComponents();
+        if (renderMode == RenderMode.COMPONENTS) {
+            createAllComponents();
+        }
+        revalidate();
+        invalidateLayer();
+    }
+
+    private void createAllComponents() {
+        int[] centerXs = model.getCenterXs();
+        int[] centerYs = model.getCenterYs();
+        for (int id = 0; id < model.getVertexIdBound(); id++) {
+            if (model.isVertex(id)) {
+                var vertex = createVertexComponent(model.getVertexLabel(id),
+                        new Point(centerXs[id] - RADIUS, centerYs[id] - RADIUS));
+                model.attachVertex(id, vertex);
+            }
+        }
+        int[] edgeStarts = model.getEdgeStarts();
+        int[] edgeEnds = model.getEdgeEnds();
+        int[] edgeWeights = model.getEdgeWeights();
+        for (int edgeId = 0; edgeId < model.getEdgeIdBound(); edgeId++) {
+            if (edgeStarts[edgeId] != GraphModel.REMOVED) {
+                var first = model.getVertexComponent(edgeStarts[edgeId]);
+                var second = model.getVertexComponent(edgeEnds[edgeId]);
+                var edge = createEdgeComponent(first, second);
+                var reversedEdge = createEdgeComponent(second, first);
+                var weightLabel = createWeightLabel(String.valueOf(edgeWeights[edgeId]), first, second);
+                model.attachEdge(edgeId, edge, reversedEdge, weightLabel);
+            }
         }
     }
 
     /**
-     * return Optional with selected vertex if any - or Optional.empty() if none is selected.
+     * mark the vertex with given id as selected.
+     */
+    public void setSelected(int vertexId) {
+        selected = vertexId;
+        model.selectVertex(vertexId);
+    }
+
+    /**
+     * undo the selection of the selected vertex, if any.
      */
-    public Optional<Vertex> getSelected() {
-        return Optional.ofNullable(selected);
+    public void clearSelected() {
+        if (selected != NO_SELECTION) {
+            model.unselectVertex(selected);
+            selected = NO_SELECTION;
+        }
     }
 
     /**
-     * find and return the vertex at the given point - or Optional.empty(), if the point is not inside a vertex circle.
+     * return OptionalInt with the selected vertex id if any - or OptionalInt.empty() if none is selected.
      */
-    public Optional<Vertex> getVertexAt(Point point) {
-        return Optional.ofNullable(getComponentAt(point) instanceof Vertex v && v.isInside(point) ? v : null);
+    public OptionalInt getSelected() {
+        return selected == NO_SELECTION ? OptionalInt.empty() : OptionalInt.of(selected);
+    }
+
+    /**
+     * the diameter vertices are drawn with in the canvas render mode: beyond the label limit they shrink to dots.
+     */
+    private int getCanvasDiameter() {
+        return model.getVertexCount() <= LABEL_LIMIT ? Vertex.getVERTEX_DIAMETER() : DOT_DIAMETER;
+    }
+
+    /**
+     * find and return the id of the vertex at the given point - or OptionalInt.empty(), if the point is not inside a
+     * vertex circle. Resolved by the GraphModel's spatial index in both render modes.
+     */
+    public OptionalInt getVertexAt(Point point) {
+        int vertexId = model.findVertexAt(point.x, point.y, getVertexRadius());
+        return vertexId == GraphModel.REMOVED ? OptionalInt.empty() : OptionalInt.of(vertexId);
+    }
+
+    /**
+     * find and return the id of the edge, whose line passes the given point within the hit tolerance - or
+     * OptionalInt.empty(). Resolved by the GraphModel's spatial index with exact point-to-segment distance.
+     */
+    public OptionalInt getEdgeAt(Point point) {
+        int edgeId = model.findEdgeAt(point.x, point.y, EDGE_HIT_TOLERANCE);
+        return edgeId == GraphModel.REMOVED ? OptionalInt.empty() : OptionalInt.of(edgeId);
+    }
+
+    /**
+     * check, if there is room at the given point - i.e. it does not hit a vertex or edge.
+     */
+    public boolean isFreeAt(Point point) {
+        return getVertexAt(point).isEmpty() && getEdgeAt(point).isEmpty();
+    }
+
+    private int getVertexRadius() {
+        return renderMode == RenderMode.COMPONENTS ? RADIUS : getCanvasDiameter() / 2;
     }
 
     /**
      * dynamically add a vertex with given label and location to the graph.
      */
     public void addVertex(String label, Point location) {
+        if (renderMode == RenderMode.COMPONENTS) {
+            model.addVertex(createVertexComponent(label, location));
+            revalidate();
+        } else {
+            model.addVertex(label, new Point(location.x + RADIUS, location.y + RADIUS));
+        }
+        dirtyRegions.add(new Rectangle(location.x, location.y, Vertex.getVERTEX_DIAMETER(),
+                Vertex.getVERTEX_DIAMETER()));
+    }
+
+    private Vertex createVertexComponent(String label, Point location) {
         var vertex = new Vertex(label, getBackground());
         vertex.setLocation(location);
-        model.addVertex(vertex);
         add(vertex);
-        revalidate();
-        repaint();
+        return vertex;
     }
 
     /**
-     * add edges between the vertices given (in both directions), and position a weight label at the edge.
+     * add edges between the vertices given by id (in both directions), and position a weight label at the edge.
      */
-    public void addEdge(String weight, Vertex first, Vertex second) {
-        var edge = new Edge(first, second);
-        edge.setBounds(new Rectangle(new Point((first.getCenter().x + second.getCenter().x) / 2 - 10,
-                (first.getCenter().y + second.getCenter().y) / 2 - 10), new Dimension(20, 20)));
+    public void addEdge(String weight, int firstId, int secondId) {
+        int edgeId;
+        if (renderMode == RenderMode.COMPONENTS) {
+            var first = model.getVertexComponent(firstId);
+            var second = model.getVertexComponent(secondId);
+            var edge = createEdgeComponent(first, second);
+            var reversedEdge = createEdgeComponent(second, first);
+            model.addEdge(firstId, secondId, edge, reversedEdge, createWeightLabel(weight, first, second));
+            edgeId = model.getComponentId(edge);
+            revalidate();
+        } else {
+            edgeId = model.addEdge(firstId, secondId, Integer.parseInt(weight));
+        }
+        dirtyRegions.add(getEdgeBounds(edgeId));
+    }
+
+    private Edge createEdgeComponent(Vertex from, Vertex to) {
+        var edge = new Edge(from, to);
+        edge.setBounds(new Rectangle(new Point((from.getCenter().x + to.getCenter().x) / 2 - EDGE_COMPONENT_SIZE / 2,
+                (from.getCenter().y + to.getCenter().y) / 2 - EDGE_COMPONENT_SIZE / 2),
+                new Dimension(EDGE_COMPONENT_SIZE, EDGE_COMPONENT_SIZE)));
         add(edge);
-        var reversedEdge = new Edge(second, first);
-        add(reversedEdge);
-        var weightLabel = createWeightLabel(weight, first, second);
-        add(weightLabel);
-        model.addEdge(edge, reversedEdge, weightLabel);
+        return edge;
+    }
+
+    /**
+     * ApplicationModelListener method, that is called after File->Open with the graph read (the panel was reset before).
+     * All vertices and edges are added in bulk with a single revalidate - files without coordinates are auto-placed.
+     * Big graphs switch the panel to the canvas render mode.
+     */
+    @Override
+    public void updateGraph(GraphFile graphFile) {
+        int vertexCount = graphFile.graph().getVertexCount();
+        if (vertexCount > CANVAS_VERTEX_THRESHOLD || graphFile.getEdgeCount() > CANVAS_EDGE_THRESHOLD) {
+            setRenderMode(RenderMode.CANVAS);
+        }
+        var placed = graphFile;
+        if (!graphFile.hasCoordinates()) {
+            int[][] centers = AutoLayout.place(graphFile.graph(), getWidth(), getHeight(), RADIUS);
+            placed = graphFile.withCoordinates(centers[0], centers[1]);
+        }
+        var ids = new int[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            var center = new Point(placed.xCoordinates()[vertex], placed.yCoordinates()[vertex]);
+            ids[vertex] = renderMode == RenderMode.COMPONENTS
+                    ? model.addVertex(createVertexComponent(placed.label(vertex),
+                            new Point(center.x - RADIUS, center.y - RADIUS)))
+                    : model.addVertex(placed.label(vertex), center);
+        }
+        placed.forEachEdge((source, target, weight) -> {
+            if (renderMode == RenderMode.COMPONENTS) {
+                var first = model.getVertexComponent(ids[source]);
+                var second = model.getVertexComponent(ids[target]);
+                model.addEdge(ids[source], ids[target], createEdgeComponent(first, second),
+                        createEdgeComponent(second, first), createWeightLabel(String.valueOf(weight), first, second));
+            } else {
+                model.addEdge(ids[source], ids[target], weight);
+            }
+        });
         revalidate();
-        repaint();
+        invalidateLayer();
     }
 
     /**
-     * create an appropriately named edge weight label with given weight and place it near the midpoint of the associated edge.
+     * create an appropriately named edge weight label with given weight, place it near the midpoint of the associated
+     * edge and add it.
      */
     private JLabel createWeightLabel(String weight, Vertex first, Vertex second) {
-        var position = getLabelPosition(first.getCenter(), second.getCenter());
+        var position = getLabelPosition(first.getCenter().x, first.getCenter().y,
+                second.getCenter().x, second.getCenter().y);
         var label = new JLabel(weight);
         label.setName("EdgeLabel <%s -> %s>".formatted(first.getVertexLabel(), second.getVertexLabel()));
         label.setForeground(Vertex.getVERTEX_COLOR());
-        int fontSize = Vertex.getVERTEX_DIAMETER() * 2 / 5;
-        label.setFont(new Font("Arial", Font.BOLD, fontSize));
-        label.setBounds(position.x, position.y, fontSize * 3 / 2, fontSize * 3 / 2);
+        label.setFont(WEIGHT_FONT);
+        int size = WEIGHT_FONT.getSize() * 3 / 2;
+        label.setBounds(position.x, position.y, size, size);
+        add(label);
         return label;
     }
 
@@ -149,11 +389,11 @@ public class GraphPanel extends JPanel implements ApplicationModelListener {
      * clever placement calculation of the edge label in a way, that it is appropriately scaled
      * and not struck through by the edge line.
      */
-    private static Point getLabelPosition(Point first, Point second) {
-        var midPoint = new Point((first.x + second.x) / 2, (first.y + second.y) / 2);
+    private static Point getLabelPosition(int firstX, int firstY, int secondX, int secondY) {
+        var midPoint = new Point((firstX + secondX) / 2, (firstY + secondY) / 2);
         Point position;
         int del = Vertex.getVERTEX_DIAMETER() / 10;
-        if ((second.y - first.y) * (second.x - first.x) < 0) {
+        if ((secondY - firstY) * (secondX - firstX) < 0) {
             position = new Point(midPoint.x + del, midPoint.y + del);
         } else {
             position = new Point(midPoint.x - 3 * del, midPoint.y + del);
@@ -164,32 +404,222 @@ public class GraphPanel extends JPanel implements ApplicationModelListener {
     /**
      * delegate remove request to the model, which returns all the swing components, the panel must remove.
      */
-    public void removeVertexWithAssociateEdges(Vertex vertex) {
-        var componentsToRemove = model.removeVertexWithEdges(vertex);
+    public void removeVertexWithAssociateEdges(int vertexId) {
+        var damage = new ArrayList<Rectangle>();
+        model.getModelVertex(vertexId).getEdges()
+                .forEach(modelEdge -> damage.add(getEdgeBounds(modelEdge.id() / 2)));
+        damage.add(getVertexBounds(vertexId));
+        var componentsToRemove = model.removeVertexWithEdges(vertexId);
         componentsToRemove.forEach(this::remove);
-        repaint();
+        damage.forEach(dirtyRegions::add);
     }
 
     /**
      * delegate remove request to the model, which returns all the swing components, the panel must remove.
      */
-    public void removeEdge(Edge edge) {
-        var componentsToRemove = model.removeEdge(edge);
+    public void removeEdge(int edgeId) {
+        var bounds = getEdgeBounds(edgeId);
+        var componentsToRemove = model.removeEdge(edgeId);
         componentsToRemove.forEach(this::remove);
+        dirtyRegions.add(bounds);
+    }
+
+    /**
+     * GraphModelListener method: damage the area of a vertex, whose selection changed (components repaint themselves).
+     */
+    @Override
+    public void vertexChanged(int vertexId) {
+        if (renderMode == RenderMode.CANVAS) {
+            dirtyRegions.add(getVertexBounds(vertexId));
+        }
+    }
+
+    /**
+     * GraphModelListener method: damage the area of an edge, whose selection changed.
+     */
+    @Override
+    public void edgeChanged(int edgeId) {
+        dirtyRegions.add(getEdgeBounds(edgeId));
+    }
+
+    private Rectangle getVertexBounds(int vertexId) {
+        return new Rectangle(model.getCenterXs()[vertexId] - RADIUS, model.getCenterYs()[vertexId] - RADIUS,
+                Vertex.getVERTEX_DIAMETER(), Vertex.getVERTEX_DIAMETER());
+    }
+
+    /**
+     * the area an edge is drawn in - grown by a vertex diameter, which covers line width and weight label.
+     */
+    private Rectangle getEdgeBounds(int edgeId) {
+        int start = model.getEdgeStarts()[edgeId];
+        int end = model.getEdgeEnds()[edgeId];
+        int[] centerXs = model.getCenterXs();
+        int[] centerYs = model.getCenterYs();
+        var bounds = new Rectangle(centerXs[start], centerYs[start], 0, 0);
+        bounds.add(centerXs[end], centerYs[end]);
+        bounds.grow(Vertex.getVERTEX_DIAMETER(), Vertex.getVERTEX_DIAMETER());
+        return bounds;
+    }
+
+    /**
+     * drop the layer image and all pending damage - the whole layer is re-rendered with the next paint.
+     */
+    private void invalidateLayer() {
+        layer = null;
+        dirtyRegions.clear();
         repaint();
     }
 
     /**
-     * overriden to paint the edges as thick lines using BasicStroke - before (and thus underneath) the vertices and labels.
+     * DirtyRegions flush: re-render the damaged region of the layer and paint it right away (it is called once per
+     * frame on the event dispatch thread with a bounded number of regions). A changed level of detail or a missing
+     * layer needs a full repaint instead.
+     */
+    private void flushRegion(Rectangle region) {
+        if (layer == null || layerDetail != getLayerDetail()) {
+            invalidateLayer();
+            return;
+        }
+        var area = region.intersection(new Rectangle(layer.getWidth(), layer.getHeight()));
+        if (!area.isEmpty()) {
+            renderLayer(area);
+        }
+        if (isShowing()) {
+            paintImmediately(region);
+        } else {
+            repaint(region);
+        }
+    }
+
+    /**
+     * the level of detail the layer is rendered with, as bits: render mode, thin strokes, vertex dots, no weights.
+     * A change (e.g. by adding edges beyond a limit) needs a full re-rendering.
+     */
+    private int getLayerDetail() {
+        return (renderMode == RenderMode.CANVAS ? 1 : 0)
+                | (model.getEdgeCount() > WIDE_STROKE_LIMIT ? 2 : 0)
+                | (model.getVertexCount() > LABEL_LIMIT ? 4 : 0)
+                | (model.getEdgeCount() > LABEL_LIMIT ? 8 : 0);
+    }
+
+    /**
+     * copy the layer image into the clip - it is created and fully rendered first, if it is missing or outdated.
+     * The Swing components of the component render mode are painted on top by paintChildren.
      */
     @Override
-    public void paintChildren(Graphics g) {
-        Graphics2D g2D = (Graphics2D) g;
-        g2D.setStroke(new BasicStroke(Vertex.getVERTEX_DIAMETER() / 10f));
-        model.getEdges().forEach(e -> {
-            g2D.setColor(e.isSelected() ? Vertex.getVERTEX_SELECTED_COLOR() : Vertex.getVERTEX_COLOR());
-            g2D.draw(new Line2D.Float(e.getStart(), e.getEnd()));
-        });
-        super.paintChildren(g2D);
+    protected void paintComponent(Graphics g) {
+        if (getWidth() <= 0 || getHeight() <= 0) {
+            super.paintComponent(g);
+            return;
+        }
+        if (layer == null || layer.getWidth() != getWidth() || layer.getHeight() != getHeight()
+                || layerDetail != getLayerDetail()) {
+            layer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+            layerDetail = getLayerDetail();
+            renderLayer(null);
+        }
+        g.drawImage(layer, 0, 0, null);
+    }
+
+    /**
+     * render the given region of the layer (or all of it, if null) from the model: background, edges in two passes (so
+     * selected edges are on top), in the canvas mode also weights and vertices. A small region only draws the elements
+     * found in (and around) it by the spatial index, a big one scans them all. Very many edges are drawn as thin
+     * lines, which are much faster to rasterize than wide strokes.
+     */
+    private void renderLayer(Rectangle region) {
+        var g2D = layer.createGraphics();
+        try {
+            var area = region == null ? new Rectangle(layer.getWidth(), layer.getHeight()) : region;
+            g2D.clip(area);
+            g2D.setColor(getBackground());
+            g2D.fillRect(area.x, area.y, area.width, area.height);
+            var around = new Rectangle(area);
+            around.grow(Vertex.getVERTEX_DIAMETER(), Vertex.getVERTEX_DIAMETER());
+            boolean lookup = region != null
+                    && (long) around.width * around.height * 4 < (long) layer.getWidth() * layer.getHeight();
+            int[] edgeIds = lookup ? model.findEdgesIn(around)
+                    : liveIds(model.getEdgeIdBound(), model.getEdgeStarts());
+            g2D.setStroke(model.getEdgeCount() > WIDE_STROKE_LIMIT ? THIN_EDGE_STROKE : EDGE_STROKE);
+            g2D.setColor(Vertex.getVERTEX_COLOR());
+            paintEdgeLines(g2D, edgeIds, false);
+            g2D.setColor(Vertex.getVERTEX_SELECTED_COLOR());
+            paintEdgeLines(g2D, edgeIds, true);
+            if (renderMode == RenderMode.CANVAS) {
+                if (model.getEdgeCount() <= LABEL_LIMIT) {
+                    paintWeights(g2D, edgeIds);
+                }
+                paintVertices(g2D, lookup ? model.findVerticesIn(around)
+                        : liveIds(model.getVertexIdBound(), model.getVertexLabels()));
+            }
+        } finally {
+            g2D.dispose();
+        }
+    }
+
+    private static int[] liveIds(int idBound, int[] edgeStarts) {
+        return IntStream.range(0, idBound).filter(id -> edgeStarts[id] != GraphModel.REMOVED).toArray();
+    }
+
+    private static int[] liveIds(int idBound, String[] vertexLabels) {
+        return IntStream.range(0, idBound).filter(id -> vertexLabels[id] != null).toArray();
+    }
+
+    private void paintEdgeLines(Graphics2D g2D, int[] edgeIds, boolean selectedEdges) {
+        int[] edgeStarts = model.getEdgeStarts();
+        int[] edgeEnds = model.getEdgeEnds();
+        int[] centerXs = model.getCenterXs();
+        int[] centerYs = model.getCenterYs();
+        for (int edgeId : edgeIds) {
+            if (model.isEdgeSelected(edgeId) == selectedEdges) {
+                int start = edgeStarts[edgeId];
+                int end = edgeEnds[edgeId];
+                g2D.drawLine(centerXs[start], centerYs[start], centerXs[end], centerYs[end]);
+            }
+        }
+    }
+
+    private void paintWeights(Graphics2D g2D, int[] edgeIds) {
+        int[] edgeStarts = model.getEdgeStarts();
+        int[] edgeEnds = model.getEdgeEnds();
+        int[] edgeWeights = model.getEdgeWeights();
+        int[] centerXs = model.getCenterXs();
+        int[] centerYs = model.getCenterYs();
+        g2D.setFont(WEIGHT_FONT);
+        g2D.setColor(Vertex.getVERTEX_COLOR());
+        var metrics = g2D.getFontMetrics();
+        int size = WEIGHT_FONT.getSize() * 3 / 2;
+        int baseline = (size - metrics.getAscent() - metrics.getDescent()) / 2 + metrics.getAscent();
+        for (int edgeId : edgeIds) {
+            int start = edgeStarts[edgeId];
+            int end = edgeEnds[edgeId];
+            var position = getLabelPosition(centerXs[start], centerYs[start], centerXs[end], centerYs[end]);
+            g2D.drawString(String.valueOf(edgeWeights[edgeId]), position.x, position.y + baseline);
+        }
+    }
+
+    /**
+     * draw the vertex circles (in their component colour, if components are shown) with their labels (in panel
+     * background color) - or just dots, if there are too many vertices for labels to be readable.
+     */
+    private void paintVertices(Graphics2D g2D, int[] vertexIds) {
+        int[] centerXs = model.getCenterXs();
+        int[] centerYs = model.getCenterYs();
+        String[] vertexLabels = model.getVertexLabels();
+        boolean withLabels = model.getVertexCount() <= LABEL_LIMIT;
+        int diameter = getCanvasDiameter();
+        int radius = diameter / 2;
+        g2D.setFont(VERTEX_FONT);
+        var metrics = g2D.getFontMetrics();
+        int labelOffsetY = (metrics.getAscent() - metrics.getDescent()) / 2;
+        for (int id : vertexIds) {
+            g2D.setColor(model.isVertexSelected(id) ? Vertex.getVERTEX_SELECTED_COLOR() : getVertexColor(id));
+            g2D.fillOval(centerXs[id] - radius, centerYs[id] - radius, diameter, diameter);
+            if (withLabels) {
+                g2D.setColor(getBackground());
+                g2D.drawString(vertexLabels[id], centerXs[id] - metrics.stringWidth(vertexLabels[id]) / 2,
+                        centerYs[id] + labelOffsetY);
+            }
+        }
     }
-}
\ No newline at end of file
+}
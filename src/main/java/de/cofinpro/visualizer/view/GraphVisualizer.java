@@ -1,10 +1,14 @@
 package de.cofinpro.visualizer.view;
 
 import de.cofinpro.visualizer.controller.AlgorithmMenuItemListener;
+import de.cofinpro.visualizer.controller.FileMenuItemListener;
 import de.cofinpro.visualizer.controller.ModeMenuItemListener;
+import de.cofinpro.visualizer.controller.PlaybackMenuItemListener;
 import de.cofinpro.visualizer.model.AlgorithmType;
 import de.cofinpro.visualizer.model.ApplicationModel;
 import de.cofinpro.visualizer.model.Mode;
+import de.cofinpro.visualizer.model.PlaybackAction;
+import de.cofinpro.visualizer.model.RenderMode;
 
 import javax.swing.JFrame;
 import javax.swing.JMenu;
@@ -77,6 +81,9 @@ public class GraphVisualizer extends JFrame {
         var displayLabel = new ResultLabel(null);
         applicationModel.registerListener(displayLabel);
         displayPanel.add(displayLabel);
+        var resultTableButton = new ResultTableButton();
+        applicationModel.registerListener(resultTableButton);
+        displayPanel.add(resultTableButton);
         return displayPanel;
     }
 
@@ -86,6 +93,8 @@ public class GraphVisualizer extends JFrame {
         menubar.add(createFileMenu());
         menubar.add(createModeMenu());
         menubar.add(createAlgorithmMenu());
+        menubar.add(createPlaybackMenu());
+        menubar.add(createViewMenu());
         return menubar;
     }
 
@@ -93,6 +102,10 @@ public class GraphVisualizer extends JFrame {
         var fileMenu = new JMenu("File");
         fileMenu.setName("File");
         fileMenu.add(createMenuItem("New", e -> applicationModel.requestResetGraph()));
+        fileMenu.add(createMenuItem("Open", new FileMenuItemListener(FileMenuItemListener.Action.OPEN,
+                applicationModel, this)));
+        fileMenu.add(createMenuItem("Save", new FileMenuItemListener(FileMenuItemListener.Action.SAVE,
+                applicationModel, this)));
         fileMenu.add(createMenuItem("Exit",
                 e -> dispatchEvent(new WindowEvent(this, WindowEvent.WINDOW_CLOSING))));
         return fileMenu;
@@ -115,10 +128,36 @@ public class GraphVisualizer extends JFrame {
         algorithmMenu.add(createMenuItem(AlgorithmType.DEPTH_FIRST));
         algorithmMenu.add(createMenuItem(AlgorithmType.BREADTH_FIRST));
         algorithmMenu.add(createMenuItem(AlgorithmType.DIJKSTRA_ALGORITHM));
+        algorithmMenu.add(createMenuItem(AlgorithmType.DIJKSTRA_PAIRING_HEAP));
+        algorithmMenu.add(createMenuItem(AlgorithmType.BELLMAN_FORD));
+        algorithmMenu.add(createMenuItem(AlgorithmType.ALL_PAIRS_DIJKSTRA));
+        algorithmMenu.add(createMenuItem(AlgorithmType.DYNAMIC_DIJKSTRA));
+        algorithmMenu.add(createMenuItem(AlgorithmType.ASTAR_SEARCH));
+        algorithmMenu.add(createMenuItem(AlgorithmType.BIDIRECTIONAL_DIJKSTRA));
+        algorithmMenu.add(createMenuItem(AlgorithmType.CONTRACTION_HIERARCHY));
         algorithmMenu.add(createMenuItem(AlgorithmType.PRIM_ALGORITHM));
+        algorithmMenu.add(createMenuItem(AlgorithmType.KRUSKAL_ALGORITHM));
+        algorithmMenu.add(createMenuItem(AlgorithmType.BORUVKA_ALGORITHM));
+        algorithmMenu.add(createMenuItem(AlgorithmType.COMPONENTS));
         return algorithmMenu;
     }
 
+    private JMenu createPlaybackMenu() {
+        var playbackMenu = new JMenu("Playback");
+        playbackMenu.setName("Playback");
+        Arrays.stream(PlaybackAction.values()).forEach(action -> playbackMenu.add(createMenuItem(
+                action.getActionName(), new PlaybackMenuItemListener(action, applicationModel, this))));
+        return playbackMenu;
+    }
+
+    private JMenu createViewMenu() {
+        var viewMenu = new JMenu("View");
+        viewMenu.setName("View");
+        Arrays.stream(RenderMode.values()).forEach(renderMode -> viewMenu.add(createMenuItem(
+                renderMode.getRenderModeName(), e -> applicationModel.setRenderMode(renderMode))));
+        return viewMenu;
+    }
+
     private JMenuItem createMenuItem(String name, ActionListener actionListener) {
         JMenuItem menuItem = new JMenuItem(name);
         menuItem.setName(name);
@@ -0,0 +1,38 @@
+package de.cofinpro.visualizer.view;
+
+import de.cofinpro.visualizer.controller.ApplicationModelListener;
+import de.cofinpro.visualizer.model.AlgorithmModel;
+import de.cofinpro.visualizer.model.AlgorithmResult;
+
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+
+/**
+ * button next to the ResultLabel, that is shown when an algorithm terminates with a structured result and opens the
+ * result in a ResultTableDialog.
+ */
+public class ResultTableButton extends JButton implements ApplicationModelListener {
+
+    private transient AlgorithmResult result;
+
+    public ResultTableButton() {
+        super("Show Table");
+        setName("ResultTable");
+        setVisible(false);
+        addActionListener(e -> {
+            if (result != null) {
+                new ResultTableDialog(SwingUtilities.getWindowAncestor(this), result).setVisible(true);
+            }
+        });
+    }
+
+    /**
+     * listen to algorithm state changes: the button is visible only for a terminated algorithm with a result.
+     * @param algorithmModel the algorithm model transporting state and result.
+     */
+    @Override
+    public void updateAlgorithmState(AlgorithmModel algorithmModel) {
+        result = algorithmModel.getState() == AlgorithmModel.State.TERMINATED ? algorithmModel.getResult() : null;
+        setVisible(result != null);
+    }
+}
@@ -0,0 +1,141 @@
+package de.cofinpro.visualizer.view;
+
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Window;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * non-modal dialog, that shows an AlgorithmResult in a JTable (sortable by a click on the column header, searchable
+ * by vertex label) and exports it as CSV file. The export streams the rows to the file in a SwingWorker's background
+ * thread.
+ */
+@Slf4j
+class ResultTableDialog extends JDialog {
+
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 600;
+
+    private final transient AlgorithmResult result;
+    private final ResultTableModel tableModel;
+
+    ResultTableDialog(Window owner, AlgorithmResult result) {
+        super(owner, "%s from %s".formatted(result.getName(), result.getLabel(result.getStart())));
+        this.result = result;
+        this.tableModel = new ResultTableModel(result);
+        setName("ResultTable");
+        setSize(WIDTH, HEIGHT);
+        setLayout(new BorderLayout());
+        add(createSearchPanel(), BorderLayout.NORTH);
+        add(new JScrollPane(createTable()), BorderLayout.CENTER);
+        setLocationRelativeTo(owner);
+    }
+
+    private JPanel createSearchPanel() {
+        var searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        var searchField = new JTextField(20);
+        searchField.setName("Search");
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                tableModel.setFilter(searchField.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                tableModel.setFilter(searchField.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                tableModel.setFilter(searchField.getText());
+            }
+        });
+        var exportButton = new JButton("Export...");
+        exportButton.setName("Export");
+        exportButton.addActionListener(e -> export());
+        searchPanel.add(new JLabel("Vertex:"));
+        searchPanel.add(searchField);
+        searchPanel.add(exportButton);
+        return searchPanel;
+    }
+
+    private JTable createTable() {
+        var table = new JTable(tableModel);
+        table.setName("Result");
+        table.setFillsViewportHeight(true);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent event) {
+                int column = table.columnAtPoint(event.getPoint());
+                if (column >= 0) {
+                    tableModel.sortBy(table.convertColumnIndexToModel(column));
+                }
+            }
+        });
+        return table;
+    }
+
+    /**
+     * choose a CSV file and stream the whole (unfiltered) result into it.
+     */
+    private void export() {
+        var chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV", "csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        var path = chooser.getSelectedFile().toPath();
+        if (!path.getFileName().toString().contains(".")) {
+            path = path.resolveSibling(path.getFileName() + ".csv");
+        }
+        write(path);
+    }
+
+    private void write(Path path) {
+        log.debug("exporting {} result rows to {}.", result.getRowCount(), path);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                try (var writer = Files.newBufferedWriter(path)) {
+                    result.write(writer);
+                }
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (ExecutionException e) {
+                    log.error("Could not export {}: {}", path, e.getCause().getMessage());
+                    JOptionPane.showMessageDialog(ResultTableDialog.this, "Could not export %s:%n%s"
+                            .formatted(path, e.getCause().getMessage()), "Export", JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }.execute();
+    }
+}
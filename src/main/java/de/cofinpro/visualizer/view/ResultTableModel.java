@@ -0,0 +1,136 @@
+package de.cofinpro.visualizer.view;
+
+import de.cofinpro.visualizer.model.AlgorithmResult;
+import de.cofinpro.visualizer.model.ResultKind;
+import lombok.Getter;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * table model on an AlgorithmResult, that formats nothing in advance: the JTable asks only for the cells of the
+ * visible rows. Sorting and filtering work on an int array of result rows (the view), numeric columns are sorted as
+ * packed long keys (value in the upper, row in the lower half) with Arrays.parallelSort - so a result of millions of
+ * rows is sorted without boxing.
+ */
+class ResultTableModel extends AbstractTableModel {
+
+    static final int ORDER_COLUMN = 0;
+    static final int VERTEX_COLUMN = 1;
+    static final int VALUE_COLUMN = 2;
+
+    private final transient AlgorithmResult result;
+    /**
+     * all result rows in sort order.
+     */
+    private int[] sorted;
+    /**
+     * the rows of the sort order, whose vertex label contains the filter text.
+     */
+    private int[] view;
+    @Getter
+    private int sortColumn = ORDER_COLUMN;
+    @Getter
+    private boolean ascending = true;
+    private String filter = "";
+
+    ResultTableModel(AlgorithmResult result) {
+        this.result = result;
+        sorted = IntStream.range(0, result.getRowCount()).toArray();
+        view = sorted;
+    }
+
+    @Override
+    public int getRowCount() {
+        return view.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 3;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return switch (column) {
+            case ORDER_COLUMN -> "#";
+            case VERTEX_COLUMN -> "Vertex";
+            default -> isTree() ? "Parent" : result.getKind() == ResultKind.COMPONENTS ? "Component" : "Distance";
+        };
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == VERTEX_COLUMN || column == VALUE_COLUMN && isTree() ? String.class : Integer.class;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int column) {
+        int row = view[rowIndex];
+        return switch (column) {
+            case ORDER_COLUMN -> row;
+            case VERTEX_COLUMN -> result.getLabel(result.getVertices()[row]);
+            default -> isTree() ? result.getLabel(result.getParents()[row]) : result.getDistances()[row];
+        };
+    }
+
+    /**
+     * sort by the given column - ascending, or descending if it is sorted ascending by this column already.
+     */
+    void sortBy(int column) {
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        sorted = switch (column) {
+            case ORDER_COLUMN -> IntStream.range(0, result.getRowCount()).toArray();
+            case VERTEX_COLUMN -> sortByLabel(result.getVertices());
+            default -> isTree() ? sortByLabel(result.getParents()) : sortByKey(result.getDistances());
+        };
+        if (!ascending) {
+            reverse(sorted);
+        }
+        applyFilter();
+    }
+
+    /**
+     * show only the rows, whose vertex label contains the given text (ignoring case) - all rows for an empty text.
+     */
+    void setFilter(String text) {
+        filter = text.trim().toLowerCase(Locale.ROOT);
+        applyFilter();
+    }
+
+    private void applyFilter() {
+        view = filter.isEmpty() ? sorted : Arrays.stream(sorted)
+                .filter(row -> result.getLabel(result.getVertices()[row]).toLowerCase(Locale.ROOT).contains(filter))
+                .toArray();
+        fireTableDataChanged();
+    }
+
+    private boolean isTree() {
+        return result.getParents() != null;
+    }
+
+    private int[] sortByKey(int[] keys) {
+        var packed = new long[keys.length];
+        Arrays.setAll(packed, row -> (long) keys[row] << Integer.SIZE | row);
+        Arrays.parallelSort(packed);
+        return Arrays.stream(packed).mapToInt(key -> (int) key).toArray();
+    }
+
+    private int[] sortByLabel(int[] vertexIds) {
+        return IntStream.range(0, vertexIds.length).boxed().parallel()
+                .sorted(Comparator.comparing((Integer row) -> result.getLabel(vertexIds[row])))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void reverse(int[] rows) {
+        for (int i = 0, j = rows.length - 1; i < j; i++, j--) {
+            int row = rows[i];
+            rows[i] = rows[j];
+            rows[j] = row;
+        }
+    }
+}
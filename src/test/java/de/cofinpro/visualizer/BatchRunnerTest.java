@@ -0,0 +1,50 @@
+package de.cofinpro.visualizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BatchRunnerTest {
+
+    private static final String ARCS = """
+            p sp 3 2
+            a 2 1 5
+            a 3 2 4
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void directedIsRejectedForAlgorithmsNeedingUndirectedGraph() throws IOException {
+        var graphPath = Files.writeString(tempDir.resolve("directed.gr"), ARCS);
+        for (var algorithm : new String[]{"PRIM_ALGORITHM", "KRUSKAL_ALGORITHM", "BORUVKA_ALGORITHM",
+                "DYNAMIC_DIJKSTRA"}) {
+            var outputPath = tempDir.resolve(algorithm + ".txt");
+
+            int exitCode = BatchRunner.run(new String[]{"--batch", graphPath.toString(), "--algorithm", algorithm,
+                    "--start", "1", "--output", outputPath.toString(), "--directed"});
+
+            assertEquals(2, exitCode, algorithm);
+            assertFalse(Files.exists(outputPath), algorithm);
+        }
+    }
+
+    @Test
+    void directedComponentsAreStronglyConnected() throws IOException {
+        var graphPath = Files.writeString(tempDir.resolve("directed.gr"), ARCS);
+        var outputPath = tempDir.resolve("components.txt");
+
+        int exitCode = BatchRunner.run(new String[]{"--batch", graphPath.toString(), "--algorithm", "COMPONENTS",
+                "--output", outputPath.toString(), "--directed"});
+
+        assertEquals(0, exitCode);
+        assertEquals("0: 0=0, 1=1, 2=2", Files.readString(outputPath).strip());
+    }
+}
@@ -0,0 +1,58 @@
+package de.cofinpro.visualizer.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllPairsShortestPathsTest {
+
+    @Test
+    void failureIsRethrownAfterAllWorkersStopped() {
+        int vertexCount = 64;
+        var builder = CsrGraph.builder(vertexCount);
+        for (int vertex = 1; vertex < vertexCount; vertex++) {
+            builder.addEdge(vertex - 1, vertex, 1, vertex);
+        }
+        var matrix = new SlowMatrix(vertexCount);
+        var reports = new AtomicInteger();
+
+        try (var engine = new AllPairsShortestPaths(builder.build(), 4)) {
+            engine.setProgress((done, total) -> {
+                if (reports.incrementAndGet() == 2) {
+                    throw new CancellationException("stopped");
+                }
+            });
+
+            assertThrows(CancellationException.class, () -> engine.distances(matrix));
+        }
+        assertEquals(0, matrix.writers.get());
+    }
+
+    /**
+     * heap matrix, whose row writes take a while - counting the writes in progress.
+     */
+    private static class SlowMatrix extends HeapDistanceMatrix {
+
+        private final AtomicInteger writers = new AtomicInteger();
+
+        SlowMatrix(int vertexCount) {
+            super(vertexCount);
+        }
+
+        @Override
+        public void setRow(int source, int[] routeLengths) {
+            writers.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.setRow(source, routeLengths);
+            writers.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package de.cofinpro.visualizer.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BreadthFirstTraversalTest {
+
+    @Test
+    void directionOptimizingFindsSameLevelsAsTopDown() {
+        var random = new Random(7);
+        int vertexCount = 5_000;
+        var builder = CsrGraph.builder(vertexCount);
+        for (int edge = 0; edge < 8 * vertexCount; edge++) {
+            builder.addEdge(random.nextInt(vertexCount), random.nextInt(vertexCount), 1, edge);
+        }
+        var graph = builder.build();
+        var topDown = new BreadthFirstTraversal(graph);
+        var directionOptimizing = new BreadthFirstTraversal(graph);
+
+        for (int start : new int[]{0, 17, 4_999}) {
+            int reached = topDown.search(start, BreadthFirstTraversal.Mode.TOP_DOWN);
+
+            assertEquals(reached, directionOptimizing.search(start, BreadthFirstTraversal.Mode.DIRECTION_OPTIMIZING));
+            assertArrayEquals(topDown.getLevels(), directionOptimizing.getLevels());
+        }
+    }
+
+    @Test
+    void directionOptimizingFallsBackToTopDownOnDirectedGraph() {
+        var builder = CsrGraph.builder(2_001);
+        for (int vertex = 1; vertex <= 1_000; vertex++) {
+            builder.addEdge(0, vertex, 1, vertex);
+            builder.addArc(vertex + 1_000, vertex, 1, 2 * vertex + 5_000);
+        }
+        var graph = builder.build();
+        var topDown = new BreadthFirstTraversal(graph);
+        var directionOptimizing = new BreadthFirstTraversal(graph);
+
+        assertEquals(1_001, topDown.search(0, BreadthFirstTraversal.Mode.TOP_DOWN));
+        assertEquals(1_001, directionOptimizing.search(0, BreadthFirstTraversal.Mode.DIRECTION_OPTIMIZING));
+        assertArrayEquals(topDown.getLevels(), directionOptimizing.getLevels());
+    }
+}
@@ -0,0 +1,104 @@
+package de.cofinpro.visualizer.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentsTest {
+
+    @Test
+    void stronglyConnectedComponentsOfCycleAndTail() {
+        var graph = CsrGraph.builder(5)
+                .addArc(0, 1, 1, 0).addArc(1, 2, 1, 1).addArc(2, 0, 1, 2)
+                .addArc(2, 3, 1, 3).addArc(3, 4, 1, 4)
+                .build();
+
+        var components = new StronglyConnectedComponents(graph).components();
+
+        assertEquals(3, components.count());
+        assertArrayEquals(new int[]{0, 0, 0, 1, 2}, components.labels());
+    }
+
+    @Test
+    void stronglyConnectedComponentsMatchMutualReachability() {
+        var random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int vertexCount = 1 + random.nextInt(12);
+            var builder = CsrGraph.builder(vertexCount);
+            int arcCount = random.nextInt(3 * vertexCount);
+            for (int arc = 0; arc < arcCount; arc++) {
+                builder.addArc(random.nextInt(vertexCount), random.nextInt(vertexCount), 1, arc);
+            }
+            var graph = builder.build();
+
+            var labels = new StronglyConnectedComponents(graph).components().labels();
+
+            var reachable = reachability(graph);
+            for (int first = 0; first < vertexCount; first++) {
+                for (int second = 0; second < vertexCount; second++) {
+                    boolean mutual = reachable[first][second] && reachable[second][first];
+                    assertEquals(mutual, labels[first] == labels[second], "vertices %d, %d".formatted(first, second));
+                }
+            }
+        }
+    }
+
+    @Test
+    void stronglyConnectedComponentsOfLongPathDoNotOverflowStack() {
+        int vertexCount = 200_000;
+        var builder = CsrGraph.builder(vertexCount, vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            builder.addArc(vertex, (vertex + 1) % vertexCount, 1, vertex);
+        }
+
+        assertEquals(1, new StronglyConnectedComponents(builder.build()).components().count());
+    }
+
+    @Test
+    void connectedComponentsOfUndirectedGraph() {
+        var graph = CsrGraph.builder(6).addEdge(0, 3, 1, 0).addEdge(3, 5, 1, 1).addEdge(1, 2, 1, 2).build();
+
+        var components = new ConnectedComponents(graph).components();
+
+        assertEquals(3, components.count());
+        assertArrayEquals(new int[]{0, 1, 1, 0, 2, 0}, components.labels());
+    }
+
+    @Test
+    void ofChoosesEngineBySymmetry() {
+        var undirected = CsrGraph.builder(2).addEdge(0, 1, 1, 0).build();
+        var directed = CsrGraph.builder(2).addArc(0, 1, 1, 0).build();
+
+        assertTrue(undirected.isSymmetric());
+        assertFalse(directed.isSymmetric());
+        assertEquals(1, Components.of(undirected, Progress.NONE).count());
+        assertEquals(2, Components.of(directed, Progress.NONE).count());
+    }
+
+    private static boolean[][] reachability(CsrGraph graph) {
+        int vertexCount = graph.getVertexCount();
+        var reachable = new boolean[vertexCount][vertexCount];
+        for (int source = 0; source < vertexCount; source++) {
+            var stack = new int[vertexCount];
+            int size = 0;
+            reachable[source][source] = true;
+            stack[size++] = source;
+            while (size > 0) {
+                int vertex = stack[--size];
+                for (int arc = graph.getOffsets()[vertex]; arc < graph.getOffsets()[vertex + 1]; arc++) {
+                    int target = graph.getTargets()[arc];
+                    if (!reachable[source][target]) {
+                        reachable[source][target] = true;
+                        stack[size++] = target;
+                    }
+                }
+            }
+        }
+        return reachable;
+    }
+}
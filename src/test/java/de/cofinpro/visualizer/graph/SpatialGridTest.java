@@ -0,0 +1,66 @@
+package de.cofinpro.visualizer.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialGridTest {
+
+    private static final int CELL_SIZE = 64;
+
+    @Test
+    void steepSegmentCrossingColumnBoundaryIsFoundInEveryRow() {
+        var grid = new SpatialGrid(CELL_SIZE);
+        grid.addSegment(1, 60, 0, 70, 1000);
+
+        for (int y = 0; y <= 1000; y += 10) {
+            double x = 60 + y / 100.0;
+            assertTrue(isCandidate(grid, 1, (int) Math.round(x), y), "point (%.1f, %d)".formatted(x, y));
+        }
+        assertTrue(isCandidate(grid, 1, 63, 350));
+    }
+
+    @Test
+    void everyPointOnRandomSegmentsIsCandidate() {
+        var random = new Random(11);
+        var grid = new SpatialGrid(CELL_SIZE);
+        int[][] segments = new int[500][];
+        for (int id = 0; id < segments.length; id++) {
+            segments[id] = new int[]{random.nextInt(2000) - 1000, random.nextInt(2000) - 1000,
+                    random.nextInt(2000) - 1000, random.nextInt(2000) - 1000};
+            grid.addSegment(id, segments[id][0], segments[id][1], segments[id][2], segments[id][3]);
+        }
+        for (int id = 0; id < segments.length; id++) {
+            int[] segment = segments[id];
+            for (int step = 0; step <= 100; step++) {
+                int x = (int) Math.round(segment[0] + (segment[2] - segment[0]) * step / 100.0);
+                int y = (int) Math.round(segment[1] + (segment[3] - segment[1]) * step / 100.0);
+                assertTrue(isCandidate(grid, id, x, y), "segment %d at (%d, %d)".formatted(id, x, y));
+            }
+        }
+    }
+
+    @Test
+    void removedSegmentIsNoCandidate() {
+        var grid = new SpatialGrid(CELL_SIZE);
+        grid.addSegment(1, 60, 0, 70, 1000);
+        grid.removeSegment(1, 60, 0, 70, 1000);
+
+        assertEquals(0, countCandidates(grid, 63, 350, 5));
+    }
+
+    private static int countCandidates(SpatialGrid grid, int x, int y, int radius) {
+        int[] count = new int[1];
+        grid.forEachCandidate(x, y, radius, id -> count[0]++);
+        return count[0];
+    }
+
+    private static boolean isCandidate(SpatialGrid grid, int wanted, int x, int y) {
+        boolean[] found = new boolean[1];
+        grid.forEachCandidate(x, y, 1, id -> found[0] |= id == wanted);
+        return found[0];
+    }
+}
@@ -0,0 +1,51 @@
+package de.cofinpro.visualizer.graph.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DimacsFormatTest {
+
+    private static final String ARCS = """
+            c two opposite arcs and a one-way arc
+            p sp 3 3
+            a 1 2 5
+            a 2 1 5
+            a 2 3 4
+            """;
+
+    private final DimacsFormat format = new DimacsFormat();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readFoldsOppositeArcsIntoEdges() throws IOException {
+        var path = Files.writeString(tempDir.resolve("graph.gr"), ARCS);
+
+        var graph = format.read(path).graph();
+
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(4, graph.getArcCount());
+        assertTrue(graph.isSymmetric());
+    }
+
+    @Test
+    void readDirectedKeepsArcs() throws IOException {
+        var path = Files.writeString(tempDir.resolve("graph.gr"), ARCS);
+
+        var graph = format.readDirected(path).graph();
+
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(3, graph.getArcCount());
+        assertFalse(graph.isSymmetric());
+        assertEquals(0, graph.degree(2));
+    }
+}
@@ -0,0 +1,50 @@
+package de.cofinpro.visualizer.graph.io;
+
+import de.cofinpro.visualizer.graph.CsrGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GraphMlFormatTest {
+
+    private final GraphMlFormat format = new GraphMlFormat();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripKeepsIsolatedVertices() throws IOException {
+        var graph = CsrGraph.builder(3).addEdge(0, 1, 7, 0).build();
+        var graphFile = new GraphFile(graph, new int[]{10, 20, 30}, new int[]{40, 50, 60}, new String[]{"A", "B", "C"});
+        var path = tempDir.resolve("graph.graphml");
+
+        format.write(graphFile, path);
+        var read = format.read(path);
+
+        assertEquals(3, read.graph().getVertexCount());
+        assertEquals(2, read.graph().getArcCount());
+        assertArrayEquals(new String[]{"A", "B", "C"}, read.labels());
+        assertArrayEquals(new int[]{10, 20, 30}, read.xCoordinates());
+        assertArrayEquals(new int[]{40, 50, 60}, read.yCoordinates());
+        assertEquals(0, read.graph().degree(2));
+    }
+
+    @Test
+    void roundTripOfGraphWithoutEdges() throws IOException {
+        var graph = CsrGraph.builder(2).build();
+        var graphFile = new GraphFile(graph, null, null, new String[]{"A", "B"});
+        var path = tempDir.resolve("vertices.graphml");
+
+        format.write(graphFile, path);
+        var read = format.read(path);
+
+        assertEquals(2, read.graph().getVertexCount());
+        assertEquals(0, read.graph().getArcCount());
+        assertArrayEquals(new String[]{"A", "B"}, read.labels());
+    }
+}